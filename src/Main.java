@@ -1,11 +1,73 @@
+import game.Game;
 import game.GameController;
+import game.LegendsOfValor;
+import replay.MatchRecorder;
+import simulation.AggressiveHeroPolicy;
+import simulation.WinProbabilityEstimator;
+import util.InputHelper;
+import util.InputSource;
+import util.ScriptedInputSource;
+import world.WorldRenderer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
 
 /**
  * Main entry point for the Monsters and Heroes game.
+ * An optional argument names a command script to replay instead of reading the console.
+ * With --diff the map stays pinned at the top of an ANSI terminal and only changed
+ * cells are redrawn. With --record FILE the session is saved as a replay log
+ * (see replay.MatchReplayer), even if it ends with an error. With --hints the
+ * Legends of Valor info screen estimates the heroes' chance to win from there.
  */
 public class Main {
-    public static void main(String[] args) {
-        GameController controller = new GameController();
-        controller.start();
+    // Playouts behind each --hints estimate; a few hundred take well under a second
+    private static final int HINT_PLAYOUTS = 400;
+
+    public static void main(String[] args) throws IOException {
+        String script = null;
+        String recordFile = null;
+        boolean hints = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--diff")) {
+                WorldRenderer.setDefaultMode(WorldRenderer.Mode.ANSI_DIFF);
+            } else if (args[i].equals("--record") && i + 1 < args.length) {
+                recordFile = args[++i];
+            } else if (args[i].equals("--hints")) {
+                hints = true;
+            } else {
+                script = args[i];
+            }
+        }
+        InputSource input = script != null
+            ? ScriptedInputSource.fromFile(Paths.get(script), true)
+            : InputHelper.getDefaultSource();
+        Consumer<Game> hintSetup = hints ? Main::addWinHint : game -> { };
+        if (recordFile == null) {
+            GameController controller = new GameController(input);
+            controller.setGameCreatedListener(hintSetup);
+            controller.start();
+            return;
+        }
+
+        MatchRecorder recorder = new MatchRecorder();
+        GameController controller = new GameController(recorder.wrap(input));
+        controller.setGameCreatedListener(hintSetup.andThen(recorder::attach));
+        try {
+            controller.start();
+        } finally {
+            if (recorder.getLog() != null) {
+                recorder.finish().save(Paths.get(recordFile));
+                System.out.println("Replay saved to " + recordFile);
+            }
+        }
+    }
+
+    private static void addWinHint(Game game) {
+        if (game instanceof LegendsOfValor) {
+            WinProbabilityEstimator estimator = new WinProbabilityEstimator(AggressiveHeroPolicy::new);
+            ((LegendsOfValor) game).setStatusHint(valor -> estimator.estimate(valor, HINT_PLAYOUTS).toString());
+        }
     }
 }
@@ -1,28 +1,38 @@
 package characters;
 
+import java.io.PrintStream;
+
 /**
  * Base class for all characters (Heroes and Monsters).
- * Contains common attributes like name, level, and HP.
+ * Contains common attributes like level and HP; the name comes from each
+ * subclass's catalog template.
  */
 public abstract class Character {
-    protected String name;
     protected int level;
     protected int hp;
     protected int maxHp;
     protected int row;
     protected int col;
 
-    public Character(String name, int level, int hp) {
-        this.name = name;
+    public Character(int level, int hp) {
         this.level = level;
         this.hp = hp;
         this.maxHp = hp;
     }
 
-    public String getName() {
-        return name;
+    /**
+     * Copy another character's stats and position, for forked game states.
+     */
+    protected Character(Character other) {
+        this.level = other.level;
+        this.hp = other.hp;
+        this.maxHp = other.maxHp;
+        this.row = other.row;
+        this.col = other.col;
     }
 
+    public abstract String getName();
+
     public int getLevel() {
         return level;
     }
@@ -47,7 +57,10 @@ public abstract class Character {
         return hp <= 0;
     }
 
-    public abstract void displayStats();
+    /**
+     * Print this character's stats to the given stream, e.g. the game's output.
+     */
+    public abstract void displayStats(PrintStream out);
 
     public int getRow() { return row; }
     public int getCol() { return col; }
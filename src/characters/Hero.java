@@ -3,14 +3,17 @@ package characters;
 import items.*;
 import world.TileType;
 
+import java.io.PrintStream;
+
 /**
  * Class for a Hero character in the game.
+ * Name and type are read through the template; stats, wealth and equipment
+ * change during play and are stored per hero.
  */
 public class Hero extends Character {
 
     private static final double TERRAIN_BONUS = 0.10;
 
-    private HeroType heroType;
     private int mana;
     private int maxMana;
     private int baseStrength;
@@ -33,19 +36,29 @@ public class Hero extends Character {
     // Current terrain buff
     private TileType currentTerrain;
 
+    // Catalog entry this hero was recruited from
+    private final HeroTemplate template;
+
     public Hero(String name, int level, HeroType heroType, int mana,
             int strength, int dexterity, int agility, int gold) {
-        super(name, level, level * 100);
-        this.heroType = heroType;
-        this.mana = mana;
-        this.maxMana = mana;
-        this.baseStrength = strength;
-        this.baseDexterity = dexterity;
-        this.baseAgility = agility;
-        this.strength = strength;
-        this.dexterity = dexterity;
-        this.agility = agility;
-        this.gold = gold;
+        this(new HeroTemplate(name, level, heroType, mana, strength, dexterity, agility, gold));
+    }
+
+    /**
+     * Recruit a hero with the starting values of a catalog template.
+     */
+    public Hero(HeroTemplate template) {
+        super(template.getLevel(), template.getLevel() * 100);
+        this.template = template;
+        this.mana = template.getMana();
+        this.maxMana = template.getMana();
+        this.baseStrength = template.getStrength();
+        this.baseDexterity = template.getDexterity();
+        this.baseAgility = template.getAgility();
+        this.strength = template.getStrength();
+        this.dexterity = template.getDexterity();
+        this.agility = template.getAgility();
+        this.gold = template.getGold();
         this.experience = 0;
         this.inventory = new Inventory();
         this.equippedWeapon = null;
@@ -56,10 +69,40 @@ public class Hero extends Character {
         this.currentTerrain = TileType.PLAIN;
     }
 
+    private Hero(Hero other) {
+        super(other);
+        this.template = other.template;
+        this.mana = other.mana;
+        this.maxMana = other.maxMana;
+        this.baseStrength = other.baseStrength;
+        this.baseDexterity = other.baseDexterity;
+        this.baseAgility = other.baseAgility;
+        this.strength = other.strength;
+        this.dexterity = other.dexterity;
+        this.agility = other.agility;
+        this.gold = other.gold;
+        this.experience = other.experience;
+        this.inventory = other.inventory.copy();
+        this.equippedWeapon = other.equippedWeapon;
+        this.equippedArmor = other.equippedArmor;
+        this.spawnRow = other.spawnRow;
+        this.spawnCol = other.spawnCol;
+        this.laneIndex = other.laneIndex;
+        this.currentTerrain = other.currentTerrain;
+    }
+
+    /**
+     * Independent copy of this hero, e.g. for a forked game state.
+     * The inventory is copied; items are shared, as nothing changes an item.
+     */
+    public Hero copy() {
+        return new Hero(this);
+    }
+
     /**
-     * Apply terrain buff when hero enters a tile.
+     * Apply terrain buff when hero enters a tile, reporting it on the given stream.
      */
-    public void applyTerrainBuff(TileType terrain) {
+    public void applyTerrainBuff(TileType terrain, PrintStream out) {
         // Remove old buff first
         removeTerrainBuff();
         
@@ -69,17 +112,17 @@ public class Hero extends Character {
             case BUSH:
                 // + dexterity
                 this.dexterity = (int) (baseDexterity * (1 + TERRAIN_BONUS));
-                System.out.println(name + " feels more nimble in the bushes! Dexterity increased.");
+                out.println(getName() + " feels more nimble in the bushes! Dexterity increased.");
                 break;
             case CAVE:
                 // + agility
                 this.agility = (int) (baseAgility * (1 + TERRAIN_BONUS));
-                System.out.println(name + " feels more agile in the cave! Agility increased.");
+                out.println(getName() + " feels more agile in the cave! Agility increased.");
                 break;
             case KOULOU:
                 // + strength
                 this.strength = (int) (baseStrength * (1 + TERRAIN_BONUS));
-                System.out.println(name + " feels stronger on the koulou! Strength increased.");
+                out.println(getName() + " feels stronger on the koulou! Strength increased.");
                 break;
             default:
                 // Plain or other tiles - no buff
@@ -108,8 +151,17 @@ public class Hero extends Character {
         this.baseAgility = agility;
     }
 
+    public HeroTemplate getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String getName() {
+        return template.getName();
+    }
+
     public HeroType getHeroType() {
-        return heroType;
+        return template.getHeroType();
     }
 
     public int getMana() {
@@ -124,30 +176,30 @@ public class Hero extends Character {
         return strength;
     }
 
-    public void setStrength(int strength) {
+    public void setStrength(int strength, PrintStream out) {
         this.baseStrength = strength;
         this.strength = strength;
-        applyTerrainBuff(currentTerrain); // Re-apply terrain buff
+        applyTerrainBuff(currentTerrain, out); // Re-apply terrain buff
     }
 
     public int getDexterity() {
         return dexterity;
     }
 
-    public void setDexterity(int dexterity) {
+    public void setDexterity(int dexterity, PrintStream out) {
         this.baseDexterity = dexterity;
         this.dexterity = dexterity;
-        applyTerrainBuff(currentTerrain); // Re-apply terrain buff
+        applyTerrainBuff(currentTerrain, out); // Re-apply terrain buff
     }
 
     public int getAgility() {
         return agility;
     }
 
-    public void setAgility(int agility) {
+    public void setAgility(int agility, PrintStream out) {
         this.baseAgility = agility;
         this.agility = agility;
-        applyTerrainBuff(currentTerrain); // Re-apply terrain buff
+        applyTerrainBuff(currentTerrain, out); // Re-apply terrain buff
     }
 
     public int getGold() {
@@ -170,9 +222,12 @@ public class Hero extends Character {
         return experience;
     }
 
-    public void addExperience(int exp) {
+    /**
+     * Gain experience, reporting a level up on the given stream.
+     */
+    public void addExperience(int exp, PrintStream out) {
         this.experience += exp;
-        checkLevelUp();
+        checkLevelUp(out);
     }
 
     public Inventory getInventory() {
@@ -297,17 +352,17 @@ public class Hero extends Character {
     /**
      * Check if hero has enough experience to level up.
      */
-    private void checkLevelUp() {
+    private void checkLevelUp(PrintStream out) {
         int expNeeded = level * 10;
         if (experience >= expNeeded) {
-            levelUp();
+            levelUp(out);
         }
     }
 
     /**
      * Level up the hero, increasing stats.
      */
-    private void levelUp() {
+    private void levelUp(PrintStream out) {
         level++;
         experience = 0;
 
@@ -322,7 +377,7 @@ public class Hero extends Character {
         baseDexterity = (int) (baseDexterity * 1.05);
         baseAgility = (int) (baseAgility * 1.05);
 
-        switch (heroType) {
+        switch (getHeroType()) {
             case WARRIOR:
                 baseStrength = (int) (baseStrength * 1.05);
                 baseAgility = (int) (baseAgility * 1.05);
@@ -338,18 +393,18 @@ public class Hero extends Character {
         }
 
         // Re-apply terrain buff with new base stats
-        applyTerrainBuff(currentTerrain);
+        applyTerrainBuff(currentTerrain, out);
 
-        System.out.println("\n" + name + " has reached level " + level + "!");
-        System.out.println("Stats have increased! You feel more powerful...");
+        out.println("\n" + getName() + " has reached level " + level + "!");
+        out.println("Stats have increased! You feel more powerful...");
     }
 
     @Override
-    public void displayStats() {
-        System.out.println("=== " + name + " ===");
-        System.out.println("Type: " + heroType);
-        System.out.println("Level: " + level + " | XP: " + experience + "/" + (level * 10));
-        System.out.println("HP: " + hp + "/" + maxHp + " | MP: " + mana + "/" + maxMana);
+    public void displayStats(PrintStream out) {
+        out.println("=== " + getName() + " ===");
+        out.println("Type: " + getHeroType());
+        out.println("Level: " + level + " | XP: " + experience + "/" + (level * 10));
+        out.println("HP: " + hp + "/" + maxHp + " | MP: " + mana + "/" + maxMana);
         
         // Show base stats and current (buffed) stats
         String strDisplay = strength != baseStrength ? 
@@ -359,20 +414,20 @@ public class Hero extends Character {
         String agiDisplay = agility != baseAgility ? 
             baseAgility + " → " + agility + " ↑" : String.valueOf(agility);
         
-        System.out.println("Strength: " + strDisplay + 
+        out.println("Strength: " + strDisplay + 
                          " | Dexterity: " + dexDisplay + 
                          " | Agility: " + agiDisplay);
-        System.out.println("Gold: " + gold);
-        System.out.println("Weapon: " + (equippedWeapon != null ? equippedWeapon.getName() : "None"));
-        System.out.println("Armor: " + (equippedArmor != null ? equippedArmor.getName() : "None"));
+        out.println("Gold: " + gold);
+        out.println("Weapon: " + (equippedWeapon != null ? equippedWeapon.getName() : "None"));
+        out.println("Armor: " + (equippedArmor != null ? equippedArmor.getName() : "None"));
         
         if (currentTerrain != TileType.PLAIN && currentTerrain != TileType.NEXUS) {
-            System.out.println("Terrain: " + currentTerrain + " (Active Buff!)");
+            out.println("Terrain: " + currentTerrain + " (Active Buff!)");
         }
     }
 
     @Override
     public String toString() {
-        return name + " | HP: " + hp + " | MP: " + mana + " | Level: " + level;
+        return getName() + " | HP: " + hp + " | MP: " + mana + " | Level: " + level;
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package characters;
+
+/**
+ * Immutable catalog entry for a hero, holding the starting values from the data files.
+ * Recruited heroes are created from a template and keep a reference to it
+ * (Flyweight pattern); stats that change during play are stored per hero.
+ */
+public final class HeroTemplate {
+    private final String name;
+    private final int level;
+    private final HeroType heroType;
+    private final int mana;
+    private final int strength;
+    private final int dexterity;
+    private final int agility;
+    private final int gold;
+
+    public HeroTemplate(String name, int level, HeroType heroType, int mana,
+            int strength, int dexterity, int agility, int gold) {
+        this.name = name;
+        this.level = level;
+        this.heroType = heroType;
+        this.mana = mana;
+        this.strength = strength;
+        this.dexterity = dexterity;
+        this.agility = agility;
+        this.gold = gold;
+    }
+
+    /**
+     * Recruit a new hero with this template's starting values.
+     */
+    public Hero recruit() {
+        return new Hero(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public HeroType getHeroType() {
+        return heroType;
+    }
+
+    public int getMana() {
+        return mana;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getDexterity() {
+        return dexterity;
+    }
+
+    public int getAgility() {
+        return agility;
+    }
+
+    public int getGold() {
+        return gold;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [" + heroType + "]";
+    }
+}
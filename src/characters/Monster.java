@@ -1,25 +1,68 @@
 package characters;
 
+import java.io.PrintStream;
+
 /**
  * Class for a Monster character in the game.
+ * Name, type and stats are read through the template; a monster only stores
+ * its level, hp, position, lane and the spell debuffs it has taken.
  */
 public class Monster extends Character {
-    private MonsterType monsterType;
-    private int baseDamage;
-    private int defense;
-    private double dodgeChance;
+    // Each spell hit cuts the stat it targets to 90%, rounded down for whole stats
+    private static final double SPELL_DEBUFF = 0.9;
+
+    private final MonsterTemplate template;
     private int laneIndex;
+    // Spell hits taken, per weakened stat
+    private int fireHits;
+    private int iceHits;
+    private int lightningHits;
 
+    /**
+     * Build a monster from raw catalog values, scaled like any spawned monster.
+     */
     public Monster(String name, int level, MonsterType monsterType,
             int baseDamage, int defense, int dodgeChance) {
-        super(name, level, level * 100);
-        this.monsterType = monsterType;
-        this.baseDamage = baseDamage;
-        this.defense = (int) (defense * 0.05);
-        this.dodgeChance = dodgeChance * 0.001;
+        this(new MonsterTemplate(name, level, monsterType, baseDamage, defense, dodgeChance), level);
+    }
+
+    /**
+     * Spawn a monster of the given level from a catalog template.
+     */
+    public Monster(MonsterTemplate template, int level) {
+        super(level, level * 100);
+        this.template = template;
         this.laneIndex = -1;
     }
 
+    private Monster(Monster other) {
+        super(other);
+        this.template = other.template;
+        this.laneIndex = other.laneIndex;
+        this.fireHits = other.fireHits;
+        this.iceHits = other.iceHits;
+        this.lightningHits = other.lightningHits;
+    }
+
+    /**
+     * Independent copy of this monster, e.g. for a forked game state.
+     */
+    public Monster copy() {
+        return new Monster(this);
+    }
+
+    /**
+     * Catalog template this monster was spawned from; monsters built directly get their own.
+     */
+    public MonsterTemplate getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String getName() {
+        return template.getName();
+    }
+
     public int getLaneIndex() {
         return laneIndex;
     }
@@ -29,69 +72,81 @@ public class Monster extends Character {
     }
 
     public MonsterType getMonsterType() {
-        return monsterType;
+        return template.getMonsterType();
     }
 
     public int getBaseDamage() {
-        return baseDamage;
-    }
-
-    public void setBaseDamage(int baseDamage) {
-        this.baseDamage = baseDamage;
+        return weaken(template.getBaseDamage(), iceHits);
     }
 
+    /**
+     * Defense after the in-game scaling of the catalog value and any fire debuffs.
+     * Spawning has always scaled catalog defense twice (once for the catalog
+     * entry, once for the spawned monster); game balance is tuned to that.
+     */
     public int getDefense() {
-        return defense;
-    }
-
-    public void setDefense(int defense) {
-        this.defense = Math.max(0, defense);
+        return weaken((int) ((int) (template.getDefense() * 0.05) * 0.05), fireHits);
     }
 
+    /**
+     * Dodge chance after the in-game scaling of the catalog value and any lightning debuffs.
+     * Like defense, this keeps the spawn scaling the game was tuned with:
+     * a tenth of the catalog value, truncated, in thousandths.
+     */
     public double getDodgeChance() {
+        double dodgeChance = (int) (template.getDodgeChance() * 0.001 * 100) * 0.001;
+        for (int i = 0; i < lightningHits; i++) {
+            dodgeChance = dodgeChance * SPELL_DEBUFF;
+        }
         return dodgeChance;
     }
 
-    public void setDodgeChance(double dodgeChance) {
-        this.dodgeChance = Math.max(0, dodgeChance);
+    /**
+     * Apply the given number of debuffs to a whole stat, one at a time, as they were taken.
+     */
+    private static int weaken(int value, int hits) {
+        for (int i = 0; i < hits && value > 0; i++) {
+            value = (int) (value * SPELL_DEBUFF);
+        }
+        return value;
     }
 
     /**
      * Calculate attack damage for the monster.
      */
     public int calculateAttackDamage() {
-        return (int) (baseDamage * 0.05);
+        return (int) (getBaseDamage() * 0.05);
     }
 
     /**
-     * Apply spell effect to reduce monster's stat.
+     * Apply spell effect to reduce monster's stat, reporting it on the given stream.
      */
-    public void applySpellEffect(String effectType) {
+    public void applySpellEffect(String effectType, PrintStream out) {
         switch (effectType.toUpperCase()) {
             case "FIRE":
-                defense = (int) (defense * 0.9);
-                System.out.println("Flames weaken " + name + "'s defenses!");
+                fireHits++;
+                out.println("Flames weaken " + getName() + "'s defenses!");
                 break;
             case "ICE":
-                baseDamage = (int) (baseDamage * 0.9);
-                System.out.println("Ice numbs " + name + ", reducing its power!");
+                iceHits++;
+                out.println("Ice numbs " + getName() + ", reducing its power!");
                 break;
             case "LIGHTNING":
-                dodgeChance = dodgeChance * 0.9;
-                System.out.println("Lightning strikes, slowing " + name + "!");
+                lightningHits++;
+                out.println("Lightning strikes, slowing " + getName() + "!");
                 break;
         }
     }
 
     @Override
-    public void displayStats() {
-        System.out.println(name + " | lvl: " + level + " | HP: " + hp +
-                " | Damage: " + baseDamage + " | Defense: " + defense +
-                " | Dodge: " + (int) (dodgeChance * 100));
+    public void displayStats(PrintStream out) {
+        out.println(getName() + " | lvl: " + level + " | HP: " + hp +
+                " | Damage: " + getBaseDamage() + " | Defense: " + getDefense() +
+                " | Dodge: " + (int) (getDodgeChance() * 100));
     }
 
     @Override
     public String toString() {
-        return name + " | HP: " + hp;
+        return getName() + " | HP: " + hp;
     }
 }
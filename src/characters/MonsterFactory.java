@@ -1,8 +1,11 @@
 package characters;
 
+import data.CatalogSnapshot;
 import data.GameDatabase;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Factory class for creating monsters for battles.
@@ -13,23 +16,46 @@ public class MonsterFactory {
      * Create a group of monsters scaled to hero party level.
      */
     public static List<Monster> createMonsterGroup(int partySize, int heroLevel) {
+        return createMonsterGroup(GameDatabase.getInstance().getSnapshot(), partySize, heroLevel);
+    }
+
+    /**
+     * Create a group of monsters from the templates of a specific data snapshot.
+     */
+    public static List<Monster> createMonsterGroup(CatalogSnapshot catalog, int partySize, int heroLevel) {
+        return createMonsterGroup(catalog, SpawnProfile.NEAR_LEVEL, partySize, heroLevel);
+    }
+
+    /**
+     * Create a group of monsters drawn near the hero level according to a spawn profile.
+     */
+    public static List<Monster> createMonsterGroup(CatalogSnapshot catalog, SpawnProfile profile,
+            int partySize, int heroLevel) {
+        return createMonsterGroup(catalog, profile, partySize, heroLevel, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Create a group of monsters drawing from a specific random stream, for reproducible games.
+     */
+    public static List<Monster> createMonsterGroup(CatalogSnapshot catalog, SpawnProfile profile,
+            int partySize, int heroLevel, Random random) {
         List<Monster> monsters = new ArrayList<>();
-        GameDatabase db = GameDatabase.getInstance();
+        MonsterSampler sampler = catalog.getMonsterSampler(profile);
 
         for (int i = 0; i < partySize; i++) {
-            Monster template = db.getRandomMonster();
+            MonsterTemplate template = sampler.sample(heroLevel, random);
             if (template != null) {
-                Monster monster = new Monster(
-                        template.getName(),
-                        heroLevel,
-                        template.getMonsterType(),
-                        template.getBaseDamage(),
-                        template.getDefense(),
-                        (int) (template.getDodgeChance() * 100));
-                monsters.add(monster);
+                monsters.add(createFromTemplate(template, heroLevel));
             }
         }
 
         return monsters;
     }
+
+    /**
+     * Create a new monster of the given level from a catalog template.
+     */
+    public static Monster createFromTemplate(MonsterTemplate template, int level) {
+        return template.spawn(level);
+    }
 }
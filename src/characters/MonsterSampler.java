@@ -0,0 +1,96 @@
+package characters;
+
+import util.AliasTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted random selection of monster templates for a SpawnProfile.
+ * One alias table is precomputed per target level, so every draw is O(1)
+ * no matter how large the monster catalog is.
+ */
+public final class MonsterSampler {
+    private final List<MonsterTemplate> templates;
+    private final SpawnProfile profile;
+    private final int minLevel;
+    // Indexed by target level - minLevel; null when there are no templates
+    private final AliasTable[] tables;
+
+    public MonsterSampler(List<MonsterTemplate> templates, SpawnProfile profile) {
+        this.templates = Collections.unmodifiableList(new ArrayList<>(templates));
+        this.profile = profile;
+
+        if (this.templates.isEmpty()) {
+            this.minLevel = 1;
+            this.tables = new AliasTable[0];
+            return;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (MonsterTemplate template : this.templates) {
+            min = Math.min(min, template.getLevel());
+            max = Math.max(max, template.getLevel());
+        }
+        this.minLevel = min;
+        this.tables = new AliasTable[max - min + 1];
+        for (int level = min; level <= max; level++) {
+            tables[level - min] = buildTable(level);
+        }
+    }
+
+    /**
+     * Weights for one target level: templates inside the level window, or the
+     * nearest templates if the window is empty, scaled by type weight.
+     */
+    private AliasTable buildTable(int targetLevel) {
+        int n = templates.size();
+        double[] weights = new double[n];
+        int nearest = Integer.MAX_VALUE;
+        for (MonsterTemplate template : templates) {
+            if (profile.getTypeWeight(template.getMonsterType()) > 0) {
+                nearest = Math.min(nearest, Math.abs(template.getLevel() - targetLevel));
+            }
+        }
+        if (nearest == Integer.MAX_VALUE) {
+            // Every type has weight 0; fall back to a uniform pick
+            Arrays.fill(weights, 1.0);
+            return new AliasTable(weights);
+        }
+
+        int window = Math.max(profile.getLevelWindow(), nearest);
+        for (int i = 0; i < n; i++) {
+            MonsterTemplate template = templates.get(i);
+            int distance = Math.abs(template.getLevel() - targetLevel);
+            if (distance <= window) {
+                weights[i] = profile.weight(template.getMonsterType(), distance);
+            }
+        }
+        return new AliasTable(weights);
+    }
+
+    public SpawnProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Draw a template for a party of the given level, or null if there are no templates.
+     */
+    public MonsterTemplate sample(int partyLevel) {
+        return sample(partyLevel, ThreadLocalRandom.current());
+    }
+
+    public MonsterTemplate sample(int partyLevel, Random random) {
+        if (tables.length == 0) {
+            return null;
+        }
+        int target = partyLevel + profile.getLevelOffset();
+        int index = Math.max(0, Math.min(tables.length - 1, target - minLevel));
+        return templates.get(tables[index].sample(random));
+    }
+}
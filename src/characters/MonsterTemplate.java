@@ -0,0 +1,70 @@
+package characters;
+
+/**
+ * Immutable catalog entry for a monster, holding the raw values from the data files.
+ * Live monsters are spawned from a template and keep a reference to it
+ * (Flyweight pattern); only their combat state is stored per instance.
+ */
+public final class MonsterTemplate {
+    private final String name;
+    private final int level;
+    private final MonsterType monsterType;
+    private final int baseDamage;
+    private final int defense;
+    private final int dodgeChance;
+
+    public MonsterTemplate(String name, int level, MonsterType monsterType,
+            int baseDamage, int defense, int dodgeChance) {
+        this.name = name;
+        this.level = level;
+        this.monsterType = monsterType;
+        this.baseDamage = baseDamage;
+        this.defense = defense;
+        this.dodgeChance = dodgeChance;
+    }
+
+    /**
+     * Create a live monster of the given level from this template.
+     */
+    public Monster spawn(int level) {
+        return new Monster(this, level);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Catalog level, used to pick templates near the party level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public MonsterType getMonsterType() {
+        return monsterType;
+    }
+
+    public int getBaseDamage() {
+        return baseDamage;
+    }
+
+    /**
+     * Raw catalog defense, before the in-game scaling applied by Monster.
+     */
+    public int getDefense() {
+        return defense;
+    }
+
+    /**
+     * Raw catalog dodge chance, before the in-game scaling applied by Monster.
+     */
+    public int getDodgeChance() {
+        return dodgeChance;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + monsterType + ", level " + level + ")";
+    }
+}
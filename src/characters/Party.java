@@ -1,5 +1,6 @@
 package characters;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,18 +49,18 @@ public class Party {
         return maxLevel;
     }
 
-    public void displayParty() {
-        System.out.println("\n=== Party ===");
+    public void displayParty(PrintStream out) {
+        out.println("\n=== Party ===");
         for (int i = 0; i < heroes.size(); i++) {
-            System.out.println((i + 1) + ". " + heroes.get(i));
+            out.println((i + 1) + ". " + heroes.get(i));
         }
     }
 
-    public void displayDetailedStats() {
-        System.out.println("\n=== Party Details ===");
+    public void displayDetailedStats(PrintStream out) {
+        out.println("\n=== Party Details ===");
         for (Hero hero : heroes) {
-            hero.displayStats();
-            System.out.println();
+            hero.displayStats(out);
+            out.println();
         }
     }
 }
@@ -0,0 +1,79 @@
+package characters;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable description of which monsters should spawn for a given party level.
+ * Monsters are weighted by their monster type and by how far their catalog level
+ * is from the target level (party level plus an offset); monsters further than
+ * the level window away are never picked while closer ones exist.
+ *
+ * Profiles are compared by identity, so shared constants should be reused
+ * rather than rebuilt for every spawn.
+ */
+public final class SpawnProfile {
+    /** Monsters at or next to the party level, all types equally likely. */
+    public static final SpawnProfile NEAR_LEVEL = new SpawnProfile(0, 1, 0.5, equalTypeWeights());
+
+    private final int levelOffset;
+    private final int levelWindow;
+    private final double levelFalloff;
+    private final Map<MonsterType, Double> typeWeights;
+
+    /**
+     * @param levelOffset  added to the party level to get the target monster level
+     * @param levelWindow  maximum distance from the target level
+     * @param levelFalloff weight multiplier per level of distance (0-1]
+     * @param typeWeights  relative weight of each monster type; missing types get 0
+     */
+    public SpawnProfile(int levelOffset, int levelWindow, double levelFalloff, Map<MonsterType, Double> typeWeights) {
+        if (levelWindow < 0 || levelFalloff <= 0 || levelFalloff > 1) {
+            throw new IllegalArgumentException("Invalid level window or falloff");
+        }
+        this.levelOffset = levelOffset;
+        this.levelWindow = levelWindow;
+        this.levelFalloff = levelFalloff;
+        EnumMap<MonsterType, Double> weights = new EnumMap<>(MonsterType.class);
+        for (MonsterType type : MonsterType.values()) {
+            weights.put(type, Math.max(0.0, typeWeights.getOrDefault(type, 0.0)));
+        }
+        this.typeWeights = Collections.unmodifiableMap(weights);
+    }
+
+    /**
+     * Weight 1 for every monster type.
+     */
+    public static Map<MonsterType, Double> equalTypeWeights() {
+        EnumMap<MonsterType, Double> weights = new EnumMap<>(MonsterType.class);
+        for (MonsterType type : MonsterType.values()) {
+            weights.put(type, 1.0);
+        }
+        return weights;
+    }
+
+    public int getLevelOffset() {
+        return levelOffset;
+    }
+
+    public int getLevelWindow() {
+        return levelWindow;
+    }
+
+    public double getLevelFalloff() {
+        return levelFalloff;
+    }
+
+    public double getTypeWeight(MonsterType type) {
+        return typeWeights.get(type);
+    }
+
+    /**
+     * Relative weight of a monster at the given distance from the target level,
+     * ignoring the level window.
+     */
+    double weight(MonsterType type, int levelDistance) {
+        return typeWeights.get(type) * Math.pow(levelFalloff, levelDistance);
+    }
+}
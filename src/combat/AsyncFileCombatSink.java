@@ -0,0 +1,96 @@
+package combat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes event text to a file on a background thread, so combat only pays
+ * for queueing the event; formatting and I/O happen off the game thread.
+ * Call close() to write out everything still queued.
+ */
+public final class AsyncFileCombatSink implements CombatEventSink {
+    // Queued after the last event to stop the writer
+    private static final CombatEvent END = new CombatEvent() {
+        @Override
+        public String format() {
+            return "";
+        }
+    };
+
+    private final BlockingQueue<CombatEvent> queue = new LinkedBlockingQueue<>();
+    private final BufferedWriter writer;
+    private final Thread thread;
+    // Held while checking closed and queueing, so no event can land behind END
+    private final Object queueLock = new Object();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    public AsyncFileCombatSink(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.thread = new Thread(this::drain, "combat-log-" + file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void publish(CombatEvent event) {
+        synchronized (queueLock) {
+            if (isEnabled()) {
+                queue.add(event);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        // Stop queueing once the writer has given up
+        return !closed && failure == null;
+    }
+
+    /**
+     * Write out the queued events and close the file.
+     *
+     * @throws UncheckedIOException if the writer thread failed to write
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        synchronized (queueLock) {
+            closed = true;
+            queue.add(END);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Could not write combat log", failure);
+        }
+    }
+
+    private void drain() {
+        try (BufferedWriter out = writer) {
+            while (true) {
+                CombatEvent event = queue.take();
+                if (event == END) {
+                    break;
+                }
+                out.write(event.format());
+                out.newLine();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
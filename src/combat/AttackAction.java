@@ -3,35 +3,27 @@ package combat;
 import characters.Character;
 import characters.Hero;
 import characters.Monster;
-import world.World;
-import world.Tile;
-import world.TileType;
-
-import java.util.Random;
 
 /**
  * Basic physical attack action.
  * Can be used by both heroes and monsters with terrain bonuses.
+ * Stateless; use the shared INSTANCE.
  */
-public class AttackAction implements CombatAction {
-    private Random random;
-    private World world;
+public final class AttackAction implements CombatAction {
+    public static final AttackAction INSTANCE = new AttackAction();
 
-    public AttackAction(World world) {
-        this.random = new Random();
-        this.world = world;
+    private AttackAction() {
     }
 
     @Override
-    public boolean execute(Character attacker, Character defender) {
-        // Get character IDs from tiles
-        String attackerId = getCharacterId(attacker);
-        String defenderId = getCharacterId(defender);
-        
+    public boolean execute(CombatContext context, Character attacker, Character defender) {
         // Check dodge
-        if (random.nextDouble() < getEffectiveDodgeChance(defender)) {
-            System.out.println(defenderId + ": " + defender.getName() + " dodged " + 
-                attackerId + ": " + attacker.getName() + "'s attack!");
+        if (context.getRandom().nextDouble() < getEffectiveDodgeChance(defender)) {
+            if (context.isPublishing()) {
+                context.publish(new CombatEvent.Dodged(attacker instanceof Hero,
+                    context.getDisplayId(attacker), attacker.getName(),
+                    context.getDisplayId(defender), defender.getName(), false));
+            }
             return true;
         }
     
@@ -41,36 +33,15 @@ public class AttackAction implements CombatAction {
     
         // Apply damage
         defender.takeDamage(damage);
-        System.out.println(attackerId + ": " + attacker.getName() + " attacks " + 
-            defenderId + ": " + defender.getName() + " for " + damage + " damage!");
+        if (context.isPublishing()) {
+            context.publish(new CombatEvent.AttackResolved(attacker instanceof Hero,
+                context.getDisplayId(attacker), attacker.getName(),
+                context.getDisplayId(defender), defender.getName(), damage));
+        }
     
         return true;
     }
     
-    /**
-     * Get character ID string (H1, H2, M1, M2, etc.)
-     */
-    private String getCharacterId(Character character) {
-        if (world == null) {
-            return "";
-        }
-        
-        Tile tile = world.getTile(character.getRow(), character.getCol());
-        if (tile == null) {
-            return "";
-        }
-        
-        if (character instanceof Hero) {
-            int id = tile.getHeroId();
-            return id > 0 ? "H" + id : "H";
-        } else if (character instanceof Monster) {
-            int id = tile.getMonsterId();
-            return id > 0 ? "M" + id : "M";
-        }
-        
-        return "";
-    }
-
     @Override
     public String getActionName() {
         return "Attack";
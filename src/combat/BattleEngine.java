@@ -9,8 +9,11 @@ import items.Potion;
 import items.Spell;
 import items.Weapon;
 import util.InputHelper;
+import util.InputSource;
+import util.RandomStreams;
 import world.World;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -25,13 +28,53 @@ public abstract class BattleEngine {
     protected Party party;
     protected List<Monster> monsters;
     protected CombatExecutor combatExecutor;
+    protected InputSource input;
+    // Where attack, spell, defeat and movement reports go
+    protected CombatEventSink eventSink = ConsoleCombatSink.INSTANCE;
 
     public BattleEngine(World world, Party party, List<Monster> monsters) {
-        this.random = new Random();
+        this(world, party, monsters, InputHelper.getDefaultSource());
+    }
+
+    public BattleEngine(World world, Party party, List<Monster> monsters, InputSource input) {
+        this(world, party, monsters, input, RandomStreams.withRandomSeed().newStream());
+    }
+
+    /**
+     * Create an engine whose target picks and dodge rolls all draw from the given stream.
+     */
+    public BattleEngine(World world, Party party, List<Monster> monsters, InputSource input, Random random) {
+        this.input = input;
+        this.random = random;
         this.world = world;
         this.party = party;
         this.monsters = monsters;
-        this.combatExecutor = new CombatExecutor(world, party, monsters);
+        this.combatExecutor = new CombatExecutor(world, party, monsters, random, eventSink);
+    }
+
+    /**
+     * Send combat events to the given sink instead of the console,
+     * e.g. CombatEventSink.NONE for headless runs.
+     */
+    public void setEventSink(CombatEventSink eventSink) {
+        this.eventSink = eventSink;
+        combatExecutor.setEventSink(eventSink);
+    }
+
+    public CombatEventSink getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Send menus, banners and other messages to the given stream instead of
+     * System.out. The combat executor shares it, so the battle has one output.
+     */
+    public void setOutput(PrintStream output) {
+        combatExecutor.setOutput(output);
+    }
+
+    protected PrintStream out() {
+        return combatExecutor.getOutput();
     }
 
     /**
@@ -39,12 +82,12 @@ public abstract class BattleEngine {
      */
     public boolean heroAttack(Hero hero, Monster target) {
         if (hero.isFainted()) {
-            System.out.println(hero.getName() + " is fainted and cannot attack!");
+            out().println(hero.getName() + " is fainted and cannot attack!");
             return false;
         }
 
         if (target.isFainted()) {
-            System.out.println(target.getName() + " is already defeated!");
+            out().println(target.getName() + " is already defeated!");
             return false;
         }
 
@@ -56,17 +99,17 @@ public abstract class BattleEngine {
      */
     public boolean heroCastSpell(Hero hero, Spell spell, Monster target) {
         if (hero.isFainted()) {
-            System.out.println(hero.getName() + " is fainted and cannot cast spells!");
+            out().println(hero.getName() + " is fainted and cannot cast spells!");
             return false;
         }
 
         if (target.isFainted()) {
-            System.out.println(target.getName() + " is already defeated!");
+            out().println(target.getName() + " is already defeated!");
             return false;
         }
 
         if (hero.getMana() < spell.getManaCost()) {
-            System.out.println("Insufficient mana!");
+            out().println("Insufficient mana!");
             return false;
         }
 
@@ -91,25 +134,25 @@ public abstract class BattleEngine {
         List<Potion> potions = hero.getInventory().getPotions();
 
         if (potions.isEmpty()) {
-            System.out.println(hero.getName() + " has no potions!");
+            out().println(hero.getName() + " has no potions!");
             return false;
         }
 
-        System.out.println("\nAvailable Potions:");
+        out().println("\nAvailable Potions:");
         for (int i = 0; i < potions.size(); i++) {
-            System.out.println((i + 1) + ") " + potions.get(i));
+            out().println((i + 1) + ") " + potions.get(i));
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose potion: ", 0, potions.size());
+        int choice = input.readInt("Choose potion: ", 0, potions.size());
         if (choice == 0) {
             return false;
         }
 
         Potion potion = potions.get(choice - 1);
-        potion.applyEffect(hero);
+        potion.applyEffect(hero, out());
         hero.getInventory().removeItem(potion);
-        System.out.println(hero.getName() + " used " + potion.getName() + "!");
+        out().println(hero.getName() + " used " + potion.getName() + "!");
 
         return true;
     }
@@ -118,12 +161,12 @@ public abstract class BattleEngine {
      * Hero changes equipment.
      */
     public void heroChangeEquipment(Hero hero) {
-        System.out.println("\nChange equipment:");
-        System.out.println("1) Equip Weapon");
-        System.out.println("2) Equip Armor");
-        System.out.println("3) Back");
+        out().println("\nChange equipment:");
+        out().println("1) Equip Weapon");
+        out().println("2) Equip Armor");
+        out().println("3) Back");
 
-        int choice = InputHelper.readInt("", 1, 3);
+        int choice = input.readInt("", 1, 3);
 
         switch (choice) {
             case 1:
@@ -142,19 +185,19 @@ public abstract class BattleEngine {
         List<Weapon> weapons = hero.getInventory().getWeapons();
 
         if (weapons.isEmpty()) {
-            System.out.println("No weapons in inventory.");
+            out().println("No weapons in inventory.");
             return;
         }
 
-        System.out.println("\nWeapons:");
+        out().println("\nWeapons:");
         for (int i = 0; i < weapons.size(); i++) {
             Weapon w = weapons.get(i);
-            System.out.println((i + 1) + ") " + w.getName() + 
+            out().println((i + 1) + ") " + w.getName() + 
                 " | Damage: " + w.getDamage() + " | Hands: " + w.getHandsRequired());
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose weapon: ", 0, weapons.size());
+        int choice = input.readInt("Choose weapon: ", 0, weapons.size());
         if (choice == 0) {
             return;
         }
@@ -162,7 +205,7 @@ public abstract class BattleEngine {
         Weapon weapon = weapons.get(choice - 1);
         hero.getInventory().removeItem(weapon);
         hero.equipWeapon(weapon);
-        System.out.println(hero.getName() + " equipped " + weapon.getName() + ".");
+        out().println(hero.getName() + " equipped " + weapon.getName() + ".");
     }
 
     /**
@@ -172,19 +215,19 @@ public abstract class BattleEngine {
         List<Armor> armors = hero.getInventory().getArmor();
 
         if (armors.isEmpty()) {
-            System.out.println("No armor in inventory.");
+            out().println("No armor in inventory.");
             return;
         }
 
-        System.out.println("\nArmor:");
+        out().println("\nArmor:");
         for (int i = 0; i < armors.size(); i++) {
             Armor a = armors.get(i);
-            System.out.println((i + 1) + ") " + a.getName() + 
+            out().println((i + 1) + ") " + a.getName() + 
                 " | Defense: " + a.getDamageReduction());
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose armor: ", 0, armors.size());
+        int choice = input.readInt("Choose armor: ", 0, armors.size());
         if (choice == 0) {
             return;
         }
@@ -192,7 +235,7 @@ public abstract class BattleEngine {
         Armor armor = armors.get(choice - 1);
         hero.getInventory().removeItem(armor);
         hero.equipArmor(armor);
-        System.out.println(hero.getName() + " equipped " + armor.getName() + ".");
+        out().println(hero.getName() + " equipped " + armor.getName() + ".");
     }
 
     /**
@@ -203,14 +246,14 @@ public abstract class BattleEngine {
             return null;
         }
 
-        System.out.println("\nSelect target:");
+        out().println("\nSelect target:");
         for (int i = 0; i < availableMonsters.size(); i++) {
             Monster m = availableMonsters.get(i);
-            System.out.println((i + 1) + ") " + m.getName() + " (HP: " + m.getHp() + ")");
+            out().println((i + 1) + ") " + m.getName() + " (HP: " + m.getHp() + ")");
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("", 0, availableMonsters.size());
+        int choice = input.readInt("", 0, availableMonsters.size());
         if (choice == 0) {
             return null;
         }
@@ -225,19 +268,19 @@ public abstract class BattleEngine {
         List<Spell> spells = hero.getInventory().getSpells();
 
         if (spells.isEmpty()) {
-            System.out.println(hero.getName() + " has no spells!");
+            out().println(hero.getName() + " has no spells!");
             return null;
         }
 
-        System.out.println("\nAvailable Spells:");
+        out().println("\nAvailable Spells:");
         for (int i = 0; i < spells.size(); i++) {
             Spell s = spells.get(i);
-            System.out.println((i + 1) + ") " + s.getName() + " | Damage: " + s.getDamage() +
+            out().println((i + 1) + ") " + s.getName() + " | Damage: " + s.getDamage() +
                     " | Mana: " + s.getManaCost() + " | Type: " + s.getSpellType());
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose spell: ", 0, spells.size());
+        int choice = input.readInt("Choose spell: ", 0, spells.size());
         if (choice == 0) {
             return null;
         }
@@ -256,13 +299,13 @@ public abstract class BattleEngine {
      * Display combat menu for a hero.
      */
     protected void displayCombatMenu(Hero hero) {
-        System.out.println("\n--- " + hero.getName() + "'s Turn ---");
-        System.out.println("1) Attack");
-        System.out.println("2) Cast Spell");
-        System.out.println("3) Use Potion");
-        System.out.println("4) Change Equipment");
-        System.out.println("5) Battle Info");
-        System.out.println("6) Skip Turn");
+        out().println("\n--- " + hero.getName() + "'s Turn ---");
+        out().println("1) Attack");
+        out().println("2) Cast Spell");
+        out().println("3) Use Potion");
+        out().println("4) Change Equipment");
+        out().println("5) Battle Info");
+        out().println("6) Skip Turn");
     }
 
     /**
@@ -0,0 +1,10 @@
+package combat;
+
+/**
+ * Enum describing how a Monsters and Heroes battle ended.
+ */
+public enum BattleOutcome {
+    VICTORY,
+    DEFEAT,
+    QUIT
+}
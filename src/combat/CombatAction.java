@@ -4,12 +4,14 @@ import characters.Character;
 
 /**
  * Interface for combat actions that can be performed by any character.
+ * Actions keep no per-battle state: the world and random stream come from the
+ * context, so one shared instance serves every battle and every hit.
  */
 public interface CombatAction {
     /**
      * Execute the combat action.
      */
-    boolean execute(Character attacker, Character defender);
+    boolean execute(CombatContext context, Character attacker, Character defender);
     
     /**
      * Get the name of this action.
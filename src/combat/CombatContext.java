@@ -0,0 +1,103 @@
+package combat;
+
+import characters.Character;
+import characters.Hero;
+import characters.Monster;
+import items.Spell;
+import world.GridStore;
+import world.World;
+
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Everything a combat action needs besides the two combatants: the world
+ * (for terrain and display ids, null in battles without a map), the battle's
+ * random stream, the sink combat events go to, the stream for plain messages
+ * such as level ups and, while a spell is being cast, that spell.
+ *
+ * One context belongs to each CombatExecutor and is reused for every action,
+ * so actions themselves can be stateless shared instances.
+ */
+public final class CombatContext {
+    private final World world;
+    private final Random random;
+    private CombatEventSink sink;
+    private PrintStream output = System.out;
+    private Spell spell;
+
+    public CombatContext(World world, Random random, CombatEventSink sink) {
+        this.world = world;
+        this.random = random;
+        this.sink = sink;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Spell being cast by the current action, or null for physical attacks.
+     */
+    public Spell getSpell() {
+        return spell;
+    }
+
+    void setSpell(Spell spell) {
+        this.spell = spell;
+    }
+
+    public CombatEventSink getSink() {
+        return sink;
+    }
+
+    void setSink(CombatEventSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Where messages that are not combat events go, normally the game's output.
+     */
+    public PrintStream getOutput() {
+        return output;
+    }
+
+    void setOutput(PrintStream output) {
+        this.output = output;
+    }
+
+    /**
+     * True if events are wanted; check before creating one.
+     */
+    public boolean isPublishing() {
+        return sink.isEnabled();
+    }
+
+    public void publish(CombatEvent event) {
+        sink.publish(event);
+    }
+
+    /**
+     * Display id of a character from its cell, as CombatEvent expects:
+     * -1 in battles without a map, 0 if the cell shows no number.
+     */
+    public int getDisplayId(Character character) {
+        if (world == null || !world.isValid(character.getRow(), character.getCol())) {
+            return -1;
+        }
+
+        GridStore grid = world.getGrid();
+        int cell = grid.index(character.getRow(), character.getCol());
+        if (character instanceof Hero) {
+            return Math.max(0, grid.getHeroId(cell));
+        } else if (character instanceof Monster) {
+            return Math.max(0, grid.getMonsterId(cell));
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,317 @@
+package combat;
+
+/**
+ * Typed record of something that happened in combat.
+ * Events hold only references and numbers captured when they happened; the
+ * text shown on the console is produced by format(), and only by sinks that
+ * want text, so runs without a console sink never build combat strings.
+ *
+ * Display ids follow the map: -1 when the battle has no map, 0 when the
+ * character's cell has no id, otherwise the H/M number shown on the map.
+ */
+public abstract class CombatEvent {
+
+    /**
+     * Console text of this event, one or more lines without a trailing newline.
+     */
+    public abstract String format();
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    /**
+     * H1 / M2 style label of a combatant, "H"/"M" without an id, "" without a map.
+     */
+    static String label(boolean hero, int id) {
+        if (id < 0) {
+            return "";
+        }
+        return (hero ? "H" : "M") + (id > 0 ? String.valueOf(id) : "");
+    }
+
+    /**
+     * A physical attack hit.
+     */
+    public static final class AttackResolved extends CombatEvent {
+        public final boolean attackerIsHero;
+        public final int attackerId;
+        public final String attackerName;
+        public final int defenderId;
+        public final String defenderName;
+        public final int damage;
+
+        public AttackResolved(boolean attackerIsHero, int attackerId, String attackerName,
+                int defenderId, String defenderName, int damage) {
+            this.attackerIsHero = attackerIsHero;
+            this.attackerId = attackerId;
+            this.attackerName = attackerName;
+            this.defenderId = defenderId;
+            this.defenderName = defenderName;
+            this.damage = damage;
+        }
+
+        @Override
+        public String format() {
+            return label(attackerIsHero, attackerId) + ": " + attackerName + " attacks " +
+                label(!attackerIsHero, defenderId) + ": " + defenderName + " for " + damage + " damage!";
+        }
+    }
+
+    /**
+     * An attack or spell missed because the defender dodged.
+     */
+    public static final class Dodged extends CombatEvent {
+        public final boolean attackerIsHero;
+        public final int attackerId;
+        public final String attackerName;
+        public final int defenderId;
+        public final String defenderName;
+        public final boolean spell;
+
+        public Dodged(boolean attackerIsHero, int attackerId, String attackerName,
+                int defenderId, String defenderName, boolean spell) {
+            this.attackerIsHero = attackerIsHero;
+            this.attackerId = attackerId;
+            this.attackerName = attackerName;
+            this.defenderId = defenderId;
+            this.defenderName = defenderName;
+            this.spell = spell;
+        }
+
+        @Override
+        public String format() {
+            String attacker = label(attackerIsHero, attackerId) + ": " + attackerName;
+            String defender = label(!attackerIsHero, defenderId) + ": " + defenderName;
+            return spell
+                ? defender + " evades " + attacker + "'s magical assault!"
+                : defender + " dodged " + attacker + "'s attack!";
+        }
+    }
+
+    /**
+     * A hero's spell hit its target.
+     */
+    public static final class SpellCast extends CombatEvent {
+        public final int heroId;
+        public final String heroName;
+        public final String spellName;
+        public final int defenderId;
+        public final String defenderName;
+        public final int damage;
+
+        public SpellCast(int heroId, String heroName, String spellName,
+                int defenderId, String defenderName, int damage) {
+            this.heroId = heroId;
+            this.heroName = heroName;
+            this.spellName = spellName;
+            this.defenderId = defenderId;
+            this.defenderName = defenderName;
+            this.damage = damage;
+        }
+
+        @Override
+        public String format() {
+            return label(true, heroId) + ": " + heroName + " casts " + spellName +
+                " on " + label(false, defenderId) + ": " + defenderName + " for " + damage + " damage!";
+        }
+    }
+
+    /**
+     * A spell could not be cast.
+     */
+    public static final class SpellFailed extends CombatEvent {
+        /**
+         * Why the spell was not cast.
+         */
+        public enum Reason {
+            /** The caster had too little mana. */
+            INSUFFICIENT_MANA,
+            /** No spell was chosen. */
+            NO_SPELL,
+            /** The caster was not a hero. */
+            NOT_A_HERO
+        }
+
+        public final Reason reason;
+        // INSUFFICIENT_MANA only
+        public final int heroId;
+        public final int manaNeeded;
+        public final int manaAvailable;
+
+        public SpellFailed(int heroId, int manaNeeded, int manaAvailable) {
+            this(Reason.INSUFFICIENT_MANA, heroId, manaNeeded, manaAvailable);
+        }
+
+        public SpellFailed(Reason reason) {
+            this(reason, -1, 0, 0);
+        }
+
+        private SpellFailed(Reason reason, int heroId, int manaNeeded, int manaAvailable) {
+            this.reason = reason;
+            this.heroId = heroId;
+            this.manaNeeded = manaNeeded;
+            this.manaAvailable = manaAvailable;
+        }
+
+        @Override
+        public String format() {
+            switch (reason) {
+                case NO_SPELL:
+                    return "No spell selected!";
+                case NOT_A_HERO:
+                    return "Only heroes can cast spells!";
+                case INSUFFICIENT_MANA:
+                default:
+                    return label(true, heroId) + ": Insufficient mana! Need " + manaNeeded +
+                        " MP, have " + manaAvailable + " MP.";
+            }
+        }
+    }
+
+    /**
+     * A monster was slain, or a hero was defeated.
+     */
+    public static final class Slain extends CombatEvent {
+        public final boolean hero;
+        public final int id;
+        public final String name;
+        // Heroes only: whether they respawn (Valor) or are out of the battle
+        public final boolean respawns;
+        public final boolean partyDefeated;
+
+        public Slain(boolean hero, int id, String name, boolean respawns, boolean partyDefeated) {
+            this.hero = hero;
+            this.id = id;
+            this.name = name;
+            this.respawns = respawns;
+            this.partyDefeated = partyDefeated;
+        }
+
+        @Override
+        public String format() {
+            if (!hero) {
+                return (id > 0 ? "M" + id + ": " : "") + name + " has been slain!";
+            }
+            if (respawns) {
+                return name + " has been defeated!\n" + name + " will respawn at their Nexus.";
+            }
+            return name + " has been defeated!\n" + name + " is out of the battle!" +
+                (partyDefeated ? "\nAll heroes have been defeated!" : "");
+        }
+    }
+
+    /**
+     * A hero received gold and experience for a slain monster.
+     * The first reward of a kill also carries the section header.
+     */
+    public static final class RewardGranted extends CombatEvent {
+        public final String heroName;
+        public final int gold;
+        public final int experience;
+        public final boolean first;
+
+        public RewardGranted(String heroName, int gold, int experience, boolean first) {
+            this.heroName = heroName;
+            this.gold = gold;
+            this.experience = experience;
+            this.first = first;
+        }
+
+        @Override
+        public String format() {
+            return (first ? "\n--- Rewards Distributed ---\n" : "") +
+                heroName + " gained " + gold + " gold and " + experience + " XP!";
+        }
+    }
+
+    /**
+     * A defeated Valor hero came back on their Nexus, or could not be placed.
+     */
+    public static final class Respawned extends CombatEvent {
+        public final String heroName;
+        public final boolean placed;
+        public final int lane;
+        public final int hp;
+        public final int maxHp;
+        public final int mana;
+        public final int maxMana;
+        public final int gold;
+
+        public Respawned(String heroName, boolean placed, int lane, int hp, int maxHp,
+                int mana, int maxMana, int gold) {
+            this.heroName = heroName;
+            this.placed = placed;
+            this.lane = lane;
+            this.hp = hp;
+            this.maxHp = maxHp;
+            this.mana = mana;
+            this.maxMana = maxMana;
+            this.gold = gold;
+        }
+
+        @Override
+        public String format() {
+            if (!placed) {
+                return "ERROR: Could not respawn " + heroName + " - nexus tile not available!";
+            }
+            return heroName + " respawned at Lane " + (lane + 1) + " Nexus with full HP/MP.\n" +
+                "HP: " + hp + "/" + maxHp + " | MP: " + mana + "/" + maxMana + " | Gold: " + gold;
+        }
+    }
+
+    /**
+     * What a Valor monster did on its turn besides attacking.
+     */
+    public static final class MonsterMoved extends CombatEvent {
+        /**
+         * Kinds of monster turns.
+         */
+        public enum Kind {
+            /** Advanced with a clear path. */
+            ADVANCED,
+            /** Advanced past heroes that were in range but not blocking. */
+            SLIPPED_PAST,
+            /** Stepped onto the Hero Nexus. */
+            BREACHED_NEXUS,
+            /** Turned to fight a hero blocking its lane. */
+            ENGAGED,
+            /** Could not move and had nobody to fight. */
+            STUCK
+        }
+
+        public final Kind kind;
+        public final int monsterId;
+        public final String monsterName;
+        // ENGAGED only
+        public final int heroId;
+        public final String heroName;
+
+        public MonsterMoved(Kind kind, int monsterId, String monsterName, int heroId, String heroName) {
+            this.kind = kind;
+            this.monsterId = monsterId;
+            this.monsterName = monsterName;
+            this.heroId = heroId;
+            this.heroName = heroName;
+        }
+
+        @Override
+        public String format() {
+            String monster = "M" + monsterId + ": " + monsterName;
+            switch (kind) {
+                case ADVANCED:
+                    return monster + " advances south toward the Hero Nexus!";
+                case SLIPPED_PAST:
+                    return monster + " advances south.";
+                case BREACHED_NEXUS:
+                    return "\n⚠️  " + monster + " has breached the Hero Nexus!";
+                case ENGAGED:
+                    return monster + " must fight through H" + heroId + " (" + heroName + ")!";
+                case STUCK:
+                default:
+                    return monster + " is stuck and cannot advance.";
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package combat;
+
+/**
+ * Destination for combat events.
+ * Publishers ask isEnabled() before creating an event, so a disabled sink
+ * costs one call per would-be message and allocates nothing.
+ */
+public interface CombatEventSink {
+
+    /**
+     * Sink that discards everything, for headless runs.
+     */
+    CombatEventSink NONE = new CombatEventSink() {
+        @Override
+        public void publish(CombatEvent event) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Receive one event, in the order combat produced it.
+     */
+    void publish(CombatEvent event);
+
+    /**
+     * False if events would be thrown away, letting publishers skip creating them.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Release anything the sink holds, flushing pending events first.
+     */
+    default void close() {
+    }
+}
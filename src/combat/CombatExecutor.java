@@ -4,12 +4,16 @@ import characters.Character;
 import characters.Hero;
 import characters.Monster;
 import characters.Party;
+import world.GridStore;
+import world.LaneLayout;
 import world.Tile;
 import world.World;
 import world.ValorWorld;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Handles the execution of combat actions.
@@ -18,19 +22,51 @@ public class CombatExecutor {
     private final World world;
     private final Party party;
     private final List<Monster> monsters;
+    // Reused by every action this executor runs
+    private final CombatContext context;
 
-    public CombatExecutor(World world, Party party, List<Monster> monsters) {
+    public CombatExecutor(World world, Party party, List<Monster> monsters, Random random) {
+        this(world, party, monsters, random, ConsoleCombatSink.INSTANCE);
+    }
+
+    /**
+     * Create an executor that reports what happens to the given sink.
+     */
+    public CombatExecutor(World world, Party party, List<Monster> monsters, Random random,
+            CombatEventSink sink) {
         this.world = world;
         this.party = party;
         this.monsters = monsters;
+        this.context = new CombatContext(world, random, sink);
+    }
+
+    /**
+     * Send combat events from now on to the given sink.
+     */
+    public void setEventSink(CombatEventSink sink) {
+        context.setSink(sink);
+    }
+
+    public CombatEventSink getEventSink() {
+        return context.getSink();
+    }
+
+    /**
+     * Send level-up and terrain messages from now on to the given stream.
+     */
+    public void setOutput(PrintStream output) {
+        context.setOutput(output);
+    }
+
+    public PrintStream getOutput() {
+        return context.getOutput();
     }
 
     /**
      * Execute an attack action.
      */
     public boolean executeAttack(Character attacker, Character defender) {
-        AttackAction action = new AttackAction(world);
-        boolean success = action.execute(attacker, defender);
+        boolean success = AttackAction.INSTANCE.execute(context, attacker, defender);
         
         if (defender.isFainted()) {
             handleDefeat(attacker, defender);
@@ -43,8 +79,13 @@ public class CombatExecutor {
      * Execute a spell action.
      */
     public boolean executeSpell(Character attacker, Character defender, items.Spell spell) {
-        SpellAction action = new SpellAction(spell, world);
-        boolean success = action.execute(attacker, defender);
+        context.setSpell(spell);
+        boolean success;
+        try {
+            success = SpellAction.INSTANCE.execute(context, attacker, defender);
+        } finally {
+            context.setSpell(null);
+        }
         
         if (defender.isFainted()) {
             handleDefeat(attacker, defender);
@@ -54,9 +95,46 @@ public class CombatExecutor {
     }
 
     /**
-     * Get characters in range of a given character.
+     * Get characters in range of a given character, heroes first.
+     * On a map the world grid serves as the spatial index: every move, teleport,
+     * recall and respawn updates the occupants of the cells involved, so only
+     * the cells within range are visited, however many units are in play.
      */
     public List<Character> getCharactersInRange(Character character, int range) {
+        if (world == null) {
+            return scanCharactersInRange(character, range);
+        }
+
+        List<Character> inRange = new ArrayList<>();
+        GridStore grid = world.getGrid();
+        int minRow = Math.max(0, character.getRow() - range);
+        int maxRow = Math.min(grid.getRows() - 1, character.getRow() + range);
+        int minCol = Math.max(0, character.getCol() - range);
+        int maxCol = Math.min(grid.getCols() - 1, character.getCol() + range);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                Hero hero = grid.getHero(grid.index(r, c));
+                if (hero != null && hero != character && !hero.isFainted()) {
+                    inRange.add(hero);
+                }
+            }
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                Monster monster = grid.getMonster(grid.index(r, c));
+                if (monster != null && monster != character && !monster.isFainted()) {
+                    inRange.add(monster);
+                }
+            }
+        }
+        return inRange;
+    }
+
+    /**
+     * Range check over the party and monster lists, for battles without a map.
+     */
+    private List<Character> scanCharactersInRange(Character character, int range) {
         List<Character> inRange = new ArrayList<>();
         
         int charRow = character.getRow();
@@ -114,18 +192,10 @@ public class CombatExecutor {
      * Handle monster defeat - give rewards to ALL living heroes.
      */
     private void handleMonsterDefeat(Character attacker, Monster monster) {
-        
-        // Get monster ID for display
-        String monsterId = "";
-        if (world != null) {
-            Tile tile = world.getTile(monster.getRow(), monster.getCol());
-            if (tile != null) {
-                int id = tile.getMonsterId();
-                monsterId = id > 0 ? "M" + id + ": " : "";
-            }
+        if (context.isPublishing()) {
+            context.publish(new CombatEvent.Slain(false, context.getDisplayId(monster),
+                monster.getName(), false, false));
         }
-        
-        System.out.println(monsterId + monster.getName() + " has been slain!");
 
 
         // Award gold and experience to ALL living heroes
@@ -133,13 +203,16 @@ public class CombatExecutor {
         int expReward = monster.getLevel() * 2;
 
         if (party != null) {
-            System.out.println("\n--- Rewards Distributed ---");
+            boolean first = true;
             for (Hero hero : party.getHeroes()) {
                 if (hero.isAlive()) {
                     hero.addGold(goldReward);
-                    hero.addExperience(expReward);
-                    System.out.println(hero.getName() + " gained " + goldReward + 
-                        " gold and " + expReward + " XP!");
+                    hero.addExperience(expReward, context.getOutput());
+                    if (context.isPublishing()) {
+                        context.publish(new CombatEvent.RewardGranted(hero.getName(),
+                            goldReward, expReward, first));
+                    }
+                    first = false;
                 }
             }
         }
@@ -159,82 +232,107 @@ public class CombatExecutor {
     }
 
     /**
-     * Handle hero defeat - respawn at nexus for Valor, or game over for M&H.
+     * Handle hero defeat - respawn at nexus for Valor, or out of the battle for M&H.
+     * A wiped-out M&H party is reported by the battle engine, never by exiting the JVM.
      */
     private void handleHeroDefeat(Hero hero) {
-        System.out.println(hero.getName() + " has been defeated!");
-
         // Check if this is Legends of Valor (respawn mechanic)
-        if (world instanceof ValorWorld) {
-            handleValorHeroDefeat(hero);
-        } else {
-            // Monsters & Heroes - hero stays defeated
-            System.out.println(hero.getName() + " is out of the battle!");
-            
-            // Check if all heroes are defeated
-            if (party != null) {
-                boolean allDefeated = true;
-                for (Hero h : party.getHeroes()) {
-                    if (h.isAlive()) {
-                        allDefeated = false;
-                        break;
-                    }
-                }
+        boolean respawns = world instanceof ValorWorld;
+        if (context.isPublishing()) {
+            // The battle engine ends the battle once the whole party has fallen
+            boolean partyDefeated = !respawns && party != null && party.allFainted();
+            context.publish(new CombatEvent.Slain(true, context.getDisplayId(hero),
+                hero.getName(), respawns, partyDefeated));
+        }
 
-                if (allDefeated) {
-                    System.out.println("\n=== GAME OVER ===");
-                    System.out.println("All heroes have been defeated!");
-                    System.exit(0);
-                }
-            }
+        if (respawns) {
+            handleValorHeroDefeat(hero);
         }
+        // Monsters & Heroes - hero stays defeated
     }
 
     /**
      * Handle hero defeat in Legends of Valor - respawn at nexus.
+     * The hero only leaves the cell it fell on once a free Nexus cell is found.
      */
     private void handleValorHeroDefeat(Hero hero) {
-        System.out.println(hero.getName() + " will respawn at their Nexus.");
-
-        // Remove hero from current tile
-        if (world != null) {
-            Tile currentTile = world.getTile(hero.getRow(), hero.getCol());
-            if (currentTile != null) {
-                currentTile.removeHero();
-            }
-        }
+        int fallenRow = hero.getRow();
+        int fallenCol = hero.getCol();
 
         // Respawn hero
         hero.respawnAtNexus();
 
-        // Get hero's lane and respawn at bottom nexus
+        // Respawn on the hero's own spawn cell of the bottom nexus
         int laneIndex = hero.getLaneIndex();
-        int[] laneCols = {0, 3, 6};
-        int respawnRow = ((ValorWorld) world).getSize() - 1; // Bottom row
-        int respawnCol = laneCols[laneIndex];
+        int respawnRow = hero.getSpawnRow();
+        int respawnCol = hero.getSpawnCol();
 
         // Place hero at nexus
         if (world != null) {
+            respawnCol = findRespawnCol(hero, respawnRow, respawnCol);
+            if (respawnCol < 0) {
+                // Every Nexus cell is taken; stay on the map where the hero fell
+                hero.setPosition(fallenRow, fallenCol);
+                if (context.isPublishing()) {
+                    context.publish(new CombatEvent.Respawned(hero.getName(), false, laneIndex,
+                        0, 0, 0, 0, 0));
+                }
+                return;
+            }
+
+            // Remove hero from the cell it fell on, keeping its display id
+            int heroId = 0;
+            Tile fallenTile = world.getTile(fallenRow, fallenCol);
+            if (fallenTile != null) {
+                heroId = fallenTile.getHeroId();
+                fallenTile.removeHero();
+            }
+
             Tile nexusTile = world.getTile(respawnRow, respawnCol);
-            if (nexusTile != null && nexusTile.isAccessible()) {
-                nexusTile.setHero(hero, laneIndex + 1);
-                hero.setPosition(respawnRow, respawnCol);
-
-                // Apply terrain buff for nexus tile
-                hero.applyTerrainBuff(nexusTile.getType());
-
-                System.out.println(hero.getName() + " respawned at Lane " + (laneIndex + 1) + 
-                    " Nexus with full HP/MP.");
-                System.out.println("HP: " + hero.getHp() + "/" + hero.getMaxHp() + 
-                    " | MP: " + hero.getMana() + "/" + hero.getMaxMana() + 
-                    " | Gold: " + hero.getGold());
-            } else {
-                System.out.println("ERROR: Could not respawn " + hero.getName() + 
-                    " - nexus tile not available!");
+            nexusTile.setHero(hero, heroId > 0 ? heroId : laneIndex + 1);
+            hero.setPosition(respawnRow, respawnCol);
+
+            // Apply terrain buff for nexus tile
+            hero.applyTerrainBuff(nexusTile.getType(), context.getOutput());
+
+            if (context.isPublishing()) {
+                int lane = ((ValorWorld) world).getLayout().laneOf(respawnCol);
+                context.publish(new CombatEvent.Respawned(hero.getName(), true, lane,
+                    hero.getHp(), hero.getMaxHp(), hero.getMana(), hero.getMaxMana(), hero.getGold()));
             }
         }
     }
 
+    /**
+     * Nexus column the hero can respawn on: its spawn cell, else a free cell of
+     * its own lane's Nexus, else of the other lanes', which a party with more
+     * heroes than lanes may need. Returns -1 if every cell is taken.
+     */
+    private int findRespawnCol(Hero hero, int row, int spawnCol) {
+        if (canRespawnOn(hero, row, spawnCol)) {
+            return spawnCol;
+        }
+        LaneLayout layout = ((ValorWorld) world).getLayout();
+        int ownLane = layout.laneOf(spawnCol);
+        for (int i = 0; i < layout.getLaneCount(); i++) {
+            int lane = (ownLane + i) % layout.getLaneCount();
+            for (int c = layout.laneStartCol(lane); c <= layout.laneEndCol(lane); c++) {
+                if (canRespawnOn(hero, row, c)) {
+                    return c;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Each cell holds one hero; the fallen hero's own cell counts as free.
+     */
+    private boolean canRespawnOn(Hero hero, int row, int col) {
+        Tile tile = world.getTile(row, col);
+        return tile != null && tile.isAccessible() && (!tile.hasHero() || tile.getHero() == hero);
+    }
+
     /**
      * Get the world instance.
      */
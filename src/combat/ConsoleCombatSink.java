@@ -0,0 +1,17 @@
+package combat;
+
+/**
+ * Prints each event's text to standard output as it happens, the way
+ * combat has always been reported during play.
+ */
+public final class ConsoleCombatSink implements CombatEventSink {
+    public static final ConsoleCombatSink INSTANCE = new ConsoleCombatSink();
+
+    private ConsoleCombatSink() {
+    }
+
+    @Override
+    public void publish(CombatEvent event) {
+        System.out.println(event.format());
+    }
+}
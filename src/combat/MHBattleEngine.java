@@ -4,12 +4,17 @@ import characters.Hero;
 import characters.Monster;
 import characters.MonsterFactory;
 import characters.Party;
+import characters.SpawnProfile;
+import data.CatalogSnapshot;
+import data.GameDatabase;
 import items.Spell;
-import util.InputHelper;
+import util.InputSource;
 import world.World;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Handles turn-based combat for Monsters and Heroes game mode.
@@ -18,9 +23,31 @@ import java.util.List;
 public class MHBattleEngine extends BattleEngine {
 
     private boolean quitRequested = false;
+    private final CatalogSnapshot catalog;
 
     public MHBattleEngine(World world, Party party) {
         super(world, party, new ArrayList<>());
+        this.catalog = GameDatabase.getInstance().getSnapshot();
+    }
+
+    public MHBattleEngine(World world, Party party, InputSource input) {
+        this(world, party, input, GameDatabase.getInstance().getSnapshot());
+    }
+
+    /**
+     * Create an engine that spawns monsters from the given data snapshot.
+     */
+    public MHBattleEngine(World world, Party party, InputSource input, CatalogSnapshot catalog) {
+        super(world, party, new ArrayList<>(), input);
+        this.catalog = catalog;
+    }
+
+    /**
+     * Create an engine whose spawns, target picks and dodge rolls all draw from the given stream.
+     */
+    public MHBattleEngine(World world, Party party, InputSource input, CatalogSnapshot catalog, Random random) {
+        super(world, party, new ArrayList<>(), input, random);
+        this.catalog = catalog;
     }
 
     /**
@@ -32,34 +59,39 @@ public class MHBattleEngine extends BattleEngine {
 
     /**
      * Start a battle between the party and monsters.
+     * Returns how the battle ended; a defeat is reported here rather than ending the program.
      */
-    public boolean startBattle(Party party) {
+    public BattleOutcome startBattle(Party party) {
         this.party = party;
-        this.monsters = MonsterFactory.createMonsterGroup(party.size(), party.getHighestLevel());
-        this.combatExecutor = new CombatExecutor(null, party, monsters);
+        this.monsters = MonsterFactory.createMonsterGroup(catalog, SpawnProfile.NEAR_LEVEL,
+            party.size(), party.getHighestLevel(), random);
+        // The new executor keeps printing where the last one did
+        PrintStream output = out();
+        this.combatExecutor = new CombatExecutor(null, party, monsters, random, eventSink);
+        combatExecutor.setOutput(output);
         this.quitRequested = false;
 
-        System.out.println("\n=== BATTLE COMMENCES! ===");
-        System.out.println("Monsters emerge from the shadows to challenge your party!\n");
+        out().println("\n=== BATTLE COMMENCES! ===");
+        out().println("Monsters emerge from the shadows to challenge your party!\n");
         displayBattleStatus();
 
         while (!isBattleOver() && !quitRequested) {
             executeHeroTurn();
 
             if (quitRequested) {
-                return false;
+                return BattleOutcome.QUIT;
             }
 
             if (monsters.isEmpty()) {
                 handleVictory();
-                return true;
+                return BattleOutcome.VICTORY;
             }
 
             executeMonsterTurn();
 
             if (party.allFainted()) {
                 handleDefeat();
-                return false;
+                return BattleOutcome.DEFEAT;
             }
 
             // Heroes recover at end of round
@@ -71,7 +103,10 @@ public class MHBattleEngine extends BattleEngine {
             displayBattleStatus();
         }
 
-        return !party.allFainted() && !quitRequested;
+        if (quitRequested) {
+            return BattleOutcome.QUIT;
+        }
+        return party.allFainted() ? BattleOutcome.DEFEAT : BattleOutcome.VICTORY;
     }
 
     /**
@@ -90,20 +125,20 @@ public class MHBattleEngine extends BattleEngine {
             boolean actionTaken = false;
             while (!actionTaken && !quitRequested) {
                 displayCombatMenu(hero);
-                System.out.println("Q) Quit Game");
-                char input = Character.toLowerCase(InputHelper.readChar("Choice: "));
+                out().println("Q) Quit Game");
+                char key = Character.toLowerCase(input.readChar("Choice: "));
 
-                if (input == 'q') {
+                if (key == 'q') {
                     quitRequested = true;
-                    System.out.println("\nQuitting game...");
+                    out().println("\nQuitting game...");
                     return;
                 }
 
-                int choice = input - '0'; // Convert char to int
+                int choice = key - '0'; // Convert char to int
                 if (choice >= 1 && choice <= 6) {
                     actionTaken = processHeroAction(hero, choice);
                 } else {
-                    System.out.println("Invalid choice. Enter 1-6 or Q to quit.");
+                    out().println("Invalid choice. Enter 1-6 or Q to quit.");
                 }
 
                 if (monsters.isEmpty()) {
@@ -117,7 +152,7 @@ public class MHBattleEngine extends BattleEngine {
      * Execute monster turn - each monster attacks a random hero.
      */
     private void executeMonsterTurn() {
-        System.out.println("\n--- Monsters' Turn ---");
+        out().println("\n--- Monsters' Turn ---");
 
         for (Monster monster : new ArrayList<>(monsters)) {
             if (monster.isFainted()) {
@@ -158,7 +193,7 @@ public class MHBattleEngine extends BattleEngine {
                 displayBattleStatus();
                 return false;
             case 6:
-                System.out.println(hero.getName() + " waits and observes...");
+                out().println(hero.getName() + " waits and observes...");
                 return true;
             default:
                 return false;
@@ -186,7 +221,7 @@ public class MHBattleEngine extends BattleEngine {
         }
 
         if (hero.getMana() < spell.getManaCost()) {
-            System.out.println("Insufficient mana! Need " + spell.getManaCost() +
+            out().println("Insufficient mana! Need " + spell.getManaCost() +
                     " MP, have " + hero.getMana() + " MP.");
             return false;
         }
@@ -203,16 +238,16 @@ public class MHBattleEngine extends BattleEngine {
      * Display current battle status.
      */
     private void displayBattleStatus() {
-        System.out.println("\n=== YOUR PARTY ===");
+        out().println("\n=== YOUR PARTY ===");
         for (Hero hero : party.getHeroes()) {
             String status = hero.isFainted() ? "FAINTED" : "FIGHTING";
-            System.out.println(hero.getName() + " | HP: " + hero.getHp() +
+            out().println(hero.getName() + " | HP: " + hero.getHp() +
                     " | MP: " + hero.getMana() + " | Status: " + status);
         }
 
-        System.out.println("\n=== ENEMIES ===");
+        out().println("\n=== ENEMIES ===");
         for (Monster monster : monsters) {
-            System.out.println(monster.getName() + " | Level: " + monster.getLevel() +
+            out().println(monster.getName() + " | Level: " + monster.getLevel() +
                     " | HP: " + monster.getHp() + " | Damage: " + monster.getBaseDamage());
         }
     }
@@ -228,8 +263,8 @@ public class MHBattleEngine extends BattleEngine {
      * Handle victory.
      */
     private void handleVictory() {
-        System.out.println("\n=== VICTORY! ===");
-        System.out.println("All monsters have been defeated!");
+        out().println("\n=== VICTORY! ===");
+        out().println("All monsters have been defeated!");
 
         int monsterCount = party.size();
 
@@ -239,9 +274,9 @@ public class MHBattleEngine extends BattleEngine {
                 int expGain = monsterCount * 2;
 
                 hero.addGold(goldGain);
-                hero.addExperience(expGain);
+                hero.addExperience(expGain, out());
 
-                System.out.println(hero.getName() + " gained " + goldGain +
+                out().println(hero.getName() + " gained " + goldGain +
                         " gold and " + expGain + " experience.");
             } else {
                 hero.revive();
@@ -253,8 +288,8 @@ public class MHBattleEngine extends BattleEngine {
      * Handle defeat.
      */
     private void handleDefeat() {
-        System.out.println("\n=== DEFEAT ===");
-        System.out.println("Your party has fallen in battle...");
-        System.out.println("GAME OVER");
+        out().println("\n=== DEFEAT ===");
+        out().println("Your party has fallen in battle...");
+        out().println("GAME OVER");
     }
 }
@@ -0,0 +1,57 @@
+package combat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the most recent events in memory, overwriting the oldest once full.
+ * Events are stored as they are, so nothing is formatted unless asked for.
+ */
+public final class RingBufferCombatSink implements CombatEventSink {
+    private final CombatEvent[] events;
+    private int next;
+    private int size;
+
+    public RingBufferCombatSink(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.events = new CombatEvent[capacity];
+    }
+
+    @Override
+    public synchronized void publish(CombatEvent event) {
+        events[next] = event;
+        next = (next + 1) % events.length;
+        if (size < events.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Events currently held, oldest first.
+     */
+    public synchronized List<CombatEvent> snapshot() {
+        List<CombatEvent> result = new ArrayList<>(size);
+        int start = (next - size + events.length) % events.length;
+        for (int i = 0; i < size; i++) {
+            result.add(events[(start + i) % events.length]);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return events.length;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(events, null);
+        next = 0;
+        size = 0;
+    }
+}
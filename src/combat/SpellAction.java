@@ -4,45 +4,43 @@ import characters.Character;
 import characters.Hero;
 import characters.Monster;
 import items.Spell;
-import world.World;
-import world.Tile;
-import world.TileType;
-
-import java.util.Random;
 
 /**
  * Magical spell attack action.
- * Only heroes can cast spells.
+ * Only heroes can cast spells. Stateless; the spell being cast comes from the
+ * context, so use the shared INSTANCE.
  */
-public class SpellAction implements CombatAction {
-    private static final double TERRAIN_BONUS = 0.10;
-    private Random random;
-    private World world;
-    private Spell spell;
+public final class SpellAction implements CombatAction {
+    public static final SpellAction INSTANCE = new SpellAction();
 
-    public SpellAction(Spell spell, World world) {
-        this.spell = spell;
-        this.world = world;
-        this.random = new Random();
+    private SpellAction() {
     }
 
     @Override
-    public boolean execute(Character attacker, Character defender) {
+    public boolean execute(CombatContext context, Character attacker, Character defender) {
+        Spell spell = context.getSpell();
+        if (spell == null) {
+            if (context.isPublishing()) {
+                context.publish(new CombatEvent.SpellFailed(CombatEvent.SpellFailed.Reason.NO_SPELL));
+            }
+            return false;
+        }
+
         if (!(attacker instanceof Hero)) {
-            System.out.println("Only heroes can cast spells!");
+            if (context.isPublishing()) {
+                context.publish(new CombatEvent.SpellFailed(CombatEvent.SpellFailed.Reason.NOT_A_HERO));
+            }
             return false;
         }
 
         Hero hero = (Hero) attacker;
 
-        // Get character IDs
-        String heroId = getCharacterId(hero);
-        String defenderId = getCharacterId(defender);
-
         // Check mana
         if (hero.getMana() < spell.getManaCost()) {
-            System.out.println(heroId + ": Insufficient mana! Need " + spell.getManaCost() + 
-                " MP, have " + hero.getMana() + " MP.");
+            if (context.isPublishing()) {
+                context.publish(new CombatEvent.SpellFailed(context.getDisplayId(hero),
+                    spell.getManaCost(), hero.getMana()));
+            }
             return false;
         }
 
@@ -52,9 +50,11 @@ public class SpellAction implements CombatAction {
         double dodgeChance = defender instanceof Monster ? 
             ((Monster) defender).getDodgeChance() : 0.0;
             
-        if (random.nextDouble() < dodgeChance) {
-            System.out.println(defenderId + ": " + defender.getName() + 
-                " evades " + heroId + ": " + hero.getName() + "'s magical assault!");
+        if (context.getRandom().nextDouble() < dodgeChance) {
+            if (context.isPublishing()) {
+                context.publish(new CombatEvent.Dodged(true, context.getDisplayId(hero), hero.getName(),
+                    context.getDisplayId(defender), defender.getName(), true));
+            }
             hero.getInventory().removeItem(spell);
             return true;
         }
@@ -65,12 +65,14 @@ public class SpellAction implements CombatAction {
 
         // Apply damage
         defender.takeDamage(damage);
-        System.out.println(heroId + ": " + hero.getName() + " casts " + spell.getName() + 
-            " on " + defenderId + ": " + defender.getName() + " for " + damage + " damage!");
+        if (context.isPublishing()) {
+            context.publish(new CombatEvent.SpellCast(context.getDisplayId(hero), hero.getName(),
+                spell.getName(), context.getDisplayId(defender), defender.getName(), damage));
+        }
 
         // Apply spell effect if target is a monster
         if (defender instanceof Monster) {
-            ((Monster) defender).applySpellEffect(spell.getSpellType().toString());
+            ((Monster) defender).applySpellEffect(spell.getSpellType().toString(), context.getOutput());
         }
 
         // Remove spell from inventory
@@ -79,32 +81,8 @@ public class SpellAction implements CombatAction {
         return true;
     }
 
-    /**
-     * Get character ID string (H1, H2, M1, M2, etc.)
-     */
-    private String getCharacterId(Character character) {
-        if (world == null) {
-            return "";
-        }
-        
-        Tile tile = world.getTile(character.getRow(), character.getCol());
-        if (tile == null) {
-            return "";
-        }
-        
-        if (character instanceof Hero) {
-            int id = tile.getHeroId();
-            return id > 0 ? "H" + id : "H";
-        } else if (character instanceof Monster) {
-            int id = tile.getMonsterId();
-            return id > 0 ? "M" + id : "M";
-        }
-        
-        return "";
-    }
-    
     @Override
     public String getActionName() {
-        return "Cast " + spell.getName();
+        return "Cast Spell";
     }
 }
\ No newline at end of file
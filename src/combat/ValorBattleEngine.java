@@ -8,9 +8,11 @@ import items.Spell;
 import world.Tile;
 import world.TileType;
 import world.ValorWorld;
+import util.InputSource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Handles combat mechanics for Legends of Valor.
@@ -22,6 +24,15 @@ public class ValorBattleEngine extends BattleEngine {
         super(world, party, monsters);
     }
 
+    public ValorBattleEngine(ValorWorld world, Party party, List<Monster> monsters, InputSource input) {
+        super(world, party, monsters, input);
+    }
+
+    public ValorBattleEngine(ValorWorld world, Party party, List<Monster> monsters, InputSource input,
+            Random random) {
+        super(world, party, monsters, input, random);
+    }
+
     /**
      * Get monsters within attack range of a hero.
      */
@@ -66,7 +77,7 @@ public class ValorBattleEngine extends BattleEngine {
      */
     public boolean heroCastSpell(Hero hero, Spell spell, Monster target) {
         if (hero.getMana() < spell.getManaCost()) {
-            System.out.println("Insufficient mana! Need " + spell.getManaCost() + 
+            out().println("Insufficient mana! Need " + spell.getManaCost() + 
                 " MP, have " + hero.getMana() + " MP.");
             return false;
         }
@@ -92,17 +103,15 @@ public void executeMonsterTurn(Monster monster) {
     
     if (canMoveForward) {
         // No hero blocking forward - advance toward Nexus
-        boolean moved = ((ValorWorld)world).moveMonster(monster);
+        boolean moved = ((ValorWorld)world).moveMonster(monster, out());
         if (moved) {
-            System.out.println("M" + monsterId + ": " + monster.getName() + 
-                " advances south toward the Hero Nexus!");
+            publishMove(CombatEvent.MonsterMoved.Kind.ADVANCED, monster, monsterId, null, 0);
             
             // Check if monster reached hero Nexus (win condition)
-            if (monster.getRow() == ((ValorWorld)world).getSize() - 1) {
+            if (monster.getRow() == ((ValorWorld)world).getLayout().getHeroNexusRow()) {
                 Tile tile = world.getTile(monster.getRow(), monster.getCol());
                 if (tile != null && tile.getType() == TileType.NEXUS) {
-                    System.out.println("\n⚠️  M" + monsterId + ": " + monster.getName() + 
-                        " has breached the Hero Nexus!");
+                    publishMove(CombatEvent.MonsterMoved.Kind.BREACHED_NEXUS, monster, monsterId, null, 0);
                 }
             }
         } else {
@@ -130,27 +139,36 @@ public void executeMonsterTurn(Monster monster) {
                 Tile heroTile = world.getTile(target.getRow(), target.getCol());
                 int heroId = heroTile != null ? heroTile.getHeroId() : 0;
                 
-                System.out.println("M" + monsterId + ": " + monster.getName() + 
-                    " must fight through H" + heroId + " (" + target.getName() + ")!");
+                publishMove(CombatEvent.MonsterMoved.Kind.ENGAGED, monster, monsterId, target, heroId);
                 monsterAttack(monster, target);
             } else {
                 // Heroes nearby but not blocking - try to move anyway
-                boolean moved = ((ValorWorld)world).moveMonster(monster);
+                boolean moved = ((ValorWorld)world).moveMonster(monster, out());
                 if (!moved) {
                     // Can't move, attack anyway
                     attemptMonsterCombat(monster, monsterId);
                 } else {
-                    System.out.println("M" + monsterId + ": " + monster.getName() + " advances south.");
+                    publishMove(CombatEvent.MonsterMoved.Kind.SLIPPED_PAST, monster, monsterId, null, 0);
                 }
             }
         } else {
             // No heroes in range but can't move forward - stuck
-            System.out.println("M" + monsterId + ": " + monster.getName() + 
-                " is stuck and cannot advance.");
+            publishMove(CombatEvent.MonsterMoved.Kind.STUCK, monster, monsterId, null, 0);
         }
     }
 }
 
+/**
+ * Report a monster's turn, creating the event only if someone is listening.
+ */
+private void publishMove(CombatEvent.MonsterMoved.Kind kind, Monster monster, int monsterId,
+        Hero hero, int heroId) {
+    if (eventSink.isEnabled()) {
+        eventSink.publish(new CombatEvent.MonsterMoved(kind, monsterId, monster.getName(),
+            heroId, hero != null ? hero.getName() : null));
+    }
+}
+
 /**
  * Attempt monster combat if movement failed.
  */
@@ -177,15 +195,11 @@ private void attemptMonsterCombat(Monster monster, int monsterId) {
         }
         
         // Check if hero is in the same row in the lane (blocking sideways)
-        int laneIndex = col / 3;
-        int laneCol1 = laneIndex * 3;
-        int laneCol2 = laneIndex * 3 + 1;
+        ValorWorld valorWorld = (ValorWorld) world;
+        int laneIndex = valorWorld.getLayout().laneOf(col);
         
-        // Check both columns of the lane at current row
-        Tile tile1 = world.getTile(monster.getRow(), laneCol1);
-        Tile tile2 = world.getTile(monster.getRow(), laneCol2);
-        
-        if ((tile1 != null && tile1.hasHero()) || (tile2 != null && tile2.hasHero())) {
+        // One bit test covers every column of the lane at the current row
+        if (valorWorld.hasHeroInLane(monster.getRow(), laneIndex)) {
             return false; // Hero is blocking at current row level
         }
         
@@ -198,10 +212,7 @@ private void attemptMonsterCombat(Monster monster, int monsterId) {
      */
     private boolean isHeroBlockingPath(Monster monster, Hero hero) {
         // Hero must be in same lane
-        int monsterLane = monster.getCol() / 3;
-        int heroLane = hero.getCol() / 3;
-        
-        if (monsterLane != heroLane) {
+        if (!((ValorWorld) world).getLayout().sameLane(monster.getCol(), hero.getCol())) {
             return false;
         }
         
@@ -218,11 +229,11 @@ private void attemptMonsterCombat(Monster monster, int monsterId) {
             if (hero.isAlive() && hero.getRow() == 0) {
                 Tile tile = world.getTile(hero.getRow(), hero.getCol());
                 if (tile != null && tile.getType() == TileType.NEXUS) {
-                    System.out.println("\n" + "===========================================================");
-                    System.out.println("   VICTORY! ");
-                    System.out.println("  " + hero.getName() + " has reached the Monster Nexus!");
-                    System.out.println("  The heroes have won the battle!");
-                    System.out.println("===========================================================");
+                    out().println("\n" + "===========================================================");
+                    out().println("   VICTORY! ");
+                    out().println("  " + hero.getName() + " has reached the Monster Nexus!");
+                    out().println("  The heroes have won the battle!");
+                    out().println("===========================================================");
                     return true;
                 }
             }
@@ -234,17 +245,17 @@ private void attemptMonsterCombat(Monster monster, int monsterId) {
      * Check if a monster has reached the hero Nexus (lose condition).
      */
     public boolean checkMonsterVictory() {
-        int heroNexusRow = ((ValorWorld)world).getSize() - 1;
+        int heroNexusRow = ((ValorWorld)world).getLayout().getHeroNexusRow();
         
         for (Monster monster : monsters) {
             if (monster.isAlive() && monster.getRow() == heroNexusRow) {
                 Tile tile = world.getTile(monster.getRow(), monster.getCol());
                 if (tile != null && tile.getType() == TileType.NEXUS) {
-                    System.out.println("\n" + "===========================================================");
-                    System.out.println("    DEFEAT! ");
-                    System.out.println("  " + monster.getName() + " has reached the Hero Nexus!");
-                    System.out.println("  The monsters have won. Game Over!");
-                    System.out.println("===========================================================");
+                    out().println("\n" + "===========================================================");
+                    out().println("    DEFEAT! ");
+                    out().println("  " + monster.getName() + " has reached the Hero Nexus!");
+                    out().println("  The monsters have won. Game Over!");
+                    out().println("===========================================================");
                     return true;
                 }
             }
@@ -0,0 +1,19 @@
+package data;
+
+import data.dataloader.BinaryCatalog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line tool that precompiles the text catalogs into a binary catalog.
+ * Usage: CatalogCompiler [output path]
+ */
+public class CatalogCompiler {
+    public static void main(String[] args) throws IOException {
+        Path target = args.length > 0 ? Paths.get(args[0]) : BinaryCatalog.defaultPath();
+        GameDatabase.compileBinaryCatalog(target);
+        System.out.println("Binary catalog written to " + target);
+    }
+}
@@ -0,0 +1,94 @@
+package data;
+
+import characters.HeroTemplate;
+import characters.HeroType;
+import characters.MonsterTemplate;
+import characters.MonsterType;
+import data.dataloader.*;
+import items.Armor;
+import items.Potion;
+import items.Spell;
+import items.SpellType;
+import items.Weapon;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Describes one data file and how to load it.
+ * Typed constants let catalog snapshots store and replace each file's records
+ * without unchecked casts leaking to callers.
+ */
+public final class CatalogFile<T> {
+    public static final CatalogFile<HeroTemplate> WARRIORS =
+        new CatalogFile<>("Warriors.txt", () -> new HeroDataLoader(HeroType.WARRIOR));
+    public static final CatalogFile<HeroTemplate> SORCERERS =
+        new CatalogFile<>("Sorcerers.txt", () -> new HeroDataLoader(HeroType.SORCERER));
+    public static final CatalogFile<HeroTemplate> PALADINS =
+        new CatalogFile<>("Paladins.txt", () -> new HeroDataLoader(HeroType.PALADIN));
+    public static final CatalogFile<MonsterTemplate> DRAGONS =
+        new CatalogFile<>("Dragons.txt", () -> new MonsterDataLoader(MonsterType.DRAGON));
+    public static final CatalogFile<MonsterTemplate> SPIRITS =
+        new CatalogFile<>("Spirits.txt", () -> new MonsterDataLoader(MonsterType.SPIRIT));
+    public static final CatalogFile<MonsterTemplate> EXOSKELETONS =
+        new CatalogFile<>("Exoskeletons.txt", () -> new MonsterDataLoader(MonsterType.EXOSKELETON));
+    public static final CatalogFile<Weapon> WEAPONRY =
+        new CatalogFile<>("Weaponry.txt", WeaponDataLoader::new);
+    public static final CatalogFile<Armor> ARMORY =
+        new CatalogFile<>("Armory.txt", ArmorDataLoader::new);
+    public static final CatalogFile<Potion> POTIONS =
+        new CatalogFile<>("Potions.txt", PotionDataLoader::new);
+    public static final CatalogFile<Spell> FIRE_SPELLS =
+        new CatalogFile<>("FireSpells.txt", () -> new SpellDataLoader(SpellType.FIRE));
+    public static final CatalogFile<Spell> ICE_SPELLS =
+        new CatalogFile<>("IceSpells.txt", () -> new SpellDataLoader(SpellType.ICE));
+    public static final CatalogFile<Spell> LIGHTNING_SPELLS =
+        new CatalogFile<>("LightningSpells.txt", () -> new SpellDataLoader(SpellType.LIGHTNING));
+
+    /**
+     * Every data file, in the order records are combined.
+     */
+    public static final List<CatalogFile<?>> ALL = Collections.unmodifiableList(Arrays.asList(
+        WARRIORS, SORCERERS, PALADINS,
+        DRAGONS, SPIRITS, EXOSKELETONS,
+        WEAPONRY, ARMORY, POTIONS,
+        FIRE_SPELLS, ICE_SPELLS, LIGHTNING_SPELLS));
+
+    private final String filename;
+    private final Supplier<DataLoader<T>> loaderFactory;
+
+    private CatalogFile(String filename, Supplier<DataLoader<T>> loaderFactory) {
+        this.filename = filename;
+        this.loaderFactory = loaderFactory;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Create a fresh loader; loaders keep per-file state, so each load gets its own.
+     */
+    public DataLoader<T> newLoader() {
+        return loaderFactory.get();
+    }
+
+    /**
+     * Find the catalog file with the given name, or null if it is not a data file.
+     */
+    public static CatalogFile<?> forFilename(String filename) {
+        for (CatalogFile<?> file : ALL) {
+            if (file.filename.equals(filename)) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return filename;
+    }
+}
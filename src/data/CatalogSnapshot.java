@@ -0,0 +1,318 @@
+package data;
+
+import characters.HeroTemplate;
+import characters.HeroType;
+import characters.MonsterTemplate;
+import characters.MonsterSampler;
+import characters.MonsterType;
+import characters.SpawnProfile;
+import data.dataloader.ParseDiagnostics;
+import items.Armor;
+import items.Item;
+import items.Potion;
+import items.Spell;
+import items.Weapon;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Immutable version of all loaded game data.
+ * A snapshot is never modified after construction; reloading builds a new one,
+ * so readers can keep using a snapshot safely while it is being replaced.
+ * Each file's list is the one its loader filled, wrapped rather than copied.
+ * The combined hero, monster and spell lists and the per-type lists are views
+ * over those same lists, so every record is held in exactly one list.
+ * Name, type, price and level indexes are built at the same time, so lookups
+ * never scan the catalogs.
+ * Heroes and monsters are immutable templates; items are shared catalog
+ * objects and must not be mutated.
+ */
+public final class CatalogSnapshot {
+    private final long version;
+    private final Map<CatalogFile<?>, List<?>> sections;
+    private final List<HeroTemplate> heroes;
+    private final List<MonsterTemplate> monsters;
+    private final List<Spell> spells;
+    private final ParseDiagnostics diagnostics;
+
+    // Secondary indexes
+    private final Map<String, HeroTemplate> heroesByName;
+    private final Map<String, MonsterTemplate> monstersByName;
+    private final Map<String, Item> itemsByName;
+    private final Map<HeroType, List<HeroTemplate>> heroesByType;
+    private final Map<MonsterType, List<MonsterTemplate>> monstersByType;
+    private final Map<CatalogFile<?>, ItemIndex<?>> itemIndexes;
+    private final ItemIndex<Spell> spellIndex;
+    // Built on first use per profile; derived data only, so the snapshot stays immutable
+    private final Map<SpawnProfile, MonsterSampler> samplers = new ConcurrentHashMap<>();
+
+    /**
+     * The snapshot takes ownership of the section lists; callers must not
+     * modify them afterwards.
+     */
+    CatalogSnapshot(long version, Map<CatalogFile<?>, List<?>> sections, ParseDiagnostics diagnostics) {
+        this(version, diagnostics, freeze(sections));
+    }
+
+    private CatalogSnapshot(long version, ParseDiagnostics diagnostics, Map<CatalogFile<?>, List<?>> frozen) {
+        this.version = version;
+        this.sections = frozen;
+        this.heroes = combine(CatalogFile.WARRIORS, CatalogFile.SORCERERS, CatalogFile.PALADINS);
+        this.monsters = combine(CatalogFile.DRAGONS, CatalogFile.SPIRITS, CatalogFile.EXOSKELETONS);
+        this.spells = combine(CatalogFile.FIRE_SPELLS, CatalogFile.ICE_SPELLS, CatalogFile.LIGHTNING_SPELLS);
+        this.diagnostics = diagnostics;
+
+        this.heroesByName = indexByName(heroes, HeroTemplate::getName);
+        this.monstersByName = indexByName(monsters, MonsterTemplate::getName);
+        this.itemsByName = new HashMap<>();
+        this.itemIndexes = new HashMap<>();
+        for (CatalogFile<? extends Item> file : Arrays.asList(CatalogFile.WEAPONRY, CatalogFile.ARMORY,
+                CatalogFile.POTIONS, CatalogFile.FIRE_SPELLS, CatalogFile.ICE_SPELLS, CatalogFile.LIGHTNING_SPELLS)) {
+            List<? extends Item> items = get(file);
+            itemIndexes.put(file, new ItemIndex<>(items));
+            for (Item item : items) {
+                itemsByName.putIfAbsent(nameKey(item.getName()), item);
+            }
+        }
+        this.spellIndex = new ItemIndex<>(spells);
+
+        // Each file's loader stamps its own type on every record, so a file's list is that type's list
+        this.heroesByType = new EnumMap<>(HeroType.class);
+        heroesByType.put(HeroType.WARRIOR, get(CatalogFile.WARRIORS));
+        heroesByType.put(HeroType.SORCERER, get(CatalogFile.SORCERERS));
+        heroesByType.put(HeroType.PALADIN, get(CatalogFile.PALADINS));
+
+        this.monstersByType = new EnumMap<>(MonsterType.class);
+        monstersByType.put(MonsterType.DRAGON, get(CatalogFile.DRAGONS));
+        monstersByType.put(MonsterType.SPIRIT, get(CatalogFile.SPIRITS));
+        monstersByType.put(MonsterType.EXOSKELETON, get(CatalogFile.EXOSKELETONS));
+    }
+
+    /**
+     * Map names (case-insensitive) to the first record with that name.
+     */
+    private static <T> Map<String, T> indexByName(List<T> records, Function<T, String> name) {
+        Map<String, T> index = new HashMap<>();
+        for (T record : records) {
+            index.putIfAbsent(nameKey(name.apply(record)), record);
+        }
+        return index;
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Return a new snapshot with one file's records replaced.
+     * The lists of all other files are shared with this snapshot; the new
+     * snapshot takes ownership of items.
+     */
+    <T> CatalogSnapshot withSection(CatalogFile<T> file, List<T> items, long newVersion,
+            ParseDiagnostics newDiagnostics) {
+        Map<CatalogFile<?>, List<?>> updated = new HashMap<>(sections);
+        updated.put(file, Collections.unmodifiableList(items));
+        return new CatalogSnapshot(newVersion, newDiagnostics, updated);
+    }
+
+    private static Map<CatalogFile<?>, List<?>> freeze(Map<CatalogFile<?>, List<?>> sections) {
+        Map<CatalogFile<?>, List<?>> frozen = new HashMap<>();
+        for (CatalogFile<?> file : CatalogFile.ALL) {
+            List<?> items = sections.get(file);
+            frozen.put(file, items != null ? Collections.unmodifiableList(items) : Collections.emptyList());
+        }
+        return frozen;
+    }
+
+    /**
+     * Version number, increased every time new data is published.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Records loaded from one data file (unmodifiable).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(CatalogFile<T> file) {
+        return (List<T>) sections.get(file);
+    }
+
+    /**
+     * All heroes of every type (unmodifiable).
+     */
+    public List<HeroTemplate> getHeroes() {
+        return heroes;
+    }
+
+    /**
+     * All monsters of every type (unmodifiable).
+     */
+    public List<MonsterTemplate> getMonsters() {
+        return monsters;
+    }
+
+    public List<Weapon> getWeapons() {
+        return get(CatalogFile.WEAPONRY);
+    }
+
+    public List<Armor> getArmors() {
+        return get(CatalogFile.ARMORY);
+    }
+
+    public List<Potion> getPotions() {
+        return get(CatalogFile.POTIONS);
+    }
+
+    /**
+     * All spells of every type (unmodifiable).
+     */
+    public List<Spell> getSpells() {
+        return spells;
+    }
+
+    public List<Spell> getFireSpells() {
+        return get(CatalogFile.FIRE_SPELLS);
+    }
+
+    public List<Spell> getIceSpells() {
+        return get(CatalogFile.ICE_SPELLS);
+    }
+
+    public List<Spell> getLightningSpells() {
+        return get(CatalogFile.LIGHTNING_SPELLS);
+    }
+
+    /**
+     * Find a hero template by name (case-insensitive), or null if there is none.
+     */
+    public HeroTemplate findHero(String name) {
+        return heroesByName.get(nameKey(name));
+    }
+
+    /**
+     * Find a monster template by name (case-insensitive), or null if there is none.
+     */
+    public MonsterTemplate findMonster(String name) {
+        return monstersByName.get(nameKey(name));
+    }
+
+    /**
+     * Find a weapon, armor, potion or spell by name (case-insensitive), or null if there is none.
+     */
+    public Item findItem(String name) {
+        return itemsByName.get(nameKey(name));
+    }
+
+    /**
+     * Heroes of one type (unmodifiable).
+     */
+    public List<HeroTemplate> getHeroes(HeroType type) {
+        return heroesByType.get(type);
+    }
+
+    /**
+     * Monsters of one type (unmodifiable).
+     */
+    public List<MonsterTemplate> getMonsters(MonsterType type) {
+        return monstersByType.get(type);
+    }
+
+    /**
+     * Price and level index over one item file.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Item> ItemIndex<T> getIndex(CatalogFile<T> file) {
+        ItemIndex<T> index = (ItemIndex<T>) itemIndexes.get(file);
+        if (index == null) {
+            throw new IllegalArgumentException(file + " is not an item catalog");
+        }
+        return index;
+    }
+
+    /**
+     * Price and level index over all spells.
+     */
+    public ItemIndex<Spell> getSpellIndex() {
+        return spellIndex;
+    }
+
+    /**
+     * Weighted, level-aware monster sampler for a spawn profile.
+     */
+    public MonsterSampler getMonsterSampler(SpawnProfile profile) {
+        return samplers.computeIfAbsent(profile, p -> new MonsterSampler(monsters, p));
+    }
+
+    /**
+     * Pick a random monster template, or null if there are none.
+     */
+    public MonsterTemplate getRandomMonster() {
+        return monsters.isEmpty() ? null : monsters.get(ThreadLocalRandom.current().nextInt(monsters.size()));
+    }
+
+    /**
+     * Problems found while parsing the files of this snapshot.
+     */
+    public ParseDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    @SafeVarargs
+    private final <T> List<T> combine(CatalogFile<T>... files) {
+        List<List<T>> parts = new ArrayList<>(files.length);
+        for (CatalogFile<T> file : files) {
+            parts.add(get(file));
+        }
+        return new Concatenation<>(parts);
+    }
+
+    /**
+     * Read-only view of several lists one after another.
+     */
+    private static final class Concatenation<T> extends AbstractList<T> implements RandomAccess {
+        private final List<List<T>> parts;
+        private final int size;
+
+        Concatenation(List<List<T>> parts) {
+            this.parts = parts;
+            int total = 0;
+            for (List<T> part : parts) {
+                total += part.size();
+            }
+            this.size = total;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            }
+            for (List<T> part : parts) {
+                if (index < part.size()) {
+                    return part.get(index);
+                }
+                index -= part.size();
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
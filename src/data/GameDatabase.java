@@ -3,175 +3,423 @@ package data;
 import characters.*;
 import items.*;
 import data.dataloader.*;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Facade class that provides a simple interface to all game data.
- * Uses specialized data loaders internally.
+ * Uses specialized data loaders internally (one per file, run in parallel).
  * Implements Singleton pattern for global access.
+ *
+ * All data lives in an immutable CatalogSnapshot published through an atomic
+ * reference, so concurrent sessions can read without locking while a reload
+ * swaps in a new snapshot. In watch mode, edited data files are re-parsed
+ * individually and published as new snapshot versions.
  */
 public class GameDatabase {
-    private static GameDatabase instance;
-    private Random random;
-
-    // Data loaders (hidden from clients)
-    private HeroDataLoader heroLoader;
-    private MonsterDataLoader monsterLoader;
-    private WeaponDataLoader weaponLoader;
-    private ArmorDataLoader armorLoader;
-    private PotionDataLoader potionLoader;
-    private SpellDataLoader spellLoader;
-
-    // Cached data
-    private List<Hero> allHeroes;
-    private List<Monster> allMonsters;
-    private List<Weapon> weapons;
-    private List<Armor> armors;
-    private List<Potion> potions;
-    private List<Spell> fireSpells;
-    private List<Spell> iceSpells;
-    private List<Spell> lightningSpells;
+    // Editors often save in several writes; wait for them to settle before re-parsing
+    private static final long RELOAD_SETTLE_MILLIS = 200;
+
+    private final AtomicReference<CatalogSnapshot> snapshot;
+    private final AtomicLong versions;
+    // Serializes publishing, so each new snapshot builds on the one before it
+    private final Object reloadLock = new Object();
+    private Thread watcher;
 
     /**
      * Private constructor - Singleton pattern.
      */
     private GameDatabase() {
-        this.random = new Random();
-        initializeLoaders();
-        loadAllData();
+        this.versions = new AtomicLong();
+        this.snapshot = new AtomicReference<>(loadAllData(versions.incrementAndGet()));
+    }
+
+    /**
+     * Lazily created on first use; class initialization makes this thread-safe.
+     */
+    private static class Holder {
+        static final GameDatabase INSTANCE = new GameDatabase();
     }
 
     /**
      * Get singleton instance.
      */
     public static GameDatabase getInstance() {
-        if (instance == null) {
-            instance = new GameDatabase();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Load all game data using the data loaders.
+     * Every file is loaded in parallel with its own loader, so startup takes
+     * about as long as the slowest file. Sections of a fresh binary catalog
+     * are used instead of their text files.
+     */
+    private CatalogSnapshot loadAllData(long version) {
+        System.out.println("Loading game data...");
+
+        BinaryCatalog catalog = BinaryCatalog.open(BinaryCatalog.defaultPath());
+        ParseDiagnostics diagnostics = new ParseDiagnostics();
+
+        Map<CatalogFile<?>, CompletableFuture<? extends List<?>>> pending = new HashMap<>();
+        for (CatalogFile<?> file : CatalogFile.ALL) {
+            pending.put(file, loadAsync(file, catalog, diagnostics));
         }
-        return instance;
+
+        Map<CatalogFile<?>, List<?>> sections = new HashMap<>();
+        for (Map.Entry<CatalogFile<?>, CompletableFuture<? extends List<?>>> entry : pending.entrySet()) {
+            sections.put(entry.getKey(), entry.getValue().join());
+        }
+
+        for (ParseDiagnostics.Issue issue : diagnostics.getIssues()) {
+            System.out.println("Data warning: " + issue);
+        }
+
+        System.out.println("Game data loaded successfully!\n");
+        return new CatalogSnapshot(version, sections, diagnostics);
     }
 
     /**
-     * Initialize all data loaders.
+     * Load one file on the common pool, from the binary catalog when it is up to date.
      */
-    private void initializeLoaders() {
-        this.heroLoader = new HeroDataLoader(null);
-        this.monsterLoader = new MonsterDataLoader(null);
-        this.weaponLoader = new WeaponDataLoader();
-        this.armorLoader = new ArmorDataLoader();
-        this.potionLoader = new PotionDataLoader();
-        this.spellLoader = new SpellDataLoader(null);
+    private static <T> CompletableFuture<List<T>> loadAsync(CatalogFile<T> file,
+            BinaryCatalog catalog, ParseDiagnostics diagnostics) {
+        DataLoader<T> loader = file.newLoader();
+        loader.setDiagnostics(diagnostics);
+        return CompletableFuture.supplyAsync(() -> {
+            // Handed to the snapshot as is; the records are never copied
+            List<T> items = new ArrayList<>();
+            loader.forEach(catalog, file.getFilename(), items::add);
+            return items;
+        });
     }
 
     /**
-     * Load all game data using the data loaders.
+     * Compile every text catalog into a binary catalog at the given path.
+     * The result is picked up automatically on the next startup while the
+     * text files are unchanged.
      */
-    private void loadAllData() {
-        System.out.println("Loading game data...");
+    public static void compileBinaryCatalog(Path target) throws IOException {
+        BinaryCatalog.Writer writer = new BinaryCatalog.Writer();
+        for (CatalogFile<?> file : CatalogFile.ALL) {
+            file.newLoader().compileInto(writer, file.getFilename());
+        }
+        writer.writeTo(target);
+    }
 
-        // Load heroes
-        allHeroes = heroLoader.loadAllHeroes();
+    /**
+     * Get the current data snapshot.
+     * A session that keeps the returned snapshot sees one consistent version
+     * of the data even if it is reloaded meanwhile.
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot.get();
+    }
 
-        // Load monsters
-        allMonsters = monsterLoader.loadAllMonsters();
+    /**
+     * Re-parse a single data file from text and publish a new snapshot in which
+     * only that file's records are replaced.
+     */
+    public <T> void reloadFile(CatalogFile<T> file) {
+        ParseDiagnostics fileDiagnostics = new ParseDiagnostics();
+        DataLoader<T> loader = file.newLoader();
+        loader.setDiagnostics(fileDiagnostics);
+        List<T> items = loader.loadFromFile(file.getFilename());
 
-        // Load items
-        weapons = weaponLoader.loadWeapons();
+        for (ParseDiagnostics.Issue issue : fileDiagnostics.getIssues()) {
+            System.out.println("Data warning: " + issue);
+        }
 
-        armors = armorLoader.loadArmor();
+        CatalogSnapshot updated;
+        synchronized (reloadLock) {
+            CatalogSnapshot current = snapshot.get();
+            updated = current.withSection(file, items, versions.incrementAndGet(),
+                replaceIssues(current.getDiagnostics(), file, fileDiagnostics));
+            snapshot.set(updated);
+        }
+        System.out.println("Reloaded " + file + " (" + items.size() + " records, data version "
+            + updated.getVersion() + ")");
+    }
 
-        potions = potionLoader.loadPotions();
+    /**
+     * Combine the issues of other files with the fresh issues of one reloaded file.
+     */
+    private static ParseDiagnostics replaceIssues(ParseDiagnostics previous, CatalogFile<?> file,
+            ParseDiagnostics fresh) {
+        ParseDiagnostics combined = new ParseDiagnostics();
+        for (ParseDiagnostics.Issue issue : previous.getIssues()) {
+            if (!issue.getFilename().equals(file.getFilename())) {
+                combined.report(issue.getFilename(), issue.getLineNumber(), issue.getField(), issue.getMessage());
+            }
+        }
+        for (ParseDiagnostics.Issue issue : fresh.getIssues()) {
+            combined.report(issue.getFilename(), issue.getLineNumber(), issue.getField(), issue.getMessage());
+        }
+        return combined;
+    }
 
-        // Load spells
-        fireSpells = spellLoader.loadFromFile("FireSpells.txt", SpellType.FIRE);
-        iceSpells = spellLoader.loadFromFile("IceSpells.txt", SpellType.ICE);
-        lightningSpells = spellLoader.loadFromFile("LightningSpells.txt", SpellType.LIGHTNING);
+    /**
+     * Start watching DATA_PATH and reload data files as they change.
+     * Sessions already running keep the snapshot they started with; new
+     * sessions pick up the latest version. Does nothing if already watching.
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
 
-        System.out.println("Game data loaded successfully!\n");
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            Paths.get(DataLoader.DATA_PATH).register(service,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.out.println("Could not watch data files: " + e.getMessage());
+            return;
+        }
+
+        watcher = new Thread(() -> watchLoop(service), "catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stop watching data files.
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    public synchronized boolean isWatching() {
+        return watcher != null;
+    }
+
+    /**
+     * Watcher thread body: coalesce the events of each batch and reload
+     * every changed data file once.
+     */
+    private void watchLoop(WatchService service) {
+        try (WatchService events = service) {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = events.take();
+                Thread.sleep(RELOAD_SETTLE_MILLIS);
+
+                Set<CatalogFile<?>> changed = new LinkedHashSet<>();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed.addAll(CatalogFile.ALL);
+                        continue;
+                    }
+                    CatalogFile<?> file = CatalogFile.forFilename(event.context().toString());
+                    if (file != null) {
+                        changed.add(file);
+                    }
+                }
+
+                for (CatalogFile<?> file : changed) {
+                    reloadFile(file);
+                }
+
+                if (!key.reset()) {
+                    System.out.println("Data directory is no longer accessible; stopped watching.");
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        } catch (IOException e) {
+            System.out.println("Error watching data files: " + e.getMessage());
+        }
     }
 
     // ========== PUBLIC API - Simple methods for clients ==========
+    // The get...() methods return modifiable copies. The get...View() methods
+    // return the current snapshot's unmodifiable lists without allocating.
 
     /**
      * Get all available heroes.
      */
-    public List<Hero> getAllHeroes() {
-        return new ArrayList<>(allHeroes);
+    public List<HeroTemplate> getAllHeroes() {
+        return new ArrayList<>(getHeroesView());
+    }
+
+    public List<HeroTemplate> getHeroesView() {
+        return snapshot.get().getHeroes();
     }
 
     /**
      * Get all available monsters.
      */
-    public List<Monster> getAllMonsters() {
-        return new ArrayList<>(allMonsters);
+    public List<MonsterTemplate> getAllMonsters() {
+        return new ArrayList<>(getMonstersView());
+    }
+
+    public List<MonsterTemplate> getMonstersView() {
+        return snapshot.get().getMonsters();
     }
 
     /**
      * Get a random monster for spawning.
      */
-    public Monster getRandomMonster() {
-        return allMonsters.isEmpty() ? null : allMonsters.get(random.nextInt(allMonsters.size()));
+    public MonsterTemplate getRandomMonster() {
+        return snapshot.get().getRandomMonster();
     }
 
     /**
      * Get all weapons.
      */
     public List<Weapon> getWeapons() {
-        return new ArrayList<>(weapons);
+        return new ArrayList<>(getWeaponsView());
+    }
+
+    public List<Weapon> getWeaponsView() {
+        return snapshot.get().getWeapons();
     }
 
     /**
      * Get all armors.
      */
     public List<Armor> getArmors() {
-        return new ArrayList<>(armors);
+        return new ArrayList<>(getArmorsView());
+    }
+
+    public List<Armor> getArmorsView() {
+        return snapshot.get().getArmors();
     }
 
     /**
      * Get all potions.
      */
     public List<Potion> getPotions() {
-        return new ArrayList<>(potions);
+        return new ArrayList<>(getPotionsView());
+    }
+
+    public List<Potion> getPotionsView() {
+        return snapshot.get().getPotions();
     }
 
     /**
      * Get all spells (all types combined).
      */
     public List<Spell> getAllSpells() {
-        List<Spell> allSpells = new ArrayList<>();
-        allSpells.addAll(fireSpells);
-        allSpells.addAll(iceSpells);
-        allSpells.addAll(lightningSpells);
-        return allSpells;
+        return new ArrayList<>(getSpellsView());
+    }
+
+    public List<Spell> getSpellsView() {
+        return snapshot.get().getSpells();
     }
 
     /**
      * Get fire spells.
      */
     public List<Spell> getFireSpells() {
-        return new ArrayList<>(fireSpells);
+        return new ArrayList<>(getFireSpellsView());
+    }
+
+    public List<Spell> getFireSpellsView() {
+        return snapshot.get().getFireSpells();
     }
 
     /**
      * Get ice spells.
      */
     public List<Spell> getIceSpells() {
-        return new ArrayList<>(iceSpells);
+        return new ArrayList<>(getIceSpellsView());
+    }
+
+    public List<Spell> getIceSpellsView() {
+        return snapshot.get().getIceSpells();
     }
 
     /**
      * Get lightning spells.
      */
     public List<Spell> getLightningSpells() {
-        return new ArrayList<>(lightningSpells);
+        return new ArrayList<>(getLightningSpellsView());
+    }
+
+    public List<Spell> getLightningSpellsView() {
+        return snapshot.get().getLightningSpells();
+    }
+
+    // ========== INDEXED LOOKUPS ==========
+
+    /**
+     * Find a hero template by name (case-insensitive), or null if there is none.
+     */
+    public HeroTemplate findHero(String name) {
+        return snapshot.get().findHero(name);
+    }
+
+    /**
+     * Find a monster template by name (case-insensitive), or null if there is none.
+     */
+    public MonsterTemplate findMonster(String name) {
+        return snapshot.get().findMonster(name);
+    }
+
+    /**
+     * Find any item by name (case-insensitive), or null if there is none.
+     */
+    public Item findItem(String name) {
+        return snapshot.get().findItem(name);
+    }
+
+    public List<HeroTemplate> getHeroesView(HeroType type) {
+        return snapshot.get().getHeroes(type);
+    }
+
+    public List<MonsterTemplate> getMonstersView(MonsterType type) {
+        return snapshot.get().getMonsters(type);
+    }
+
+    /**
+     * Price and level index over one item file, e.g. getItemIndex(CatalogFile.WEAPONRY).
+     */
+    public <T extends Item> ItemIndex<T> getItemIndex(CatalogFile<T> file) {
+        return snapshot.get().getIndex(file);
+    }
+
+    /**
+     * Price and level index over all spells.
+     */
+    public ItemIndex<Spell> getSpellIndex() {
+        return snapshot.get().getSpellIndex();
+    }
+
+    /**
+     * Get the problems found in the data files during the last load.
+     */
+    public ParseDiagnostics getLoadDiagnostics() {
+        return snapshot.get().getDiagnostics();
     }
 
     /**
      * Reload all game data (useful for development/testing).
+     * The new snapshot is built off to the side and then swapped in atomically;
+     * readers holding the old snapshot are unaffected.
      */
     public void reloadData() {
-        loadAllData();
+        synchronized (reloadLock) {
+            snapshot.set(loadAllData(versions.incrementAndGet()));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package data;
+
+import items.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only index over a list of items, sorted by price and by required level.
+ * Range queries use binary search over primitive arrays instead of scanning
+ * the whole catalog.
+ */
+public final class ItemIndex<T extends Item> {
+    private final List<T> items;
+    // Catalog positions ordered by price, with the matching prices alongside
+    private final int[] byPrice;
+    private final int[] prices;
+    // Catalog positions ordered by required level, with the matching levels alongside
+    private final int[] byLevel;
+    private final int[] levels;
+
+    ItemIndex(List<T> items) {
+        this.items = items;
+        this.byPrice = sortedPositions(items, Comparator.comparingInt(Item::getPrice));
+        this.prices = new int[byPrice.length];
+        this.byLevel = sortedPositions(items, Comparator.comparingInt(Item::getRequiredLevel));
+        this.levels = new int[byLevel.length];
+        for (int i = 0; i < byPrice.length; i++) {
+            prices[i] = items.get(byPrice[i]).getPrice();
+            levels[i] = items.get(byLevel[i]).getRequiredLevel();
+        }
+    }
+
+    private static <T extends Item> int[] sortedPositions(List<T> items, Comparator<Item> order) {
+        Integer[] positions = new Integer[items.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        // Stable sort keeps catalog order among equal keys
+        Arrays.sort(positions, (a, b) -> order.compare(items.get(a), items.get(b)));
+        int[] sorted = new int[positions.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = positions[i];
+        }
+        return sorted;
+    }
+
+    /**
+     * All indexed items in catalog order (unmodifiable).
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Items priced between minPrice and maxPrice inclusive, cheapest first.
+     */
+    public List<T> getByPriceRange(int minPrice, int maxPrice) {
+        return collect(byPrice, lowerBound(prices, minPrice), upperBound(prices, maxPrice));
+    }
+
+    /**
+     * Items with a required level of at most the given level, lowest first.
+     */
+    public List<T> getUpToLevel(int level) {
+        return collect(byLevel, 0, upperBound(levels, level));
+    }
+
+    /**
+     * Items a hero with the given gold and level can buy, cheapest first.
+     */
+    public List<T> getAffordable(int gold, int level) {
+        List<T> result = new ArrayList<>();
+        int end = upperBound(prices, gold);
+        for (int i = 0; i < end; i++) {
+            T item = items.get(byPrice[i]);
+            if (item.getRequiredLevel() <= level) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Flags, by catalog position, which items a hero with the given gold and level can buy.
+     */
+    public boolean[] markAffordable(int gold, int level) {
+        boolean[] affordable = new boolean[items.size()];
+        int end = upperBound(prices, gold);
+        for (int i = 0; i < end; i++) {
+            int position = byPrice[i];
+            affordable[position] = items.get(position).getRequiredLevel() <= level;
+        }
+        return affordable;
+    }
+
+    private List<T> collect(int[] positions, int from, int to) {
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(items.get(positions[i]));
+        }
+        return result;
+    }
+
+    /**
+     * First index whose value is at least key.
+     */
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose value is greater than key.
+     */
+    private static int upperBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
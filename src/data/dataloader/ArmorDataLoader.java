@@ -21,30 +21,27 @@ public class ArmorDataLoader extends DataLoader<Armor> {
     }
 
     @Override
-    protected Armor parseLine(String line) {
+    protected Armor parseLine(LineTokenizer line) {
         // Format: Name/cost/required level/damage reduction
-        String[] parts = splitLine(line, 4);
-        if (parts == null) {
+        String name = line.nextString("name");
+        int price = line.nextInt("price");
+        int level = line.nextInt("level");
+        int damageReduction = line.nextInt("damage reduction");
+
+        if (line.hasError()) {
             return null;
         }
 
-        try {
-            String name = parts[0];
-            Integer price = parseInt(parts[1], "price");
-            Integer level = parseInt(parts[2], "level");
-            Integer damageReduction = parseInt(parts[3], "damage reduction");
-
-            if (price == null || level == null || damageReduction == null) {
-                return null;
-            }
+        // Scale damage reduction (as in original code)
+        int scaledReduction = (int) (damageReduction * 0.05);
 
-            // Scale damage reduction (as in original code)
-            int scaledReduction = (int) (damageReduction * 0.05);
+        return new Armor(name, price, level, scaledReduction);
+    }
 
-            return new Armor(name, price, level, scaledReduction);
-        } catch (Exception e) {
-            System.out.println("Error parsing armor: " + line);
-            return null;
-        }
+    @Override
+    protected Armor decodeRecord(BinaryCatalog.Record record) {
+        // Fields: Name/cost/required level/damage reduction
+        int scaledReduction = (int) (record.getInt(3) * 0.05);
+        return new Armor(record.getString(0), record.getInt(1), record.getInt(2), scaledReduction);
     }
 }
\ No newline at end of file
@@ -0,0 +1,314 @@
+package data.dataloader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precompiled binary form of the text catalogs in DATA_PATH.
+ * The file is memory-mapped; only the section table is read up front and
+ * each section's records are decoded when a loader asks for them.
+ *
+ * Layout: magic, section count, then per section its source file name,
+ * source mtime and size, record count, data offset and data length.
+ * Records follow as a field count and typed fields (int or UTF-8 string).
+ */
+public class BinaryCatalog {
+    public static final String DEFAULT_FILENAME = "catalog.bin";
+
+    private static final int MAGIC = 0x4C564331; // "LVC1"
+    private static final byte INT_FIELD = 0;
+    private static final byte STRING_FIELD = 1;
+
+    private final ByteBuffer buffer;
+    private final Map<String, Section> sections;
+
+    private BinaryCatalog(ByteBuffer buffer, Map<String, Section> sections) {
+        this.buffer = buffer;
+        this.sections = sections;
+    }
+
+    /**
+     * Path of the default catalog next to the text files.
+     */
+    public static Path defaultPath() {
+        return Paths.get(DataLoader.DATA_PATH, DEFAULT_FILENAME);
+    }
+
+    /**
+     * Memory-map a catalog file and read its section table.
+     * Returns null if the file is missing or not a valid catalog.
+     */
+    public static BinaryCatalog open(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < 8 || mapped.getInt() != MAGIC) {
+                System.out.println("Ignoring invalid catalog: " + path);
+                return null;
+            }
+
+            int count = mapped.getInt();
+            Map<String, Section> sections = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = readString(mapped);
+                Section section = new Section(mapped.getLong(), mapped.getLong(),
+                    mapped.getInt(), mapped.getInt(), mapped.getInt());
+                if (section.dataOffset + section.dataLength > mapped.limit()) {
+                    System.out.println("Ignoring truncated catalog: " + path);
+                    return null;
+                }
+                sections.put(name, section);
+            }
+            return new BinaryCatalog(mapped, sections);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error opening catalog " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Check whether a section exists and still matches its source text file.
+     */
+    public boolean isFresh(String filename) {
+        Section section = sections.get(filename);
+        if (section == null) {
+            return false;
+        }
+
+        Path source = Paths.get(DataLoader.DATA_PATH, filename);
+        try {
+            return Files.getLastModifiedTime(source).toMillis() == section.sourceModified
+                && Files.size(source) == section.sourceSize;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Decode every record of a section through the given visitor.
+     */
+    void forEachRecord(String filename, RecordVisitor visitor) {
+        Section section = sections.get(filename);
+        if (section == null) {
+            return;
+        }
+
+        // Independent cursor so sections can be decoded concurrently
+        ByteBuffer view = buffer.duplicate();
+        view.position(section.dataOffset);
+        Record record = new Record(view);
+        for (int i = 0; i < section.recordCount; i++) {
+            record.advance();
+            visitor.visit(record);
+        }
+    }
+
+    /**
+     * Callback receiving each decoded record of a section.
+     */
+    interface RecordVisitor {
+        void visit(Record record);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Location and provenance of one source file's records.
+     */
+    private static class Section {
+        final long sourceModified;
+        final long sourceSize;
+        final int recordCount;
+        final int dataOffset;
+        final int dataLength;
+
+        Section(long sourceModified, long sourceSize, int recordCount, int dataOffset, int dataLength) {
+            this.sourceModified = sourceModified;
+            this.sourceSize = sourceSize;
+            this.recordCount = recordCount;
+            this.dataOffset = dataOffset;
+            this.dataLength = dataLength;
+        }
+    }
+
+    /**
+     * Reusable cursor over the current record of a section.
+     * Field values are read straight from the mapped buffer; ints are never boxed.
+     */
+    public static class Record {
+        private static final int MAX_FIELDS = 16;
+
+        private final ByteBuffer in;
+        private final int[] offsets;
+        private final byte[] tags;
+        private int fieldCount;
+
+        Record(ByteBuffer in) {
+            this.in = in;
+            this.offsets = new int[MAX_FIELDS];
+            this.tags = new byte[MAX_FIELDS];
+        }
+
+        /**
+         * Move to the next record, remembering where each field starts.
+         */
+        void advance() {
+            fieldCount = in.get();
+            for (int i = 0; i < fieldCount; i++) {
+                tags[i] = in.get();
+                offsets[i] = in.position();
+                if (tags[i] == INT_FIELD) {
+                    in.position(in.position() + Integer.BYTES);
+                } else {
+                    int length = in.getShort() & 0xFFFF;
+                    in.position(in.position() + length);
+                }
+            }
+        }
+
+        public int getFieldCount() {
+            return fieldCount;
+        }
+
+        public int getInt(int field) {
+            if (tags[field] != INT_FIELD) {
+                throw new IllegalStateException("Field " + field + " is not an int");
+            }
+            return in.getInt(offsets[field]);
+        }
+
+        public String getString(int field) {
+            if (tags[field] == INT_FIELD) {
+                return String.valueOf(in.getInt(offsets[field]));
+            }
+            int start = offsets[field];
+            int length = in.getShort(start) & 0xFFFF;
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = in.get(start + 2 + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Builds a catalog file from tokenized text rows.
+     */
+    public static class Writer {
+        private final Map<String, SectionData> sections = new LinkedHashMap<>();
+        private SectionData current;
+
+        /**
+         * Start a new section for the given source file.
+         */
+        public void beginSection(String filename) throws IOException {
+            Path source = Paths.get(DataLoader.DATA_PATH, filename);
+            current = new SectionData(Files.getLastModifiedTime(source).toMillis(), Files.size(source));
+            sections.put(filename, current);
+        }
+
+        /**
+         * Append one row; fields that are whole numbers are stored as ints.
+         */
+        public void writeRecord(String[] fields) throws IOException {
+            if (fields.length > Record.MAX_FIELDS) {
+                throw new IOException("Too many fields in record: " + fields.length);
+            }
+            DataOutputStream out = current.out;
+            out.writeByte(fields.length);
+            for (String field : fields) {
+                Integer number = tryParseInt(field);
+                if (number != null) {
+                    out.writeByte(INT_FIELD);
+                    out.writeInt(number);
+                } else {
+                    byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                    out.writeByte(STRING_FIELD);
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            current.recordCount++;
+        }
+
+        /**
+         * Write the header and all sections to disk.
+         */
+        public void writeTo(Path path) throws IOException {
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(headerBytes);
+
+            // Size the header first so section offsets can be absolute
+            int headerSize = 8;
+            for (String name : sections.keySet()) {
+                headerSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 8 + 8 + 4 + 4 + 4;
+            }
+
+            header.writeInt(MAGIC);
+            header.writeInt(sections.size());
+            int offset = headerSize;
+            for (Map.Entry<String, SectionData> entry : sections.entrySet()) {
+                SectionData data = entry.getValue();
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                header.writeShort(name.length);
+                header.write(name);
+                header.writeLong(data.sourceModified);
+                header.writeLong(data.sourceSize);
+                header.writeInt(data.recordCount);
+                header.writeInt(offset);
+                header.writeInt(data.bytes.size());
+                offset += data.bytes.size();
+            }
+
+            ByteArrayOutputStream file = new ByteArrayOutputStream(offset);
+            headerBytes.writeTo(file);
+            for (SectionData data : sections.values()) {
+                data.bytes.writeTo(file);
+            }
+            Files.write(path, file.toByteArray());
+        }
+
+        private static Integer tryParseInt(String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private static class SectionData {
+        final long sourceModified;
+        final long sourceSize;
+        final ByteArrayOutputStream bytes;
+        final DataOutputStream out;
+        int recordCount;
+
+        SectionData(long sourceModified, long sourceSize) {
+            this.sourceModified = sourceModified;
+            this.sourceSize = sourceSize;
+            this.bytes = new ByteArrayOutputStream();
+            this.out = new DataOutputStream(bytes);
+        }
+    }
+}
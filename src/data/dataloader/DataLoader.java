@@ -3,15 +3,27 @@ package data.dataloader;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract base class for loading data from files.
  * Implements Template Method pattern for file reading.
+ * Records can be collected into a list or streamed one at a time for catalogs
+ * too large to hold in memory.
  */
 public abstract class DataLoader<T> {
-    protected static final String DATA_PATH = "Legends_Monsters_and_Heroes/";
+    public static final String DATA_PATH = "Legends_Monsters_and_Heroes/";
+
+    protected ParseDiagnostics diagnostics = new ParseDiagnostics();
 
     /**
      * Load data from a file.
@@ -19,56 +31,190 @@ public abstract class DataLoader<T> {
      */
     public List<T> loadFromFile(String filename) {
         List<T> items = new ArrayList<>();
-        
+        forEachFromFile(filename, items::add);
+        return items;
+    }
+
+    /**
+     * Stream the records of a file as they are read, without holding the
+     * whole file in memory. The stream must be closed to release the file.
+     * Lines that cannot be parsed are reported to the diagnostics and skipped.
+     */
+    public Stream<T> streamFromFile(String filename) {
+        BufferedReader br;
+        try {
+            br = new BufferedReader(new FileReader(DATA_PATH + filename));
+            br.readLine(); // Skip header
+        } catch (IOException e) {
+            System.out.println("Error loading " + filename + ": " + e.getMessage());
+            return Stream.empty();
+        }
+
+        RecordIterator records = new RecordIterator(br, new LineTokenizer(filename, diagnostics));
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(records::close);
+    }
+
+    /**
+     * Pass each record of a file to a callback as it is read.
+     */
+    public void forEachFromFile(String filename, Consumer<? super T> sink) {
+        try (Stream<T> records = streamFromFile(filename)) {
+            records.forEachOrdered(sink);
+        } catch (UncheckedIOException e) {
+            System.out.println("Error loading " + filename + ": " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Pass each record to a callback, reading the binary catalog section when
+     * it is up to date and the text file otherwise.
+     */
+    public void forEach(BinaryCatalog catalog, String filename, Consumer<? super T> sink) {
+        if (catalog != null && catalog.isFresh(filename)) {
+            forEachFromCatalog(catalog, filename, sink);
+        } else {
+            forEachFromFile(filename, sink);
+        }
+    }
+
+    /**
+     * Load data from a precompiled binary catalog section.
+     * Callers should check BinaryCatalog.isFresh first.
+     */
+    public List<T> loadFromCatalog(BinaryCatalog catalog, String filename) {
+        List<T> items = new ArrayList<>();
+        forEachFromCatalog(catalog, filename, items::add);
+        return items;
+    }
+
+    /**
+     * Pass each record of a binary catalog section to a callback as it is decoded.
+     */
+    public void forEachFromCatalog(BinaryCatalog catalog, String filename, Consumer<? super T> sink) {
+        catalog.forEachRecord(filename, record -> {
+            T item = decodeRecord(record);
+            if (item != null) {
+                sink.accept(item);
+            }
+        });
+    }
+
+    /**
+     * Add a text file to a binary catalog.
+     * Only lines this loader can parse are written, so every record decodes.
+     */
+    public void compileInto(BinaryCatalog.Writer writer, String filename) throws IOException {
+        writer.beginSection(filename);
+        LineTokenizer tokenizer = new LineTokenizer(filename, diagnostics);
+
         try (BufferedReader br = new BufferedReader(new FileReader(DATA_PATH + filename))) {
-            String header = br.readLine(); // Skip header
+            br.readLine(); // Skip header
             String line;
-            
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) {
-                    continue;
-                }
+            int lineNumber = 1;
 
-                T item = parseLine(line);
-                if (item != null) {
-                    items.add(item);
+            while ((line = br.readLine()) != null) {
+                lineNumber++;
+                tokenizer.reset(line, lineNumber);
+                if (tokenizer.hasNext() && parseLine(tokenizer) != null && !tokenizer.hasError()) {
+                    writer.writeRecord(tokenizer.toArray());
                 }
             }
-        } catch (IOException e) {
-            System.out.println("Error loading " + filename + ": " + e.getMessage());
         }
-        
-        return items;
     }
 
     /**
      * Parse a single line from the file.
-     * Subclasses must implement this method.
+     * Subclasses read their fields from the tokenizer in column order and
+     * return null (or leave the tokenizer in error) to skip the line.
      */
-    protected abstract T parseLine(String line);
+    protected abstract T parseLine(LineTokenizer line);
 
     /**
-     * Split line by whitespace and handle errors.
+     * Build an object from a binary catalog record.
+     * Fields are in the same order as the columns of the text file.
      */
-    protected String[] splitLine(String line, int expectedParts) {
-        String[] parts = line.split("\\s+");
-        if (parts.length < expectedParts) {
-            System.out.println("Invalid line format: " + line);
-            return null;
-        }
-        return parts;
+    protected abstract T decodeRecord(BinaryCatalog.Record record);
+
+    /**
+     * Get the diagnostics that parse problems are reported to.
+     */
+    public ParseDiagnostics getDiagnostics() {
+        return diagnostics;
     }
 
     /**
-     * Safely parse an integer.
+     * Report parse problems to a shared diagnostics object.
      */
-    protected Integer parseInt(String value, String fieldName) {
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid " + fieldName + ": " + value);
-            return null;
+    public void setDiagnostics(ParseDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Iterator that parses one line ahead of the caller.
+     */
+    private class RecordIterator implements Iterator<T> {
+        private final BufferedReader reader;
+        private final LineTokenizer tokenizer;
+        private int lineNumber;
+        private T next;
+        private boolean done;
+
+        RecordIterator(BufferedReader reader, LineTokenizer tokenizer) {
+            this.reader = reader;
+            this.tokenizer = tokenizer;
+            this.lineNumber = 1; // Header already consumed
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                String line = readLine();
+                if (line == null) {
+                    done = true;
+                    close();
+                    break;
+                }
+
+                lineNumber++;
+                tokenizer.reset(line, lineNumber);
+                if (!tokenizer.hasNext()) {
+                    continue;
+                }
+
+                T item = parseLine(tokenizer);
+                if (item != null && !tokenizer.hasError()) {
+                    next = item;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = next;
+            next = null;
+            return item;
+        }
+
+        private String readLine() {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Nothing useful to do once reading has finished
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package data.dataloader;
 
-import characters.Hero;
+import characters.HeroTemplate;
 import characters.HeroType;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,7 +9,7 @@ import java.util.List;
  * Loads hero data from files.
  * Handles Warriors, Sorcerers, and Paladins.
  */
-public class HeroDataLoader extends DataLoader<Hero> {
+public class HeroDataLoader extends DataLoader<HeroTemplate> {
     private HeroType heroType;
 
     public HeroDataLoader(HeroType heroType) {
@@ -19,8 +19,8 @@ public class HeroDataLoader extends DataLoader<Hero> {
     /**
      * Load all heroes of all types.
      */
-    public List<Hero> loadAllHeroes() {
-        List<Hero> allHeroes = new ArrayList<>();
+    public List<HeroTemplate> loadAllHeroes() {
+        List<HeroTemplate> allHeroes = new ArrayList<>();
         
         allHeroes.addAll(loadFromFile("Warriors.txt", HeroType.WARRIOR));
         allHeroes.addAll(loadFromFile("Sorcerers.txt", HeroType.SORCERER));
@@ -32,37 +32,33 @@ public class HeroDataLoader extends DataLoader<Hero> {
     /**
      * Load heroes from a file with a specific type.
      */
-    public List<Hero> loadFromFile(String filename, HeroType type) {
+    public List<HeroTemplate> loadFromFile(String filename, HeroType type) {
         this.heroType = type;
         return super.loadFromFile(filename);
     }
 
     @Override
-    protected Hero parseLine(String line) {
+    protected HeroTemplate parseLine(LineTokenizer line) {
         // Format: Name/mana/strength/agility/dexterity/starting money/starting experience
-        String[] parts = splitLine(line, 7);
-        if (parts == null) {
+        String name = line.nextString("name");
+        int mana = line.nextInt("mana");
+        int strength = line.nextInt("strength");
+        int agility = line.nextInt("agility");
+        int dexterity = line.nextInt("dexterity");
+        int gold = line.nextInt("gold");
+        line.skip("experience"); // starting experience (not used)
+
+        if (line.hasError()) {
             return null;
         }
 
-        try {
-            String name = parts[0];
-            Integer mana = parseInt(parts[1], "mana");
-            Integer strength = parseInt(parts[2], "strength");
-            Integer agility = parseInt(parts[3], "agility");
-            Integer dexterity = parseInt(parts[4], "dexterity");
-            Integer gold = parseInt(parts[5], "gold");
-            // parts[6] is starting experience (not used)
-
-            if (mana == null || strength == null || agility == null || 
-                dexterity == null || gold == null) {
-                return null;
-            }
+        return new HeroTemplate(name, 1, heroType, mana, strength, dexterity, agility, gold);
+    }
 
-            return new Hero(name, 1, heroType, mana, strength, dexterity, agility, gold);
-        } catch (Exception e) {
-            System.out.println("Error parsing hero: " + line);
-            return null;
-        }
+    @Override
+    protected HeroTemplate decodeRecord(BinaryCatalog.Record record) {
+        // Fields: Name/mana/strength/agility/dexterity/starting money/starting experience
+        return new HeroTemplate(record.getString(0), 1, heroType, record.getInt(1), record.getInt(2),
+            record.getInt(4), record.getInt(3), record.getInt(5));
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package data.dataloader;
+
+/**
+ * Reusable cursor over the whitespace-separated fields of one data line.
+ * Integers are parsed directly from the line's characters, so numeric
+ * fields allocate nothing; only string fields create a String.
+ * Problems are reported to a ParseDiagnostics object and mark the line as failed.
+ */
+public class LineTokenizer {
+    private final String filename;
+    private final ParseDiagnostics diagnostics;
+    private CharSequence line;
+    private int lineNumber;
+    private int pos;
+    private boolean failed;
+
+    public LineTokenizer(String filename, ParseDiagnostics diagnostics) {
+        this.filename = filename;
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Point the cursor at the start of a new line.
+     */
+    public void reset(CharSequence line, int lineNumber) {
+        this.line = line;
+        this.lineNumber = lineNumber;
+        this.pos = 0;
+        this.failed = false;
+    }
+
+    /**
+     * Check whether another field remains on the line.
+     */
+    public boolean hasNext() {
+        skipWhitespace();
+        return pos < line.length();
+    }
+
+    /**
+     * True if any field on the current line was missing or invalid.
+     */
+    public boolean hasError() {
+        return failed;
+    }
+
+    /**
+     * Read the next field as a string.
+     */
+    public String nextString(String fieldName) {
+        if (!hasNext()) {
+            fail(fieldName, "missing field");
+            return "";
+        }
+        int start = pos;
+        skipToken();
+        return line.subSequence(start, pos).toString();
+    }
+
+    /**
+     * Read the next field as an int without creating intermediate objects.
+     * Returns 0 and marks the line as failed if the field is missing or not a number.
+     */
+    public int nextInt(String fieldName) {
+        if (!hasNext()) {
+            fail(fieldName, "missing field");
+            return 0;
+        }
+
+        int start = pos;
+        boolean negative = false;
+        char first = line.charAt(pos);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            pos++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        while (pos < line.length() && !Character.isWhitespace(line.charAt(pos))) {
+            int digit = line.charAt(pos) - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                skipToken();
+                invalid(fieldName, start);
+                return 0;
+            }
+            value = value * 10 + digit;
+            digits++;
+            pos++;
+        }
+
+        long signed = negative ? -value : value;
+        if (digits == 0 || signed > Integer.MAX_VALUE || signed < Integer.MIN_VALUE) {
+            invalid(fieldName, start);
+            return 0;
+        }
+        return (int) signed;
+    }
+
+    /**
+     * Skip a field that is not used.
+     */
+    public void skip(String fieldName) {
+        if (!hasNext()) {
+            fail(fieldName, "missing field");
+            return;
+        }
+        skipToken();
+    }
+
+    /**
+     * Report a non-fatal problem on the current line.
+     */
+    public void warn(String fieldName, String message) {
+        diagnostics.report(filename, lineNumber, fieldName, message);
+    }
+
+    /**
+     * Split the whole current line into its fields.
+     */
+    public String[] toArray() {
+        pos = 0;
+        int count = 0;
+        while (hasNext()) {
+            skipToken();
+            count++;
+        }
+
+        String[] fields = new String[count];
+        pos = 0;
+        for (int i = 0; i < count; i++) {
+            skipWhitespace();
+            int start = pos;
+            skipToken();
+            fields[i] = line.subSequence(start, pos).toString();
+        }
+        return fields;
+    }
+
+    private void invalid(String fieldName, int start) {
+        fail(fieldName, "invalid number '" + line.subSequence(start, pos) + "'");
+    }
+
+    private void fail(String fieldName, String message) {
+        failed = true;
+        diagnostics.report(filename, lineNumber, fieldName, message);
+    }
+
+    private void skipWhitespace() {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private void skipToken() {
+        while (pos < line.length() && !Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package data.dataloader;
 
-import characters.Monster;
+import characters.MonsterTemplate;
 import characters.MonsterType;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,7 +9,7 @@ import java.util.List;
  * Loads monster data from files.
  * Handles Dragons, Spirits, and Exoskeletons.
  */
-public class MonsterDataLoader extends DataLoader<Monster> {
+public class MonsterDataLoader extends DataLoader<MonsterTemplate> {
     private MonsterType monsterType;
 
     public MonsterDataLoader(MonsterType monsterType) {
@@ -19,8 +19,8 @@ public class MonsterDataLoader extends DataLoader<Monster> {
     /**
      * Load all monsters of all types.
      */
-    public List<Monster> loadAllMonsters() {
-        List<Monster> allMonsters = new ArrayList<>();
+    public List<MonsterTemplate> loadAllMonsters() {
+        List<MonsterTemplate> allMonsters = new ArrayList<>();
         
         allMonsters.addAll(loadFromFile("Dragons.txt", MonsterType.DRAGON));
         allMonsters.addAll(loadFromFile("Spirits.txt", MonsterType.SPIRIT));
@@ -32,34 +32,31 @@ public class MonsterDataLoader extends DataLoader<Monster> {
     /**
      * Load monsters from a file with a specific type.
      */
-    public List<Monster> loadFromFile(String filename, MonsterType type) {
+    public List<MonsterTemplate> loadFromFile(String filename, MonsterType type) {
         this.monsterType = type;
         return super.loadFromFile(filename);
     }
 
     @Override
-    protected Monster parseLine(String line) {
+    protected MonsterTemplate parseLine(LineTokenizer line) {
         // Format: Name/level/damage/defense/dodge chance
-        String[] parts = splitLine(line, 5);
-        if (parts == null) {
+        String name = line.nextString("name");
+        int level = line.nextInt("level");
+        int damage = line.nextInt("damage");
+        int defense = line.nextInt("defense");
+        int dodgeChance = line.nextInt("dodge chance");
+
+        if (line.hasError()) {
             return null;
         }
 
-        try {
-            String name = parts[0];
-            Integer level = parseInt(parts[1], "level");
-            Integer damage = parseInt(parts[2], "damage");
-            Integer defense = parseInt(parts[3], "defense");
-            Integer dodgeChance = parseInt(parts[4], "dodge chance");
-
-            if (level == null || damage == null || defense == null || dodgeChance == null) {
-                return null;
-            }
+        return new MonsterTemplate(name, level, monsterType, damage, defense, dodgeChance);
+    }
 
-            return new Monster(name, level, monsterType, damage, defense, dodgeChance);
-        } catch (Exception e) {
-            System.out.println("Error parsing monster: " + line);
-            return null;
-        }
+    @Override
+    protected MonsterTemplate decodeRecord(BinaryCatalog.Record record) {
+        // Fields: Name/level/damage/defense/dodge chance
+        return new MonsterTemplate(record.getString(0), record.getInt(1), monsterType,
+            record.getInt(2), record.getInt(3), record.getInt(4));
     }
 }
\ No newline at end of file
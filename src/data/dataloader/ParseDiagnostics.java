@@ -0,0 +1,60 @@
+package data.dataloader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects problems found while parsing data files.
+ * Thread-safe, so loaders running in parallel can share one instance.
+ */
+public class ParseDiagnostics {
+
+    /**
+     * A single problem on one line of a data file.
+     */
+    public static class Issue {
+        private final String filename;
+        private final int lineNumber;
+        private final String field;
+        private final String message;
+
+        public Issue(String filename, int lineNumber, String field, String message) {
+            this.filename = filename;
+            this.lineNumber = lineNumber;
+            this.field = field;
+            this.message = message;
+        }
+
+        public String getFilename() { return filename; }
+        public int getLineNumber() { return lineNumber; }
+        public String getField() { return field; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            String where = filename + ":" + lineNumber;
+            return field != null ? where + " [" + field + "] " + message : where + " " + message;
+        }
+    }
+
+    private final List<Issue> issues = new ArrayList<>();
+
+    public synchronized void report(String filename, int lineNumber, String field, String message) {
+        issues.add(new Issue(filename, lineNumber, field, message));
+    }
+
+    public synchronized boolean isEmpty() {
+        return issues.isEmpty();
+    }
+
+    public synchronized int size() {
+        return issues.size();
+    }
+
+    /**
+     * Get a snapshot of all issues reported so far.
+     */
+    public synchronized List<Issue> getIssues() {
+        return new ArrayList<>(issues);
+    }
+}
@@ -22,34 +22,36 @@ public class PotionDataLoader extends DataLoader<Potion> {
     }
 
     @Override
-    protected Potion parseLine(String line) {
+    protected Potion parseLine(LineTokenizer line) {
         // Format: Name/cost/required level/attribute increase/attribute affected
-        String[] parts = splitLine(line, 5);
-        if (parts == null) {
+        String name = line.nextString("name");
+        int price = line.nextInt("price");
+        int level = line.nextInt("level");
+        int effectAmount = line.nextInt("effect amount");
+        String typeStr = line.nextString("attribute affected");
+
+        if (line.hasError()) {
             return null;
         }
 
-        try {
-            String name = parts[0];
-            Integer price = parseInt(parts[1], "price");
-            Integer level = parseInt(parts[2], "level");
-            Integer effectAmount = parseInt(parts[3], "effect amount");
-            String typeStr = parts[4];
-
-            if (price == null || level == null || effectAmount == null) {
-                return null;
-            }
-
-            PotionType potionType = parsePotionType(typeStr);
-            return new Potion(name, price, level, effectAmount, potionType);
-        } catch (Exception e) {
-            System.out.println("Error parsing potion: " + line);
-            return null;
+        PotionType potionType = parsePotionType(typeStr);
+        if (potionType == null) {
+            line.warn("attribute affected", "Unknown potion type: " + typeStr + ", defaulting to HEALTH");
+            potionType = PotionType.HEALTH;
         }
+        return new Potion(name, price, level, effectAmount, potionType);
+    }
+
+    @Override
+    protected Potion decodeRecord(BinaryCatalog.Record record) {
+        // Fields: Name/cost/required level/attribute increase/attribute affected
+        PotionType potionType = parsePotionType(record.getString(4));
+        return new Potion(record.getString(0), record.getInt(1), record.getInt(2),
+            record.getInt(3), potionType != null ? potionType : PotionType.HEALTH);
     }
 
     /**
-     * Parse potion type from string.
+     * Parse potion type from string, or null if it is not recognised.
      */
     private PotionType parsePotionType(String typeStr) {
         switch (typeStr.toUpperCase()) {
@@ -64,8 +66,7 @@ public class PotionDataLoader extends DataLoader<Potion> {
             case "AGILITY":
                 return PotionType.AGILITY;
             default:
-                System.out.println("Unknown potion type: " + typeStr + ", defaulting to HEALTH");
-                return PotionType.HEALTH;
+                return null;
         }
     }
 }
\ No newline at end of file
@@ -38,28 +38,25 @@ public class SpellDataLoader extends DataLoader<Spell> {
     }
 
     @Override
-    protected Spell parseLine(String line) {
+    protected Spell parseLine(LineTokenizer line) {
         // Format: Name/cost/required level/damage/mana cost
-        String[] parts = splitLine(line, 5);
-        if (parts == null) {
+        String name = line.nextString("name");
+        int price = line.nextInt("price");
+        int level = line.nextInt("level");
+        int damage = line.nextInt("damage");
+        int manaCost = line.nextInt("mana cost");
+
+        if (line.hasError()) {
             return null;
         }
 
-        try {
-            String name = parts[0];
-            Integer price = parseInt(parts[1], "price");
-            Integer level = parseInt(parts[2], "level");
-            Integer damage = parseInt(parts[3], "damage");
-            Integer manaCost = parseInt(parts[4], "mana cost");
-
-            if (price == null || level == null || damage == null || manaCost == null) {
-                return null;
-            }
+        return new Spell(name, price, level, damage, manaCost, spellType);
+    }
 
-            return new Spell(name, price, level, damage, manaCost, spellType);
-        } catch (Exception e) {
-            System.out.println("Error parsing spell: " + line);
-            return null;
-        }
+    @Override
+    protected Spell decodeRecord(BinaryCatalog.Record record) {
+        // Fields: Name/cost/required level/damage/mana cost
+        return new Spell(record.getString(0), record.getInt(1), record.getInt(2),
+            record.getInt(3), record.getInt(4), spellType);
     }
 }
\ No newline at end of file
@@ -20,28 +20,25 @@ public class WeaponDataLoader extends DataLoader<Weapon> {
     }
 
     @Override
-    protected Weapon parseLine(String line) {
+    protected Weapon parseLine(LineTokenizer line) {
         // Format: Name/cost/level/damage/required hands
-        String[] parts = splitLine(line, 5);
-        if (parts == null) {
+        String name = line.nextString("name");
+        int price = line.nextInt("price");
+        int level = line.nextInt("level");
+        int damage = line.nextInt("damage");
+        int hands = line.nextInt("hands");
+
+        if (line.hasError()) {
             return null;
         }
 
-        try {
-            String name = parts[0];
-            Integer price = parseInt(parts[1], "price");
-            Integer level = parseInt(parts[2], "level");
-            Integer damage = parseInt(parts[3], "damage");
-            Integer hands = parseInt(parts[4], "hands");
-
-            if (price == null || level == null || damage == null || hands == null) {
-                return null;
-            }
+        return new Weapon(name, price, level, damage, hands);
+    }
 
-            return new Weapon(name, price, level, damage, hands);
-        } catch (Exception e) {
-            System.out.println("Error parsing weapon: " + line);
-            return null;
-        }
+    @Override
+    protected Weapon decodeRecord(BinaryCatalog.Record record) {
+        // Fields: Name/cost/level/damage/required hands
+        return new Weapon(record.getString(0), record.getInt(1), record.getInt(2),
+            record.getInt(3), record.getInt(4));
     }
 }
\ No newline at end of file
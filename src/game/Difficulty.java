@@ -1,19 +1,25 @@
 package game;
 
+import characters.SpawnProfile;
+
 /**
 * Enum for difficulty levels.
 */
 public enum Difficulty {
-    EASY(8, "Monsters spawn every 8 rounds"),
-    MEDIUM(6, "Monsters spawn every 6 rounds"),
-    HARD(4, "Monsters spawn every 4 rounds");
+    EASY(8, "Monsters spawn every 8 rounds",
+        new SpawnProfile(-1, 1, 0.5, SpawnProfile.equalTypeWeights())),
+    MEDIUM(6, "Monsters spawn every 6 rounds", SpawnProfile.NEAR_LEVEL),
+    HARD(4, "Monsters spawn every 4 rounds",
+        new SpawnProfile(1, 2, 0.6, SpawnProfile.equalTypeWeights()));
 
     private final int spawnInterval;
     private final String description;
+    private final SpawnProfile spawnProfile;
 
-    Difficulty(int spawnInterval, String description) {
+    Difficulty(int spawnInterval, String description, SpawnProfile spawnProfile) {
         this.spawnInterval = spawnInterval;
         this.description = description;
+        this.spawnProfile = spawnProfile;
     }
 
     public int getSpawnInterval() {
@@ -23,4 +29,11 @@ public enum Difficulty {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Which monster templates are drawn relative to the party level.
+     */
+    public SpawnProfile getSpawnProfile() {
+        return spawnProfile;
+    }
 }
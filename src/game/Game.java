@@ -1,14 +1,19 @@
 package game;
 
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract base class for all game types.
  */
 public abstract class Game {
     protected boolean gameRunning;
+    private GameResult result;
+    private final List<GameResultListener> resultListeners;
 
     public Game() {
         this.gameRunning = true;
+        this.resultListeners = new ArrayList<>();
     }
 
     /**
@@ -38,4 +43,33 @@ public abstract class Game {
     public void stop() {
         gameRunning = false;
     }
+
+    /**
+     * Register a listener to be notified when this game finishes.
+     */
+    public void addResultListener(GameResultListener listener) {
+        resultListeners.add(listener);
+    }
+
+    public void removeResultListener(GameResultListener listener) {
+        resultListeners.remove(listener);
+    }
+
+    /**
+     * Get the result of the game, or null while it is still running.
+     */
+    public GameResult getResult() {
+        return result;
+    }
+
+    /**
+     * Stop the game, record its result and notify listeners.
+     */
+    protected void finish(GameResult result) {
+        gameRunning = false;
+        this.result = result;
+        for (GameResultListener listener : resultListeners) {
+            listener.onGameFinished(this, result);
+        }
+    }
 }
\ No newline at end of file
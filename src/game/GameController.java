@@ -1,19 +1,44 @@
 package game;
 
 import util.AsciiArt;
+import util.InputHelper;
+import util.InputSource;
+
+import java.util.function.Consumer;
 
 /**
  * Main game controller that manages game selection and execution.
  * Uses GameFactory to create game instances.
  */
 public class GameController {
+    private final InputSource input;
+    // Sees each game after it is created and before it starts
+    private Consumer<Game> gameCreatedListener;
+
+    public GameController() {
+        this(InputHelper.getDefaultSource());
+    }
+
+    public GameController(InputSource input) {
+        this.input = input;
+    }
     
+    /**
+     * Get a look at the selected game before it starts, e.g. to record it.
+     */
+    public void setGameCreatedListener(Consumer<Game> gameCreatedListener) {
+        this.gameCreatedListener = gameCreatedListener;
+    }
+
     public void start() {
         AsciiArt.displayMainMenu();
         
-        Game game = GameFactory.createGameFromUserInput();
+        Game game = GameFactory.createGameFromUserInput(input);
         
         if (game != null) {
+            if (gameCreatedListener != null) {
+                gameCreatedListener.accept(game);
+            }
             game.start();
         } else {
             AsciiArt.displayExitMessage();
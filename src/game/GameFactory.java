@@ -1,6 +1,8 @@
 package game;
 
 import util.InputHelper;
+import util.InputSource;
+import java.io.PrintStream;
 
 /**
  * Factory for creating different game types.
@@ -40,11 +42,23 @@ public class GameFactory {
      * @throws IllegalArgumentException if the game type is unknown
      */
     public static Game createGame(GameType type) {
+        return createGame(type, InputHelper.getDefaultSource());
+    }
+
+    /**
+     * Create a game instance that reads its input from the given source.
+     * 
+     * @param type The type of game to create
+     * @param input The input source for this game session
+     * @return A new game instance
+     * @throws IllegalArgumentException if the game type is unknown
+     */
+    public static Game createGame(GameType type, InputSource input) {
         switch (type) {
             case MONSTERS_AND_HEROES:
-                return new MonstersAndHeroes();
+                return new MonstersAndHeroes(input);
             case LEGENDS_OF_VALOR:
-                return new LegendsOfValor();
+                return new LegendsOfValor(input);
             default:
                 throw new IllegalArgumentException("Unknown game type: " + type);
         }
@@ -72,33 +86,56 @@ public class GameFactory {
      * @return A new game instance, or null if user cancels
      */
     public static Game createGameFromUserInput() {
-        displayGameMenu();
+        return createGameFromUserInput(InputHelper.getDefaultSource());
+    }
+
+    /**
+     * Prompt for a game type on the given input source and create it.
+     * The created game keeps reading from the same source.
+     * 
+     * @param input The input source for this game session
+     * @return A new game instance, or null if user cancels
+     */
+    public static Game createGameFromUserInput(InputSource input) {
+        return createGameFromUserInput(input, System.out);
+    }
+
+    /**
+     * Prompt for a game type on the given input source, showing the menu on
+     * the given stream, and create it.
+     * 
+     * @param input The input source for this game session
+     * @param out Where the game menu is printed
+     * @return A new game instance, or null if user cancels
+     */
+    public static Game createGameFromUserInput(InputSource input, PrintStream out) {
+        displayGameMenu(out);
         
         GameType[] types = GameType.values();
-        int choice = InputHelper.readInt("Enter choice: ", 0, types.length);
+        int choice = input.readInt("Enter choice: ", 0, types.length);
         
         if (choice == 0) {
             return null; // User chose to exit
         }
         
-        return createGame(types[choice - 1]);
+        return createGame(types[choice - 1], input);
     }
     
     /**
      * Display the game selection menu.
      */
-    private static void displayGameMenu() {
-        System.out.println("\n" + "===========================================================");
-        System.out.println("  SELECT GAME MODE");
-        System.out.println("===========================================================");
+    private static void displayGameMenu(PrintStream out) {
+        out.println("\n" + "===========================================================");
+        out.println("  SELECT GAME MODE");
+        out.println("===========================================================");
         
         GameType[] types = GameType.values();
         for (int i = 0; i < types.length; i++) {
-            System.out.println((i + 1) + ") " + types[i].getDisplayName());
-            System.out.println("   " + types[i].getDescription());
+            out.println((i + 1) + ") " + types[i].getDisplayName());
+            out.println("   " + types[i].getDescription());
         }
-        System.out.println("0) Exit");
-        System.out.println("===========================================================");
+        out.println("0) Exit");
+        out.println("===========================================================");
     }
     
     /**
@@ -0,0 +1,50 @@
+package game;
+
+/**
+ * Immutable summary of how a finished game ended.
+ */
+public class GameResult {
+
+    /**
+     * Possible ways a game can end.
+     */
+    public enum Outcome {
+        HEROES_WIN,
+        MONSTERS_WIN,
+        QUIT,
+        ROUND_LIMIT
+    }
+
+    private final Outcome outcome;
+    private final int rounds;
+
+    public GameResult(Outcome outcome, int rounds) {
+        this.outcome = outcome;
+        this.rounds = rounds;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Number of completed rounds when the game ended.
+     * For Monsters and Heroes this counts turns taken on the world map.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    public boolean isHeroVictory() {
+        return outcome == Outcome.HEROES_WIN;
+    }
+
+    public boolean isMonsterVictory() {
+        return outcome == Outcome.MONSTERS_WIN;
+    }
+
+    @Override
+    public String toString() {
+        return outcome + " after " + rounds + " rounds";
+    }
+}
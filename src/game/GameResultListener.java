@@ -0,0 +1,10 @@
+package game;
+
+/**
+ * Observer notified when a game finishes.
+ * Lets embedding code (simulators, tournament runners) collect outcomes
+ * without the engine terminating the JVM.
+ */
+public interface GameResultListener {
+    void onGameFinished(Game game, GameResult result);
+}
@@ -0,0 +1,27 @@
+package game;
+
+import characters.Hero;
+
+/**
+ * Strategy interface for controlling Legends of Valor heroes programmatically.
+ * Replaces keyboard input when a game is run headless (e.g. batch simulations).
+ */
+public interface HeroPolicy {
+
+    /**
+     * Choose the command for a hero's turn, using the same keys as the console
+     * (w/a/s/d, f, c, t, r, o, p, q).
+     * attempt counts how many commands were already rejected this turn.
+     */
+    char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt);
+
+    /**
+     * Choose a numbered option (target, spell, teleport destination) between min and max.
+     */
+    int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max);
+
+    /**
+     * Choose a direction (N/E/S/W/NE/SE/SW/NW) for obstacle removal.
+     */
+    String chooseDirection(LegendsOfValor game, Hero hero);
+}
@@ -2,67 +2,208 @@ package game;
 
 import characters.Hero;
 import characters.Monster;
-import data.GameDatabase;
+import characters.MonsterFactory;
+import characters.MonsterSampler;
+import characters.MonsterTemplate;
+import characters.Party;
 import items.Spell;
-import util.InputHelper;
+import util.InputSource;
+import util.QueueInputSource;
+import util.RandomStreams;
 import util.AsciiArt;
+import util.DiscardingPrintStream;
 import world.Tile;
 import world.TileType;
+import world.DistanceField;
+import world.LaneLayout;
+import world.TerrainMix;
 import world.ValorWorld;
+import world.WorldRenderer;
+import combat.CombatEventSink;
+import combat.ConsoleCombatSink;
 import combat.ValorBattleEngine;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 
 /**
  * Legends of Valor game implementation.
  */
 public class LegendsOfValor extends RPG {
+    // Rejected commands a policy may issue before its hero is forced to pass
+    public static final int MAX_POLICY_ATTEMPTS = 8;
+
     private ValorWorld world;
+    private LaneLayout layout;
+    private TerrainMix terrain;
     private ValorBattleEngine battleEngine;
     private final List<Monster> monsters;
     private int roundCounter;
+    // Hero whose turn is being played; a fork resumes the round with this hero
+    private int currentHeroIdx;
+    private int resumeHeroIdx;
     private Difficulty difficulty;
+    // Streams for monster spawns and for the hero policy, split in setupBattlefield
+    private Random spawnRandom;
+    private Random policyRandom;
+
+    // Headless mode: heroes are driven by a policy instead of the keyboard
+    private HeroPolicy heroPolicy;
+    private int maxRounds;
+    // Where combat reports go; headless games discard them unless a sink is set
+    private CombatEventSink combatEventSink = ConsoleCombatSink.INSTANCE;
+    // Optional one-line outlook shown on the battle info screen
+    private Function<LegendsOfValor, String> statusHint;
 
     public LegendsOfValor() {
         super();
+        this.layout = LaneLayout.CLASSIC;
+        this.terrain = TerrainMix.VALOR;
         this.monsters = new ArrayList<>();
         this.roundCounter = 0;
         this.difficulty = Difficulty.EASY;
+        this.maxRounds = Integer.MAX_VALUE;
+    }
+
+    public LegendsOfValor(InputSource input) {
+        super(input);
+        this.layout = LaneLayout.CLASSIC;
+        this.terrain = TerrainMix.VALOR;
+        this.monsters = new ArrayList<>();
+        this.roundCounter = 0;
+        this.difficulty = Difficulty.EASY;
+        this.maxRounds = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Create a headless game with a pre-built party driven by a hero policy.
+     */
+    public LegendsOfValor(Difficulty difficulty, List<Hero> heroes, HeroPolicy heroPolicy) {
+        this(difficulty, heroes, heroPolicy, LaneLayout.CLASSIC);
+    }
+
+    /**
+     * Create a headless game on a custom map. Heroes are spread over the lanes
+     * in turn, so a party may be larger than the number of lanes, up to one
+     * hero per Nexus cell.
+     */
+    public LegendsOfValor(Difficulty difficulty, List<Hero> heroes, HeroPolicy heroPolicy, LaneLayout layout) {
+        this(difficulty, heroes, heroPolicy, layout, TerrainMix.VALOR);
+    }
+
+    /**
+     * Create a headless game on a custom map with custom terrain ratios.
+     */
+    public LegendsOfValor(Difficulty difficulty, List<Hero> heroes, HeroPolicy heroPolicy,
+            LaneLayout layout, TerrainMix terrain) {
+        // An empty queue fails fast if anything still asks for typed input
+        this(new QueueInputSource());
+        if (heroes.size() > layout.getNexusCells()) {
+            throw new IllegalArgumentException("A " + layout + " has room for " + layout.getNexusCells() +
+                " heroes, not " + heroes.size());
+        }
+        this.layout = layout;
+        this.terrain = terrain;
+        this.difficulty = difficulty;
+        this.heroPolicy = heroPolicy;
+        this.combatEventSink = CombatEventSink.NONE;
+        this.party = new Party();
+        for (Hero hero : heroes) {
+            party.addHero(hero);
+        }
+    }
+
+    /**
+     * Copy a game in progress; see fork.
+     */
+    private LegendsOfValor(LegendsOfValor source, HeroPolicy heroPolicy, RandomStreams randomStreams) {
+        super(new QueueInputSource(), source.catalog);
+        this.layout = source.layout;
+        this.terrain = source.terrain;
+        this.difficulty = source.difficulty;
+        this.roundCounter = source.roundCounter;
+        this.resumeHeroIdx = source.currentHeroIdx;
+        this.maxRounds = Integer.MAX_VALUE;
+        this.heroPolicy = heroPolicy;
+        this.combatEventSink = CombatEventSink.NONE;
+        this.randomStreams = randomStreams;
+        setOutput(DiscardingPrintStream.INSTANCE);
+
+        Map<Hero, Hero> heroCopies = new IdentityHashMap<>();
+        this.party = new Party();
+        for (Hero hero : source.party.getHeroes()) {
+            Hero copy = hero.copy();
+            heroCopies.put(hero, copy);
+            party.addHero(copy);
+        }
+        Map<Monster, Monster> monsterCopies = new IdentityHashMap<>();
+        this.monsters = new ArrayList<>();
+        for (Monster monster : source.monsters) {
+            Monster copy = monster.copy();
+            monsterCopies.put(monster, copy);
+            monsters.add(copy);
+        }
+
+        // Same stream order as setupBattlefield
+        world = source.world.copy(hero -> heroCopies.computeIfAbsent(hero, Hero::copy),
+            monster -> monsterCopies.computeIfAbsent(monster, Monster::copy), randomStreams.newStream());
+        world.getRenderer().setMode(WorldRenderer.Mode.OFF, out());
+        battleEngine = new ValorBattleEngine(world, party, monsters, input, randomStreams.newStream());
+        battleEngine.setEventSink(combatEventSink);
+        battleEngine.setOutput(out());
+        spawnRandom = randomStreams.newStream();
+        policyRandom = randomStreams.newStream();
+    }
+
+    /**
+     * Independent copy of a game in progress, for playing out possible futures.
+     * Units, battlefield, round and difficulty are copied and play resumes with
+     * the hero whose turn it is. The fork is headless: heroes follow the given
+     * policy, every random draw comes from the given streams, and nothing is
+     * printed, rendered or reported. Play it with runHeadless.
+     */
+    public LegendsOfValor fork(HeroPolicy heroPolicy, RandomStreams randomStreams) {
+        if (world == null) {
+            throw new IllegalStateException("Only a game in progress can be forked");
+        }
+        return new LegendsOfValor(this, heroPolicy, randomStreams);
     }
 
     @Override
     protected void displayWelcome() {
-        AsciiArt.displayLegendsOfValorIntro();
+        AsciiArt.displayLegendsOfValorIntro(out());
     }
 
     /**
      * Display difficulty selection menu.
      */
     private void selectDifficulty() {
-        System.out.println("\n" + "===========================================================");
-        System.out.println("  SELECT DIFFICULTY");
-        System.out.println("===========================================================");
+        out().println("\n" + "===========================================================");
+        out().println("  SELECT DIFFICULTY");
+        out().println("===========================================================");
         
         Difficulty[] difficulties = Difficulty.values();
         for (int i = 0; i < difficulties.length; i++) {
-            System.out.println((i + 1) + ") " + difficulties[i].name() + 
+            out().println((i + 1) + ") " + difficulties[i].name() + 
                 " - " + difficulties[i].getDescription());
         }
-        System.out.println("===========================================================");
+        out().println("===========================================================");
 
-        int choice = InputHelper.readInt("Choose difficulty (1-3): ", 1, difficulties.length);
+        int choice = input.readInt("Choose difficulty (1-3): ", 1, difficulties.length);
         this.difficulty = difficulties[choice - 1];
 
-        System.out.println("\nDifficulty set to: " + difficulty.name());
-        System.out.println(difficulty.getDescription());
-        System.out.println();
+        out().println("\nDifficulty set to: " + difficulty.name());
+        out().println(difficulty.getDescription());
+        out().println();
     }
 
     @Override
     protected int getRequiredHeroCount() {
-        return 3; // Valor always uses exactly 3 heroes
+        return layout.getLaneCount(); // One hero per lane
     }
 
     @Override
@@ -70,46 +211,90 @@ public class LegendsOfValor extends RPG {
         displayWelcome();
         selectDifficulty();;
         setupParty();
-        world = new ValorWorld();
-        battleEngine = new ValorBattleEngine(world, party, monsters);
-
-        placeHeroesAtBottomNexus();
-        placeMonstersAtTopNexus();
+        setupBattlefield();
 
         gameLoop();
+        world.closeDisplay(out());
         endGame();
     }
 
+    /**
+     * Run a complete game without keyboard input, using the hero policy.
+     * The game ends as a ROUND_LIMIT result if neither side wins within maxRounds.
+     * A forked game continues from where it was forked.
+     */
+    public GameResult runHeadless(int maxRounds) {
+        if (heroPolicy == null) {
+            throw new IllegalStateException("Headless games require a hero policy");
+        }
+        this.maxRounds = maxRounds;
+        if (world == null) {
+            setupBattlefield();
+        }
+        gameLoop();
+        return getResult();
+    }
+
+    /**
+     * Create the world and battle engine, then place both sides on their Nexus.
+     */
+    private void setupBattlefield() {
+        // Split in a fixed order so a seed always maps to the same streams
+        world = new ValorWorld(layout, terrain, randomStreams.newStream());
+        applyRenderMode(world);
+        battleEngine = new ValorBattleEngine(world, party, monsters, input, randomStreams.newStream());
+        battleEngine.setEventSink(combatEventSink);
+        battleEngine.setOutput(out());
+        spawnRandom = randomStreams.newStream();
+        policyRandom = randomStreams.newStream();
+
+        placeHeroesAtBottomNexus();
+        placeMonstersAtTopNexus();
+    }
+
     @Override
     protected void gameLoop() {
         while (gameRunning) {
             // Display round number at the start of each round
-            System.out.println("\n" + "===========================================================");
-            System.out.println("  ROUND " + (roundCounter + 1));
-            System.out.println("===========================================================");
+            out().println("\n" + "===========================================================");
+            out().println("  ROUND " + (roundCounter + 1));
+            out().println("===========================================================");
 
-            world.display();
+            world.display(out());
 
             if (battleEngine.checkHeroVictory()) {
-                gameRunning = false;
+                finish(GameResult.Outcome.HEROES_WIN);
                 break;
             }
 
             if (battleEngine.checkMonsterVictory()) {
-                gameRunning = false;
+                finish(GameResult.Outcome.MONSTERS_WIN);
                 break;
             }
 
-            int heroesToPlay = Math.min(3, party.size());
-            for (int heroIdx = 0; heroIdx < heroesToPlay && gameRunning; heroIdx++) {
+            if (roundCounter >= maxRounds) {
+                finish(GameResult.Outcome.ROUND_LIMIT);
+                break;
+            }
+
+            int heroesToPlay = party.size();
+            int firstHero = resumeHeroIdx;
+            resumeHeroIdx = 0;
+            for (int heroIdx = firstHero; heroIdx < heroesToPlay && gameRunning; heroIdx++) {
+                currentHeroIdx = heroIdx;
                 Hero hero = party.getHero(heroIdx);
 
                 boolean turnComplete = false;
+                int attempt = 0;
                 while (!turnComplete && gameRunning) {
-                    System.out.println();
-                    System.out.println("\n--- H" + (heroIdx + 1) + " Turn (" + hero.getName() + ") ---");
+                    out().println();
+                    out().println("\n--- H" + (heroIdx + 1) + " Turn (" + hero.getName() + ") ---");
+                    if (heroPolicy != null && attempt >= MAX_POLICY_ATTEMPTS) {
+                        turnComplete = passTurn(hero);
+                        break;
+                    }
                     displayControls(hero);
-                    char cmd = Character.toLowerCase(InputHelper.readChar("Command: "));
+                    char cmd = Character.toLowerCase(readCommand(hero, heroIdx, attempt++));
                     switch (cmd) {
                         case 'w':
                             turnComplete = attemptMove(hero, -1, 0);
@@ -138,41 +323,38 @@ public class LegendsOfValor extends RPG {
                         case 'o':
                             turnComplete = attemptRemoveObstacle(hero);
                             break;
-                        case 'v':
-                            // Use inherited inventory management from RPG
-                            turnComplete = manageInventory(hero);
-                            break;
-                        case 'm':
-                            attemptMarket(hero);
-                            world.display();
-                            break;
-                        case 'i':
-                            displayBattleInfo();
-                            world.display();
-                            break;
-                        case 'h':
-                            displayHelpScreen();
-                            world.display();
-                            break;
                         case 'p':
                             // Pass turn - hero does nothing
                             turnComplete = passTurn(hero);
                             break;
                         case 'q':
-                            gameRunning = false;
+                            finish(GameResult.Outcome.QUIT);
+                            break;
+                        case 'v':
+                        case 'm':
+                        case 'i':
+                        case 'h':
+                            // Interactive screens need a person at the keyboard
+                            if (heroPolicy != null) {
+                                out().println("Command not available in headless mode.");
+                                break;
+                            }
+                            turnComplete = handleInteractiveCommand(cmd, hero);
                             break;
                         default:
-                            System.out.println("Invalid command.");
+                            out().println("Invalid command.");
                             break;
                     }
                 }
                 
                 if (gameRunning && turnComplete && heroIdx < heroesToPlay - 1) {
-                    System.out.println();
-                    world.display();
+                    out().println();
+                    world.display(out());
                 }
             }
 
+            currentHeroIdx = 0;
+
             // After all heroes move, monsters move
             if (gameRunning) {
                 moveMonsters();
@@ -193,207 +375,350 @@ public class LegendsOfValor extends RPG {
         }
     }
 
+    /**
+     * Handle the menu-driven commands (inventory, market, info, help).
+     * Returns true if the command consumed the hero's turn.
+     */
+    private boolean handleInteractiveCommand(char cmd, Hero hero) {
+        switch (cmd) {
+            case 'v':
+                // Use inherited inventory management from RPG
+                return manageInventory(hero);
+            case 'm':
+                attemptMarket(hero);
+                break;
+            case 'i':
+                displayBattleInfo();
+                break;
+            case 'h':
+                displayHelpScreen();
+                break;
+        }
+        world.display(out());
+        return false;
+    }
+
+    /**
+     * Read the next command for a hero from the policy or the keyboard.
+     */
+    private char readCommand(Hero hero, int heroIdx, int attempt) {
+        if (heroPolicy != null) {
+            return heroPolicy.chooseCommand(this, hero, heroIdx, attempt);
+        }
+        return input.readChar("Command: ");
+    }
+
+    /**
+     * Read a numbered choice from the policy or the keyboard.
+     * Policy answers outside the range are clamped so a bad policy cannot stall the game.
+     */
+    private int readChoice(Hero hero, String prompt, int min, int max) {
+        if (heroPolicy != null) {
+            int choice = heroPolicy.chooseOption(this, hero, prompt, min, max);
+            return Math.max(min, Math.min(max, choice));
+        }
+        return input.readInt(prompt, min, max);
+    }
+
+    /**
+     * Read a direction from the policy or the keyboard.
+     */
+    private String readDirection(Hero hero, String prompt) {
+        if (heroPolicy != null) {
+            String dir = heroPolicy.chooseDirection(this, hero);
+            return dir != null ? dir : "";
+        }
+        return input.readString(prompt);
+    }
+
+    /**
+     * Stop the game and record how it ended.
+     */
+    private void finish(GameResult.Outcome outcome) {
+        finish(new GameResult(outcome, roundCounter));
+    }
+
+    public ValorWorld getWorld() {
+        return world;
+    }
+
+    public ValorBattleEngine getBattleEngine() {
+        return battleEngine;
+    }
+
+    public Party getParty() {
+        return party;
+    }
+
+    public List<Monster> getMonsters() {
+        return monsters;
+    }
+
+    public int getRoundCounter() {
+        return roundCounter;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public LaneLayout getLayout() {
+        return layout;
+    }
+
+    public TerrainMix getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Policy driving the heroes, or null when they are played from the keyboard.
+     */
+    public HeroPolicy getHeroPolicy() {
+        return heroPolicy;
+    }
+
+    /**
+     * Replace the hero policy of a headless game, e.g. with a recording wrapper.
+     * Call before the game starts.
+     */
+    public void setHeroPolicy(HeroPolicy heroPolicy) {
+        this.heroPolicy = heroPolicy;
+    }
+
+    /**
+     * End the game as a ROUND_LIMIT result once this many rounds are complete.
+     * Call before the game starts; runHeadless sets its own limit.
+     */
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Random stream reserved for the hero policy, so random policies replay with the game seed.
+     */
+    public Random getPolicyRandom() {
+        return policyRandom;
+    }
+
+    /**
+     * Send combat reports to the given sink, e.g. a ring buffer to inspect a
+     * headless game or the console sink to watch it. Call before the game starts.
+     */
+    public void setCombatEventSink(CombatEventSink combatEventSink) {
+        this.combatEventSink = combatEventSink;
+    }
+
+    /**
+     * Show a line computed from the live game at the bottom of the battle info
+     * screen, e.g. a win-probability estimate. The function must not change the game.
+     */
+    public void setStatusHint(Function<LegendsOfValor, String> statusHint) {
+        this.statusHint = statusHint;
+    }
+
     /**
      * Display comprehensive battle information for all heroes and monsters.
      */
     private void displayBattleInfo() {
-        System.out.println("\n" + "===========================================================");
-        System.out.println("  BATTLE STATUS");
-        System.out.println("===========================================================");
+        out().println("\n" + "===========================================================");
+        out().println("  BATTLE STATUS");
+        out().println("===========================================================");
 
         // Display all heroes
-        System.out.println("\n=== YOUR HEROES ===");
+        out().println("\n=== YOUR HEROES ===");
         for (int i = 0; i < party.size(); i++) {
             Hero hero = party.getHero(i);
-            System.out.print("[H" + (i + 1) + "] ");
-            hero.displayStats();
-            System.out.println();
+            out().print("[H" + (i + 1) + "] ");
+            hero.displayStats(out());
+            int steps = world.getMonsterNexusDistances().distance(hero.getRow(), hero.getCol());
+            out().println("Steps to Monster Nexus: "
+                + (steps == DistanceField.UNREACHABLE ? "blocked" : String.valueOf(steps)));
+            out().println();
         }
 
         // Display all monsters
-        System.out.println("\n=== ENEMY MONSTERS ===");
+        out().println("\n=== ENEMY MONSTERS ===");
         if (monsters.isEmpty()) {
-            System.out.println("No monsters remain on the battlefield!");
+            out().println("No monsters remain on the battlefield!");
         } else {
             for (int i = 0; i < monsters.size(); i++) {
                 Monster monster = monsters.get(i);
-                System.out.print("[M" + (i + 1) + "] ");
-                monster.displayStats();
-                System.out.println();
+                out().print("[M" + (i + 1) + "] ");
+                monster.displayStats(out());
+                out().println();
             }
         }
 
-        System.out.println("===========================================================");
+        if (statusHint != null) {
+            out().println("\n=== OUTLOOK ===");
+            out().println(statusHint.apply(this));
+        }
+
+        out().println("===========================================================");
     }
 
     /**
      * Display comprehensive help screen with game instructions.
      */
     private void displayHelpScreen() {
-        System.out.println("\n" + "===========================================================================");
-        System.out.println("                    LEGENDS OF VALOR - HOW TO PLAY");
-        System.out.println("===========================================================================");
+        out().println("\n" + "===========================================================================");
+        out().println("                    LEGENDS OF VALOR - HOW TO PLAY");
+        out().println("===========================================================================");
         
-        System.out.println("\n OBJECTIVE:");
-        System.out.println("  • Heroes: Reach the Monster Nexus (top row) to win");
-        System.out.println("  • Monsters: Prevent heroes from reaching their Nexus");
-        System.out.println("  • If a monster reaches the Hero Nexus (bottom row), you lose!");
+        out().println("\n OBJECTIVE:");
+        out().println("  • Heroes: Reach the Monster Nexus (top row) to win");
+        out().println("  • Monsters: Prevent heroes from reaching their Nexus");
+        out().println("  • If a monster reaches the Hero Nexus (bottom row), you lose!");
         
-        System.out.println("\n MAP LAYOUT:");
-        System.out.println("  • 8x8 grid divided into 3 vertical lanes");
-        System.out.println("  • Columns 2 and 5 are inaccessible barriers (X)");
-        System.out.println("  • Row 0: Monster Nexus (N) - Hero victory condition");
-        System.out.println("  • Row 7: Hero Nexus (N) - Monster victory condition");
+        out().println("\n MAP LAYOUT:");
+        out().println("  • " + layout.getRows() + "x" + layout.getCols() + " grid divided into "
+            + layout.getLaneCount() + " vertical lanes");
+        out().println("  • Columns between lanes are inaccessible barriers (X)");
+        out().println("  • Row " + layout.getMonsterNexusRow() + ": Monster Nexus (N) - Hero victory condition");
+        out().println("  • Row " + layout.getHeroNexusRow() + ": Hero Nexus (N) - Monster victory condition");
         
-        System.out.println("\n CONTROLS:");
-        System.out.println("  W/A/S/D  - Move (North/West/South/East)");
-        System.out.println("  F        - Attack adjacent monster");
-        System.out.println("  C        - Cast spell on adjacent monster");
-        System.out.println("  T        - Teleport to another lane");
-        System.out.println("  R        - Recall to your spawn Nexus");
-        System.out.println("  O        - Remove adjacent obstacle");
-        System.out.println("  V        - Manage inventory (equip/use items)");
-        System.out.println("  M        - Market (only at Nexus tiles)");
-        System.out.println("  I        - Display battle information");
-        System.out.println("  H        - Help (this screen)");
-        System.out.println("  P        - Pass turn");
-        System.out.println("  Q        - Quit game");
+        out().println("\n CONTROLS:");
+        out().println("  W/A/S/D  - Move (North/West/South/East)");
+        out().println("  F        - Attack adjacent monster");
+        out().println("  C        - Cast spell on adjacent monster");
+        out().println("  T        - Teleport to another lane");
+        out().println("  R        - Recall to your spawn Nexus");
+        out().println("  O        - Remove adjacent obstacle");
+        out().println("  V        - Manage inventory (equip/use items)");
+        out().println("  M        - Market (only at Nexus tiles)");
+        out().println("  I        - Display battle information");
+        out().println("  H        - Help (this screen)");
+        out().println("  P        - Pass turn");
+        out().println("  Q        - Quit game");
         
-        System.out.println("\n  TERRAIN TYPES:");
-        System.out.println("  N - Nexus       (Spawn zones, market access)");
-        System.out.println("  P - Plain       (No special effect)");
-        System.out.println("  B - Bush        (+10% Dexterity → better spell damage)");
-        System.out.println("  C - Cave        (+10% Agility → better dodge chance)");
-        System.out.println("  K - Koulou      (+10% Strength → better physical damage)");
-        System.out.println("  O - Obstacle    (Blocks movement, can be removed)");
-        System.out.println("  X - Inaccessible (Permanent lane barriers)");
+        out().println("\n  TERRAIN TYPES:");
+        out().println("  N - Nexus       (Spawn zones, market access)");
+        out().println("  P - Plain       (No special effect)");
+        out().println("  B - Bush        (+10% Dexterity → better spell damage)");
+        out().println("  C - Cave        (+10% Agility → better dodge chance)");
+        out().println("  K - Koulou      (+10% Strength → better physical damage)");
+        out().println("  O - Obstacle    (Blocks movement, can be removed)");
+        out().println("  X - Inaccessible (Permanent lane barriers)");
         
-        System.out.println("\n  COMBAT RULES:");
-        System.out.println("  • Heroes can only attack/cast spells on adjacent monsters (range 1)");
-        System.out.println("  • Heroes CANNOT move north past monsters in their lane");
-        System.out.println("  • Monsters move south automatically toward Hero Nexus");
-        System.out.println("  • Monsters CANNOT move past heroes in their lane");
-        System.out.println("  • Defeated heroes respawn at their Nexus with full HP/MP");
-        System.out.println("  • Defeated monsters are removed and drop gold/XP");
+        out().println("\n  COMBAT RULES:");
+        out().println("  • Heroes can only attack/cast spells on adjacent monsters (range 1)");
+        out().println("  • Heroes CANNOT move north past monsters in their lane");
+        out().println("  • Monsters move south automatically toward Hero Nexus");
+        out().println("  • Monsters CANNOT move past heroes in their lane");
+        out().println("  • Defeated heroes respawn at their Nexus with full HP/MP");
+        out().println("  • Defeated monsters are removed and drop gold/XP");
         
-        System.out.println("\n STRATEGY TIPS:");
-        System.out.println("  • Use terrain strategically (Bush for spells, Cave for dodging)");
-        System.out.println("  • Teleport between lanes to support teammates");
-        System.out.println("  • Shop at Nexus tiles to buy better equipment");
-        System.out.println("  • Remove obstacles to create clear paths");
-        System.out.println("  • Balance offense (pushing forward) with defense (blocking monsters)");
-        System.out.println("  • Heroes recover 10% HP/MP at end of each round");
+        out().println("\n STRATEGY TIPS:");
+        out().println("  • Use terrain strategically (Bush for spells, Cave for dodging)");
+        out().println("  • Teleport between lanes to support teammates");
+        out().println("  • Shop at Nexus tiles to buy better equipment");
+        out().println("  • Remove obstacles to create clear paths");
+        out().println("  • Balance offense (pushing forward) with defense (blocking monsters)");
+        out().println("  • Heroes recover 10% HP/MP at end of each round");
         
-        System.out.println("\n  DIFFICULTY LEVELS:");
-        System.out.println("  • EASY:   Monsters spawn every 8 rounds");
-        System.out.println("  • MEDIUM: Monsters spawn every 6 rounds");
-        System.out.println("  • HARD:   Monsters spawn every 4 rounds");
-        System.out.println("  Current: " + difficulty.name() + " - Next spawn in " + 
+        out().println("\n  DIFFICULTY LEVELS:");
+        out().println("  • EASY:   Monsters spawn every 8 rounds");
+        out().println("  • MEDIUM: Monsters spawn every 6 rounds");
+        out().println("  • HARD:   Monsters spawn every 4 rounds");
+        out().println("  Current: " + difficulty.name() + " - Next spawn in " + 
             (difficulty.getSpawnInterval() - (roundCounter % difficulty.getSpawnInterval())) + 
             " rounds");
         
-        System.out.println("\n MARKET ACCESS:");
-        System.out.println("  • Available only at Nexus tiles (N)");
-        System.out.println("  • Buy weapons, armor, potions, and spells");
-        System.out.println("  • Sell unwanted items for gold");
-        System.out.println("  • Check required levels before purchasing");
+        out().println("\n MARKET ACCESS:");
+        out().println("  • Available only at Nexus tiles (N)");
+        out().println("  • Buy weapons, armor, potions, and spells");
+        out().println("  • Sell unwanted items for gold");
+        out().println("  • Check required levels before purchasing");
         
-        System.out.println("\n INVENTORY MANAGEMENT:");
-        System.out.println("  • Equipping weapons/armor CONSUMES your turn");
-        System.out.println("  • Using potions CONSUMES your turn");
-        System.out.println("  • Viewing inventory does NOT consume turn");
-        System.out.println("  • Spells are single-use and removed after casting");
+        out().println("\n INVENTORY MANAGEMENT:");
+        out().println("  • Equipping weapons/armor CONSUMES your turn");
+        out().println("  • Using potions CONSUMES your turn");
+        out().println("  • Viewing inventory does NOT consume turn");
+        out().println("  • Spells are single-use and removed after casting");
         
-        System.out.println("\n" + "===========================================================================");
-        System.out.println("Press ENTER to return to game...");
-        System.out.println("===========================================================================");
+        out().println("\n" + "===========================================================================");
+        out().println("Press ENTER to return to game...");
+        out().println("===========================================================================");
         
-        InputHelper.readChar("");
+        input.readChar("");
     }
 
 
     private void displayControls(Hero hero) {
-        System.out.println("W/A/S/D - Move");
-        System.out.println("F - Attack monster");
-        System.out.println("C - Cast spell");
-        System.out.println("T - Teleport to another lane");
-        System.out.println("R - Recall to Nexus");
-        System.out.println("O - Remove adjacent obstacle");
-        System.out.println("V - Inventory Actions (equipment/potions)");
+        out().println("W/A/S/D - Move");
+        out().println("F - Attack monster");
+        out().println("C - Cast spell");
+        out().println("T - Teleport to another lane");
+        out().println("R - Recall to Nexus");
+        out().println("O - Remove adjacent obstacle");
+        out().println("V - Inventory Actions (equipment/potions)");
         // Only show Market option if hero is at a Nexus
         if (isHeroAtNexus(hero)) {
-            System.out.println("M - Market (buy/sell items)");
+            out().println("M - Market (buy/sell items)");
         }
         
-        System.out.println("I - Info");
-        System.out.println("H - How To Play");
-        System.out.println("P - Pass turn");
-        System.out.println("Q - Quit");
+        out().println("I - Info");
+        out().println("H - How To Play");
+        out().println("P - Pass turn");
+        out().println("Q - Quit");
     }
 
     /**
-     * Spawn 3 new monsters (one per lane) at the top nexus.
+     * Spawn new monsters (one per lane) at the top nexus.
      * Monsters are leveled to match the highest level hero.
      * Called based on diffculty setting.
      */
     private void spawnNewMonsters() {
-        System.out.println("\n" + "===========================================================================");
-        System.out.println("    REINFORCEMENTS ARRIVING! ");
-        System.out.println("  Enemy forces are spawning at the Monster Nexus!");
-        System.out.println("===========================================================================");
+        out().println("\n" + "===========================================================================");
+        out().println("    REINFORCEMENTS ARRIVING! ");
+        out().println("  Enemy forces are spawning at the Monster Nexus!");
+        out().println("===========================================================================");
 
-        GameDatabase db = GameDatabase.getInstance();
         int highestHeroLevel = party.getHighestLevel();
+        MonsterSampler sampler = catalog.getMonsterSampler(difficulty.getSpawnProfile());
         
-        int[] laneCols = {1, 4, 7}; // Monster spawn columns
-        int row = 0; // Top nexus row
+        int row = layout.getMonsterNexusRow();
 
         int spawned = 0;
-        for (int i = 0; i < 3; i++) {
-            Tile tile = world.getTile(row, laneCols[i]);
+        for (int i = 0; i < layout.getLaneCount(); i++) {
+            int col = layout.monsterSpawnCol(i);
+            Tile tile = world.getTile(row, col);
             
             // Only spawn if the tile is empty (no monster already there)
             if (tile != null && !tile.hasMonster() && tile.isAccessible()) {
-                // Get random monster template
-                Monster template = db.getRandomMonster();
+                // Draw a template near the party level, weighted by difficulty
+                MonsterTemplate template = sampler.sample(highestHeroLevel, spawnRandom);
                 if (template == null) {
-                    System.out.println("Could not create monster for lane " + (i + 1) + ".");
+                    out().println("Could not create monster for lane " + (i + 1) + ".");
                     continue;
                 }
 
                 // Create monster at hero level
-                Monster monster = new Monster(
-                    template.getName(),
-                    highestHeroLevel,
-                    template.getMonsterType(),
-                    template.getBaseDamage(),
-                    template.getDefense(),
-                    (int) (template.getDodgeChance() * 100)
-                );
+                Monster monster = MonsterFactory.createFromTemplate(template, highestHeroLevel);
 
                 // Find next available monster ID
                 int monsterId = monsters.size() + 1;
 
                 // Place monster on tile
                 tile.setMonster(monster, monsterId);
-                monster.setPosition(row, laneCols[i]);
+                monster.setPosition(row, col);
                 monster.setLaneIndex(i);
                 monsters.add(monster);
 
-                System.out.println("M" + monsterId + ": " + monster.getName() + 
+                out().println("M" + monsterId + ": " + monster.getName() + 
                     " (Level " + monster.getLevel() + " " + monster.getMonsterType() + 
                     ") spawned in lane " + (i + 1) + "!");
                 spawned++;
             } else {
-                System.out.println("Lane " + (i + 1) + " spawn blocked - monster already present!");
+                out().println("Lane " + (i + 1) + " spawn blocked - monster already present!");
             }
         }
 
         if (spawned > 0) {
-            System.out.println("\n" + spawned + " new monster(s) have joined the battle!");
-            System.out.println("Defend your nexus!\n");
+            out().println("\n" + spawned + " new monster(s) have joined the battle!");
+            out().println("Defend your nexus!\n");
         } else {
-            System.out.println("\nAll spawn points are blocked! No new monsters spawned.\n");
+            out().println("\nAll spawn points are blocked! No new monsters spawned.\n");
         }
     }
 
@@ -401,7 +726,7 @@ public class LegendsOfValor extends RPG {
      * Heroes recover HP and Mana at the end of each round.
      */
     private void recoverHeroes() {
-        System.out.println("\n--- End of Round Recovery ---");
+        out().println("\n--- End of Round Recovery ---");
         
         boolean anyRecovery = false;
         for (Hero hero : party.getHeroes()) {
@@ -415,12 +740,12 @@ public class LegendsOfValor extends RPG {
                 int manaGained = hero.getMana() - oldMana;
                 
                 if (hpGained > 0 || manaGained > 0) {
-                    System.out.println(hero.getName() + " recovers:");
+                    out().println(hero.getName() + " recovers:");
                     if (hpGained > 0) {
-                        System.out.println("  HP: +" + hpGained + " (" + hero.getHp() + "/" + hero.getMaxHp() + ")");
+                        out().println("  HP: +" + hpGained + " (" + hero.getHp() + "/" + hero.getMaxHp() + ")");
                     }
                     if (manaGained > 0) {
-                        System.out.println("  MP: +" + manaGained + " (" + hero.getMana() + "/" + hero.getMaxMana() + ")");
+                        out().println("  MP: +" + manaGained + " (" + hero.getMana() + "/" + hero.getMaxMana() + ")");
                     }
                     anyRecovery = true;
                 }
@@ -428,7 +753,7 @@ public class LegendsOfValor extends RPG {
         }
         
         if (!anyRecovery) {
-            System.out.println("All heroes are at full health and mana!");
+            out().println("All heroes are at full health and mana!");
         }
     }
 
@@ -445,7 +770,7 @@ public class LegendsOfValor extends RPG {
         Tile tile = world.getTile(hero.getRow(), hero.getCol());
         int heroId = tile != null ? tile.getHeroId() : 0;
         
-        System.out.println("H" + heroId + ": " + hero.getName() + 
+        out().println("H" + heroId + ": " + hero.getName() + 
             " observes the battlefield and waits...");
         return true; // Turn consumed
     }
@@ -456,16 +781,16 @@ public class LegendsOfValor extends RPG {
      */
     private void attemptMarket(Hero hero) {
         if (!isHeroAtNexus(hero)) {
-            System.out.println("You must be at a Nexus to access the market!");
-            System.out.println("Use [R] to Recall to your Nexus, or reach the enemy Nexus.");
+            out().println("You must be at a Nexus to access the market!");
+            out().println("Use [R] to Recall to your Nexus, or reach the enemy Nexus.");
             return;
         }
 
-        System.out.println("\n" + "===========================================================================");
-        System.out.println("  NEXUS MARKET");
-        System.out.println("  Welcome, " + hero.getName() + "!");
-        System.out.println("  Trading Post at the Nexus");
-        System.out.println("===========================================================================");
+        out().println("\n" + "===========================================================================");
+        out().println("  NEXUS MARKET");
+        out().println("  Welcome, " + hero.getName() + "!");
+        out().println("  Trading Post at the Nexus");
+        out().println("===========================================================================");
         
         marketEngine.enterMarketForHero(hero);
     }
@@ -476,10 +801,11 @@ public class LegendsOfValor extends RPG {
         int heroId = oldTile != null ? oldTile.getHeroId() : 0;
         
         // If trying to move forward (up), check if we're trying to move PAST a monster in our lane
-        if (dr == -1 && dc == 0) { // Moving up (forward)
-            // Determine which lane the hero is in
-            int laneStartCol = (hero.getCol() / 3) * 3; // 0, 3, or 6
-            int laneEndCol = laneStartCol + 1;
+        // A single bit test rules out the common case of no monster in this lane row
+        int lane = layout.laneOf(hero.getCol());
+        if (dr == -1 && dc == 0 && world.hasMonsterInLane(hero.getRow(), lane)) { // Moving up (forward)
+            int laneStartCol = layout.laneStartCol(lane);
+            int laneEndCol = layout.laneEndCol(lane);
             
             // Check if there's a monster at the same row in another column of this lane
             for (int checkCol = laneStartCol; checkCol <= laneEndCol; checkCol++) {
@@ -489,27 +815,27 @@ public class LegendsOfValor extends RPG {
                 if (sameLevelTile != null && sameLevelTile.hasMonster()) {
                     Monster monster = sameLevelTile.getMonster();
                     int monsterId = sameLevelTile.getMonsterId();
-                    System.out.println("H" + heroId + ": Cannot move past M" + monsterId + 
+                    out().println("H" + heroId + ": Cannot move past M" + monsterId + 
                         " (" + monster.getName() + ") in your lane!");
-                    System.out.println("You must engage it first.");
+                    out().println("You must engage it first.");
                     return false;
                 }
             }
         }
         
-        boolean ok = world.moveHero(hero, dr, dc);
+        boolean ok = world.moveHero(hero, dr, dc, out());
         if (!ok) {
-            System.out.println("H" + heroId + ": Move blocked.");
+            out().println("H" + heroId + ": Move blocked.");
         } else {
             // Check if hero reached the top nexus (row 0)
             if (hero.getRow() == 0) {
-                world.display();
-                System.out.println("\n" + "===========================================================================");
-                System.out.println(" VICTORY! H" + heroId + ": " + hero.getName() + 
+                world.display(out());
+                out().println("\n" + "===========================================================================");
+                out().println(" VICTORY! H" + heroId + ": " + hero.getName() + 
                     " has reached the enemy nexus!");
-                System.out.println("The heroes have won the battle!");
-                System.out.println("============================================================================\n");
-                gameRunning = false;
+                out().println("The heroes have won the battle!");
+                out().println("============================================================================\n");
+                finish(GameResult.Outcome.HEROES_WIN);
             }
         }
         return ok;
@@ -552,13 +878,13 @@ public class LegendsOfValor extends RPG {
         List<Monster> monstersInRange = battleEngine.getMonstersInRange(hero);
         
         if (monstersInRange.isEmpty()) {
-            System.out.println("No monsters in range to attack!");
-            System.out.println("Move adjacent to an enemy first.");
+            out().println("No monsters in range to attack!");
+            out().println("Move adjacent to an enemy first.");
             return false;
         }
 
         // Display available targets
-        System.out.println("\n=== Monsters in Range ===");
+        out().println("\n=== Monsters in Range ===");
         for (int i = 0; i < monstersInRange.size(); i++) {
             Monster m = monstersInRange.get(i);
             
@@ -566,14 +892,14 @@ public class LegendsOfValor extends RPG {
             Tile tile = world.getTile(m.getRow(), m.getCol());
             int monsterId = tile != null ? tile.getMonsterId() : 0;
             
-            System.out.println((i + 1) + ") M" + monsterId + ": " + m.getName() + 
+            out().println((i + 1) + ") M" + monsterId + ": " + m.getName() + 
                 " | HP: " + m.getHp() + 
                 " | Level: " + m.getLevel() +
                 " | Position: (" + m.getRow() + "," + m.getCol() + ")");
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Select target: ", 0, monstersInRange.size());
+        int choice = readChoice(hero, "Select target: ", 0, monstersInRange.size());
         if (choice == 0) {
             return false;
         }
@@ -590,29 +916,29 @@ public class LegendsOfValor extends RPG {
         List<Monster> monstersInRange = battleEngine.getMonstersInRange(hero);
         
         if (monstersInRange.isEmpty()) {
-            System.out.println("No monsters in range to cast spells on!");
-            System.out.println("Move adjacent to an enemy first.");
+            out().println("No monsters in range to cast spells on!");
+            out().println("Move adjacent to an enemy first.");
             return false;
         }
 
         // First, select spell
         List<Spell> spells = hero.getInventory().getSpells();
         if (spells.isEmpty()) {
-            System.out.println(hero.getName() + " has no spells!");
+            out().println(hero.getName() + " has no spells!");
             return false;
         }
 
-        System.out.println("\n=== Available Spells ===");
+        out().println("\n=== Available Spells ===");
         for (int i = 0; i < spells.size(); i++) {
             Spell s = spells.get(i);
-            System.out.println((i + 1) + ") " + s.getName() + 
+            out().println((i + 1) + ") " + s.getName() + 
                 " | Damage: " + s.getDamage() +
                 " | Mana: " + s.getManaCost() + 
                 " | Type: " + s.getSpellType());
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int spellChoice = InputHelper.readInt("Choose spell: ", 0, spells.size());
+        int spellChoice = readChoice(hero, "Choose spell: ", 0, spells.size());
         if (spellChoice == 0) {
             return false;
         }
@@ -621,27 +947,27 @@ public class LegendsOfValor extends RPG {
 
         // Check mana before showing targets
         if (hero.getMana() < spell.getManaCost()) {
-            System.out.println("Insufficient mana! Need " + spell.getManaCost() + 
+            out().println("Insufficient mana! Need " + spell.getManaCost() + 
                 " MP, have " + hero.getMana() + " MP.");
             return false;
         }
 
         // Display available targets
-        System.out.println("\n=== Monsters in Range ===");
+        out().println("\n=== Monsters in Range ===");
         for (int i = 0; i < monstersInRange.size(); i++) {
             Monster m = monstersInRange.get(i);
 
             Tile tile = world.getTile(m.getRow(), m.getCol());
             int monsterId = tile != null ? tile.getMonsterId() : 0;
             
-            System.out.println((i + 1) + ") M" + monsterId + ": " + m.getName() + 
+            out().println((i + 1) + ") M" + monsterId + ": " + m.getName() + 
                 " | HP: " + m.getHp() + 
                 " | Level: " + m.getLevel() +
                 " | Position: (" + m.getRow() + "," + m.getCol() + ")");
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Select target: ", 0, monstersInRange.size());
+        int choice = readChoice(hero, "Select target: ", 0, monstersInRange.size());
         if (choice == 0) {
             return false;
         }
@@ -658,18 +984,18 @@ public class LegendsOfValor extends RPG {
         int spawnCol = hero.getSpawnCol();
 
         if (currentRow == spawnRow && currentCol == spawnCol) {
-            System.out.println(hero.getName() + " is already at their nexus.");
+            out().println(hero.getName() + " is already at their nexus.");
             return false;
         }
 
         Tile spawnTile = world.getTile(spawnRow, spawnCol);
         if (spawnTile == null) {
-            System.out.println("Cannot recall: spawn location is invalid.");
+            out().println("Cannot recall: spawn location is invalid.");
             return false;
         }
 
         if (spawnTile.hasHero()) {
-            System.out.println("Cannot recall: spawn nexus is occupied by another hero.");
+            out().println("Cannot recall: spawn nexus is occupied by another hero.");
             return false;
         }
 
@@ -682,9 +1008,9 @@ public class LegendsOfValor extends RPG {
         spawnTile.setHero(hero, heroIdx + 1);
         hero.setPosition(spawnRow, spawnCol);
 
-        hero.applyTerrainBuff(spawnTile.getType());
+        hero.applyTerrainBuff(spawnTile.getType(), out());
 
-        System.out.println(hero.getName() + " recalled to their nexus at (" + spawnRow + "," + spawnCol + ")!");
+        out().println(hero.getName() + " recalled to their nexus at (" + spawnRow + "," + spawnCol + ")!");
         return true; // Recall consumes turn
     }
 
@@ -695,28 +1021,26 @@ public class LegendsOfValor extends RPG {
         for (int i = 0; i < party.size(); i++) {
             if (i != heroIdx) {
                 Hero other = party.getHero(i);
-                // Check if in different lane (lanes are col 0-1, 3-4, 6-7)
-                int currentLane = hero.getCol() / 3;
-                int otherLane = other.getCol() / 3;
-                if (currentLane != otherLane) {
+                // Check if in different lane
+                if (!layout.sameLane(hero.getCol(), other.getCol())) {
                     otherHeroes.add(other);
                 }
             }
         }
 
         if (otherHeroes.isEmpty()) {
-            System.out.println("No heroes in other lanes to teleport to.");
+            out().println("No heroes in other lanes to teleport to.");
             return false;
         }
 
         // Display hero options
-        System.out.println("\nSelect a hero to teleport near:");
+        out().println("\nSelect a hero to teleport near:");
         for (int i = 0; i < otherHeroes.size(); i++) {
             Hero other = otherHeroes.get(i);
-            System.out.println((i + 1) + ". " + other.getName() + " at (" + other.getRow() + "," + other.getCol() + ")");
+            out().println((i + 1) + ". " + other.getName() + " at (" + other.getRow() + "," + other.getCol() + ")");
         }
 
-        int choice = InputHelper.readInt("Choice (1-" + otherHeroes.size() + "): ", 1, otherHeroes.size());
+        int choice = readChoice(hero, "Choice (1-" + otherHeroes.size() + "): ", 1, otherHeroes.size());
         Hero targetHero = otherHeroes.get(choice - 1);
 
         // Find available adjacent positions (left, right, below only - not above/forward)
@@ -736,18 +1060,18 @@ public class LegendsOfValor extends RPG {
         }
 
         if (validPositions.isEmpty()) {
-            System.out.println("No valid positions available near " + targetHero.getName() + ".");
+            out().println("No valid positions available near " + targetHero.getName() + ".");
             return false;
         }
 
         // Display position options
-        System.out.println("\nSelect a position:");
+        out().println("\nSelect a position:");
         for (int i = 0; i < validPositions.size(); i++) {
             int[] pos = validPositions.get(i);
-            System.out.println((i + 1) + ". " + validNames.get(i) + " of " + targetHero.getName() + " at (" + pos[0] + "," + pos[1] + ")");
+            out().println((i + 1) + ". " + validNames.get(i) + " of " + targetHero.getName() + " at (" + pos[0] + "," + pos[1] + ")");
         }
 
-        int posChoice = InputHelper.readInt("Choice (1-" + validPositions.size() + "): ", 1, validPositions.size());
+        int posChoice = readChoice(hero, "Choice (1-" + validPositions.size() + "): ", 1, validPositions.size());
         int[] targetPos = validPositions.get(posChoice - 1);
 
         // Remove hero from current tile
@@ -762,9 +1086,9 @@ public class LegendsOfValor extends RPG {
         hero.setPosition(targetPos[0], targetPos[1]);
 
         // Apply terrain buff for new tile
-        hero.applyTerrainBuff(targetTile.getType());
+        hero.applyTerrainBuff(targetTile.getType(), out());
 
-        System.out.println(hero.getName() + " teleported to (" + targetPos[0] + "," + targetPos[1] + ")!");
+        out().println(hero.getName() + " teleported to (" + targetPos[0] + "," + targetPos[1] + ")!");
         return true; // Teleport consumes turn
     }
 
@@ -774,12 +1098,12 @@ public class LegendsOfValor extends RPG {
      * Consumes a turn.
      */
     private boolean attemptRemoveObstacle(Hero hero) {
-        System.out.println("\nSelect direction to remove obstacle:");
-        String dirInput = InputHelper.readString("Direction (N/E/S/W/NE/SE/SW/NW): ");
+        out().println("\nSelect direction to remove obstacle:");
+        String dirInput = readDirection(hero, "Direction (N/E/S/W/NE/SE/SW/NW): ");
         
         int[] delta = parseDirection(dirInput);
         if (delta == null) {
-            System.out.println("Invalid direction.");
+            out().println("Invalid direction.");
             return false;
         }
 
@@ -789,83 +1113,76 @@ public class LegendsOfValor extends RPG {
         // Validate target tile exists
         Tile targetTile = world.getTile(targetRow, targetCol);
         if (targetTile == null) {
-            System.out.println("Invalid location.");
+            out().println("Invalid location.");
             return false;
         }
 
         // Check if it's an obstacle
         if (!targetTile.isObstacle()) {
-            System.out.println("No obstacle in that direction.");
-            System.out.println("Obstacles are marked with [O] on the map.");
+            out().println("No obstacle in that direction.");
+            out().println("Obstacles are marked with [O] on the map.");
             return false;
         }
 
         // Remove the obstacle
-        System.out.println(hero.getName() + " clears the obstacle!");
-        ((ValorWorld) world).removeObstacle(targetRow, targetCol);
+        out().println(hero.getName() + " clears the obstacle!");
+        ((ValorWorld) world).removeObstacle(targetRow, targetCol, out());
         
         return true; // Consumes turn
     }
 
     private void placeHeroesAtBottomNexus() {
         if (party.size() == 0) {
-            System.out.println("No heroes in party.");
+            out().println("No heroes in party.");
             return;
         }
 
-        int[] laneCols = { 0, 3, 6 };
-        int row = world.getSize() - 1;
+        int row = layout.getHeroNexusRow();
+        int lanes = layout.getLaneCount();
 
-        int heroesToPlace = Math.min(Math.min(party.size(), laneCols.length), 3);
+        // Heroes go to the lanes in turn; extra heroes take the lane's next column
+        int heroesToPlace = Math.min(party.size(), layout.getNexusCells());
         for (int i = 0; i < heroesToPlace; i++) {
             Hero hero = party.getHero(i);
-            int col = laneCols[i];
+            int lane = i % lanes;
+            int col = layout.heroSpawnCol(lane) + i / lanes;
 
             Tile tile = world.getTile(row, col);
             if (tile == null || !tile.isAccessible() || tile.hasHero()) {
-                System.out.println("Could not place " + hero.getName() + " at (" + row + "," + col + ").");
+                out().println("Could not place " + hero.getName() + " at (" + row + "," + col + ").");
                 continue;
             }
 
             tile.setHero(hero, i + 1);
             hero.setPosition(row, col);
-            hero.setSpawnLocation(row, col, i); // Track spawn location for recall
+            hero.setSpawnLocation(row, col, lane); // Track spawn location for recall
 
             // Apply initial terrain buff (Nexus has no buff)
-            hero.applyTerrainBuff(tile.getType());
+            hero.applyTerrainBuff(tile.getType(), out());
         }
     }
 
-    /** Place 3 monsters on the top nexus (one per lane), randomly selected from Dragons, Exoskeletons, and Spirits. */
+    /** Place one monster per lane on the top nexus, drawn from Dragons, Exoskeletons, and Spirits near the party level. */
     private void placeMonstersAtTopNexus() {
-        GameDatabase db = GameDatabase.getInstance();
-        
-        // One monster per lane (cols 0/3/6 are lane anchors)
-        int[] laneCols = { 1, 4, 7 };
-        int row = 0; // top Nexus row
+        MonsterSampler sampler = catalog.getMonsterSampler(difficulty.getSpawnProfile());
 
-        for (int i = 0; i < 3; i++) {
-            // Randomly pick a monster from the database
-            Monster template = db.getRandomMonster();
+        int row = layout.getMonsterNexusRow();
+
+        for (int i = 0; i < layout.getLaneCount(); i++) {
+            // Draw a monster template near the party level
+            MonsterTemplate template = sampler.sample(party.getHighestLevel(), spawnRandom);
             if (template == null) {
-                System.out.println("Could not create monster M" + (i + 1) + ".");
+                out().println("Could not create monster M" + (i + 1) + ".");
                 continue;
             }
 
             // Create a level 1 monster based on the template
-            Monster monster = new Monster(
-                template.getName(),
-                1, // Starting level
-                template.getMonsterType(),
-                template.getBaseDamage(),
-                template.getDefense(),
-                (int) (template.getDodgeChance() * 100)
-            );
-
-            int col = laneCols[i];
+            Monster monster = MonsterFactory.createFromTemplate(template, 1);
+
+            int col = layout.monsterSpawnCol(i);
             Tile tile = world.getTile(row, col);
             if (tile == null || !tile.isAccessible() || tile.hasMonster()) {
-                System.out.println("Could not place M" + (i + 1) + " at (" + row + "," + col + ").");
+                out().println("Could not place M" + (i + 1) + " at (" + row + "," + col + ").");
                 continue;
             }
 
@@ -873,7 +1190,7 @@ public class LegendsOfValor extends RPG {
             monster.setPosition(row, col);
             monsters.add(monster);
             
-            System.out.println("M" + (i + 1) + ": " + monster.getName() + " (" + monster.getMonsterType() + ") spawned at lane " + (i + 1));
+            out().println("M" + (i + 1) + ": " + monster.getName() + " (" + monster.getMonsterType() + ") spawned at lane " + (i + 1));
         }
     }
 
@@ -881,7 +1198,7 @@ public class LegendsOfValor extends RPG {
      * Move all monsters using unified combat system.
      */
     private void moveMonsters() {
-        System.out.println("\n--- Monster Turn ---");
+        out().println("\n--- Monster Turn ---");
         
         for (Monster monster : new ArrayList<>(monsters)) {
             if (monster.isFainted()) {
@@ -2,18 +2,45 @@ package game;
 
 import characters.*;
 import items.*;
+import data.CatalogFile;
+import data.CatalogSnapshot;
+import data.ItemIndex;
 import data.GameDatabase;
 import util.InputHelper;
+import util.InputSource;
+import java.io.PrintStream;
 import java.util.List;
 
 /**
  * Handles all market interactions.
  */
 public class MarketEngine {
-    private GameDatabase database;
+    private final CatalogSnapshot catalog;
+    private final InputSource input;
+    // Where the menus and receipts are printed
+    private PrintStream output = System.out;
 
     public MarketEngine() {
-        this.database = GameDatabase.getInstance();
+        this(InputHelper.getDefaultSource());
+    }
+
+    public MarketEngine(InputSource input) {
+        this(input, GameDatabase.getInstance().getSnapshot());
+    }
+
+    /**
+     * Create a market that sells the items of the given data snapshot.
+     */
+    public MarketEngine(InputSource input, CatalogSnapshot catalog) {
+        this.catalog = catalog;
+        this.input = input;
+    }
+
+    /**
+     * Print the market to the given stream, normally the game's output.
+     */
+    public void setOutput(PrintStream output) {
+        this.output = output;
     }
 
     /**
@@ -23,18 +50,18 @@ public class MarketEngine {
     public void enterMarketForHero(Hero hero) {
         boolean inMarket = true;
 
-        System.out.println("\n=== WELCOME TO THE MARKET ===");
-        System.out.println("Gold Available: " + hero.getGold());
-        System.out.println();
+        output.println("\n=== WELCOME TO THE MARKET ===");
+        output.println("Gold Available: " + hero.getGold());
+        output.println();
 
         while (inMarket) {
-            System.out.println("\n=== MARKET MENU ===");
-            System.out.println("1) Buy Items");
-            System.out.println("2) Sell Items");
-            System.out.println("3) View Stats");
-            System.out.println("4) Leave Market");
+            output.println("\n=== MARKET MENU ===");
+            output.println("1) Buy Items");
+            output.println("2) Sell Items");
+            output.println("3) View Stats");
+            output.println("4) Leave Market");
 
-            int choice = InputHelper.readInt("", 1, 4);
+            int choice = input.readInt("", 1, 4);
 
             switch (choice) {
                 case 1:
@@ -44,7 +71,7 @@ public class MarketEngine {
                     sellItemsForHero(hero);
                     break;
                 case 3:
-                    hero.displayStats();
+                    hero.displayStats(output);
                     break;
                 case 4:
                     inMarket = false;
@@ -52,7 +79,7 @@ public class MarketEngine {
             }
         }
 
-        System.out.println("\n" + hero.getName() + " leaves the market.");
+        output.println("\n" + hero.getName() + " leaves the market.");
     }
 
     /**
@@ -62,17 +89,17 @@ public class MarketEngine {
     public void enterMarket(Party party) {
         boolean inMarket = true;
 
-        System.out.println("\n=== WELCOME TO THE MARKET ===");
-        System.out.println("A merchant greets you warmly...\n");
+        output.println("\n=== WELCOME TO THE MARKET ===");
+        output.println("A merchant greets you warmly...\n");
 
         while (inMarket) {
-            System.out.println("\n=== MARKET MENU ===");
-            System.out.println("1) Buy Items");
-            System.out.println("2) Sell Items");
-            System.out.println("3) View Heroes");
-            System.out.println("4) Leave Market");
+            output.println("\n=== MARKET MENU ===");
+            output.println("1) Buy Items");
+            output.println("2) Sell Items");
+            output.println("3) View Heroes");
+            output.println("4) Leave Market");
 
-            int choice = InputHelper.readInt("", 1, 4);
+            int choice = input.readInt("", 1, 4);
 
             switch (choice) {
                 case 1:
@@ -82,7 +109,7 @@ public class MarketEngine {
                     sellItems(party);
                     break;
                 case 3:
-                    party.displayDetailedStats();
+                    party.displayDetailedStats(output);
                     break;
                 case 4:
                     inMarket = false;
@@ -95,15 +122,15 @@ public class MarketEngine {
      * Buy items for a specific hero (no selection needed).
      */
     private void buyItemsForHero(Hero hero) {
-        System.out.println("\nGold Available: " + hero.getGold());
-        System.out.println("\n=== Item Categories ===");
-        System.out.println("1) Weapons");
-        System.out.println("2) Armor");
-        System.out.println("3) Potions");
-        System.out.println("4) Spells");
-        System.out.println("5) Back");
+        output.println("\nGold Available: " + hero.getGold());
+        output.println("\n=== Item Categories ===");
+        output.println("1) Weapons");
+        output.println("2) Armor");
+        output.println("3) Potions");
+        output.println("4) Spells");
+        output.println("5) Back");
 
-        int choice = InputHelper.readInt("", 1, 5);
+        int choice = input.readInt("", 1, 5);
 
         switch (choice) {
             case 1:
@@ -130,16 +157,16 @@ public class MarketEngine {
         List<Item> items = hero.getInventory().getItems();
 
         if (items.isEmpty()) {
-            System.out.println(hero.getName() + " has no items to sell.");
+            output.println(hero.getName() + " has no items to sell.");
             return;
         }
 
-        System.out.println("\n=== " + hero.getName() + "'s Inventory ===");
+        output.println("\n=== " + hero.getName() + "'s Inventory ===");
         for (int i = 0; i < items.size(); i++) {
-            System.out.println((i + 1) + ") " + items.get(i) + " | Sell Price: " + items.get(i).getSellPrice());
+            output.println((i + 1) + ") " + items.get(i) + " | Sell Price: " + items.get(i).getSellPrice());
         }
 
-        int choice = InputHelper.readInt("Choose item to sell or 0 to cancel\n", 0, items.size());
+        int choice = input.readInt("Choose item to sell or 0 to cancel\n", 0, items.size());
         if (choice == 0) {
             return;
         }
@@ -147,7 +174,7 @@ public class MarketEngine {
         Item item = items.get(choice - 1);
         hero.getInventory().removeItem(item);
         hero.addGold(item.getSellPrice());
-        System.out.println(hero.getName() + " sold " + item.getName() + " for " + item.getSellPrice() + " gold!");
+        output.println(hero.getName() + " sold " + item.getName() + " for " + item.getSellPrice() + " gold!");
     }
 
     /**
@@ -178,10 +205,11 @@ public class MarketEngine {
      * Buy weapons from the market.
      */
     private void buyWeapons(Hero hero) {
-        List<Weapon> weapons = database.getWeapons();
-        displayItemsForSale(weapons, hero);
+        ItemIndex<Weapon> index = catalog.getIndex(CatalogFile.WEAPONRY);
+        List<Weapon> weapons = index.getItems();
+        displayItemsForSale(index, hero);
 
-        int choice = InputHelper.readInt("Choose item number or 0 to cancel\n", 0, weapons.size());
+        int choice = input.readInt("Choose item number or 0 to cancel\n", 0, weapons.size());
         if (choice == 0) {
             return;
         }
@@ -194,10 +222,11 @@ public class MarketEngine {
      * Buy armor from the market.
      */
     private void buyArmor(Hero hero) {
-        List<Armor> armors = database.getArmors();
-        displayItemsForSale(armors, hero);
+        ItemIndex<Armor> index = catalog.getIndex(CatalogFile.ARMORY);
+        List<Armor> armors = index.getItems();
+        displayItemsForSale(index, hero);
 
-        int choice = InputHelper.readInt("Choose item number or 0 to cancel\n", 0, armors.size());
+        int choice = input.readInt("Choose item number or 0 to cancel\n", 0, armors.size());
         if (choice == 0) {
             return;
         }
@@ -210,10 +239,11 @@ public class MarketEngine {
      * Buy potions from the market.
      */
     private void buyPotions(Hero hero) {
-        List<Potion> potions = database.getPotions();
-        displayItemsForSale(potions, hero);
+        ItemIndex<Potion> index = catalog.getIndex(CatalogFile.POTIONS);
+        List<Potion> potions = index.getItems();
+        displayItemsForSale(index, hero);
 
-        int choice = InputHelper.readInt("Choose item number or 0 to cancel\n", 0, potions.size());
+        int choice = input.readInt("Choose item number or 0 to cancel\n", 0, potions.size());
         if (choice == 0) {
             return;
         }
@@ -226,31 +256,33 @@ public class MarketEngine {
      * Buy spells from the market.
      */
     private void buySpells(Hero hero) {
-        System.out.println("Choose spell type:");
-        System.out.println("1) Fire Spells");
-        System.out.println("2) Ice Spells");
-        System.out.println("3) Lightning Spells");
+        output.println("Choose spell type:");
+        output.println("1) Fire Spells");
+        output.println("2) Ice Spells");
+        output.println("3) Lightning Spells");
 
-        int typeChoice = InputHelper.readInt("", 1, 3);
+        int typeChoice = input.readInt("", 1, 3);
 
-        List<Spell> spells;
+        CatalogFile<Spell> file;
         switch (typeChoice) {
             case 1:
-                spells = database.getFireSpells();
+                file = CatalogFile.FIRE_SPELLS;
                 break;
             case 2:
-                spells = database.getIceSpells();
+                file = CatalogFile.ICE_SPELLS;
                 break;
             case 3:
-                spells = database.getLightningSpells();
+                file = CatalogFile.LIGHTNING_SPELLS;
                 break;
             default:
                 return;
         }
 
-        displayItemsForSale(spells, hero);
+        ItemIndex<Spell> index = catalog.getIndex(file);
+        List<Spell> spells = index.getItems();
+        displayItemsForSale(index, hero);
 
-        int choice = InputHelper.readInt("Choose item number or 0 to cancel\n", 0, spells.size());
+        int choice = input.readInt("Choose item number or 0 to cancel\n", 0, spells.size());
         if (choice == 0) {
             return;
         }
@@ -262,12 +294,15 @@ public class MarketEngine {
     /**
      * Display items for sale.
      */
-    private void displayItemsForSale(List<? extends Item> items, Hero hero) {
-        System.out.println("\n=== SHOP INVENTORY ===");
+    private void displayItemsForSale(ItemIndex<? extends Item> index, Hero hero) {
+        List<? extends Item> items = index.getItems();
+        // Binary search on price, then a level check over the affordable range only
+        boolean[] affordable = index.markAffordable(hero.getGold(), hero.getLevel());
+        output.println("\n=== SHOP INVENTORY ===");
         for (int i = 0; i < items.size(); i++) {
             Item item = items.get(i);
-            String canBuy = canHeroBuyItem(hero, item) ? "" : " (Cannot buy)";
-            System.out.println((i + 1) + ") " + item.getName() + " | Price: " + item.getPrice() +
+            String canBuy = affordable[i] ? "" : " (Cannot buy)";
+            output.println((i + 1) + ") " + item.getName() + " | Price: " + item.getPrice() +
                     " | Level: " + item.getRequiredLevel() + canBuy);
         }
     }
@@ -278,17 +313,17 @@ public class MarketEngine {
     private void purchaseItem(Hero hero, Item item) {
         if (!canHeroBuyItem(hero, item)) {
             if (hero.getGold() < item.getPrice()) {
-                System.out.println("\nInsufficient gold! You need " + item.getPrice() + " but only have "
+                output.println("\nInsufficient gold! You need " + item.getPrice() + " but only have "
                         + hero.getGold() + ".");
             } else if (hero.getLevel() < item.getRequiredLevel()) {
-                System.out.println("\nYou must be level " + item.getRequiredLevel() + " to purchase this item!");
+                output.println("\nYou must be level " + item.getRequiredLevel() + " to purchase this item!");
             }
             return;
         }
 
         hero.spendGold(item.getPrice());
         hero.getInventory().addItem(item);
-        System.out.println(
+        output.println(
                 "\n" + hero.getName() + " purchased " + item.getName() + " for " + item.getPrice() + " gold!");
     }
 
@@ -303,13 +338,13 @@ public class MarketEngine {
      * Select a hero from the party (used by Monsters & Heroes).
      */
     private Hero selectHero(Party party) {
-        System.out.println("\n=== Select Hero ===");
+        output.println("\n=== Select Hero ===");
         for (int i = 0; i < party.size(); i++) {
             Hero h = party.getHero(i);
-            System.out.println((i + 1) + ") " + h.getName() + " (" + h.getGold() + " gold)");
+            output.println((i + 1) + ") " + h.getName() + " (" + h.getGold() + " gold)");
         }
 
-        int choice = InputHelper.readInt("", 1, party.size());
+        int choice = input.readInt("", 1, party.size());
         return party.getHero(choice - 1);
     }
 }
\ No newline at end of file
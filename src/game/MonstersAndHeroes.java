@@ -1,10 +1,13 @@
 package game;
 
 import characters.Hero;
+import combat.BattleOutcome;
+import combat.CombatEventSink;
+import combat.ConsoleCombatSink;
 import combat.MHBattleEngine;
 import items.*;
 import util.AsciiArt;
-import util.InputHelper;
+import util.InputSource;
 import world.*;
 import java.util.List;
 import java.util.Random;
@@ -18,33 +21,53 @@ public class MonstersAndHeroes extends RPG {
     private MHBattleEngine battleEngine;
     private MHWorld world;
     private Random random;
+    private int turnCounter;
+    // Where combat reports go
+    private CombatEventSink combatEventSink = ConsoleCombatSink.INSTANCE;
 
     public MonstersAndHeroes() {
         super();
-        this.random = new Random();
+    }
+
+    public MonstersAndHeroes(InputSource input) {
+        super(input);
+    }
+
+    /**
+     * Send combat reports to the given sink instead of the console,
+     * e.g. CombatEventSink.NONE for a replay. Call before the game starts.
+     */
+    public void setCombatEventSink(CombatEventSink combatEventSink) {
+        this.combatEventSink = combatEventSink;
     }
 
     @Override
     protected void displayWelcome() {
-        AsciiArt.displayMonstersAndHeroesIntro();
+        AsciiArt.displayMonstersAndHeroesIntro(out());
     }
 
     @Override
     protected int getRequiredHeroCount() {
-        return InputHelper.readInt("\nHow many heroes will join your quest? (1-3): ", 1, 3);
+        return input.readInt("\nHow many heroes will join your quest? (1-3): ", 1, 3);
     }
 
     @Override
     public void start() {
         displayWelcome();
         setupParty();
-        world = new MHWorld();
-        battleEngine = new MHBattleEngine(world, party);
+        // Split in a fixed order so a seed always maps to the same streams
+        world = new MHWorld(randomStreams.newStream());
+        applyRenderMode(world);
+        battleEngine = new MHBattleEngine(world, party, input, catalog, randomStreams.newStream());
+        battleEngine.setEventSink(combatEventSink);
+        battleEngine.setOutput(out());
+        random = randomStreams.newStream();
 
-        System.out.println("\nYour epic journey begins!");
-        System.out.println("May fortune favor the bold...\n");
+        out().println("\nYour epic journey begins!");
+        out().println("May fortune favor the bold...\n");
 
         gameLoop();
+        world.closeDisplay(out());
         endGame();
     }
 
@@ -58,24 +81,24 @@ public class MonstersAndHeroes extends RPG {
     }
 
     private void displayWorld() {
-        System.out.println();
-        world.display();
+        out().println();
+        world.display(out());
     }
 
     private void displayControls() {
-        System.out.println("\nControls:");
-        System.out.println("W/A/S/D - Move");
-        System.out.println("M - Market");
-        System.out.println("I - Info");
-        System.out.println("V - Inventory");
-        System.out.println("Q - Quit");
-        System.out.println();
+        out().println("\nControls:");
+        out().println("W/A/S/D - Move");
+        out().println("M - Market");
+        out().println("I - Info");
+        out().println("V - Inventory");
+        out().println("Q - Quit");
+        out().println();
     }
 
     private void handleInput() {
-        char input = InputHelper.readChar("Enter command: ");
+        char command = input.readChar("Enter command: ");
 
-        switch (Character.toLowerCase(input)) {
+        switch (Character.toLowerCase(command)) {
             case 'w':
                 moveParty(-1, 0);
                 break;
@@ -99,10 +122,10 @@ public class MonstersAndHeroes extends RPG {
                 selectHeroForInventory();
                 break;
             case 'q':
-                gameRunning = false;
+                finish(new GameResult(GameResult.Outcome.QUIT, turnCounter));
                 break;
             default:
-                System.out.println("Invalid command!");
+                out().println("Invalid command!");
                 break;
         }
     }
@@ -112,14 +135,14 @@ public class MonstersAndHeroes extends RPG {
      * Uses inherited methods from RPG base class.
      */
     private void selectHeroForInventory() {
-        System.out.println("\n=== Inventory Management ===");
-        System.out.println("Choose hero:");
+        out().println("\n=== Inventory Management ===");
+        out().println("Choose hero:");
         for (int i = 0; i < party.size(); i++) {
-            System.out.println((i + 1) + ") " + party.getHero(i).getName());
+            out().println((i + 1) + ") " + party.getHero(i).getName());
         }
-        System.out.println("0) Back");
+        out().println("0) Back");
 
-        int heroChoice = InputHelper.readInt("", 0, party.size());
+        int heroChoice = input.readInt("", 0, party.size());
         if (heroChoice == 0) {
             return;
         }
@@ -133,7 +156,7 @@ public class MonstersAndHeroes extends RPG {
             manageInventory(hero);
 
             // Ask if they want to continue managing inventory
-            String continueChoice = InputHelper.readString("\nContinue managing inventory? (y/n): ");
+            String continueChoice = input.readString("\nContinue managing inventory? (y/n): ");
             if (!continueChoice.equalsIgnoreCase("y")) {
                 inInventory = false;
             }
@@ -141,7 +164,8 @@ public class MonstersAndHeroes extends RPG {
     }
 
     private void moveParty(int deltaRow, int deltaCol) {
-        if (world.moveHero(null, deltaRow, deltaCol)) {
+        if (world.moveHero(null, deltaRow, deltaCol, out())) {
+            turnCounter++;
             handleTileEvent();
         }
     }
@@ -150,16 +174,18 @@ public class MonstersAndHeroes extends RPG {
         Tile currentTile = world.getCurrentTile();
 
         if (currentTile.isMarket()) {
-            System.out.println("\nYou've discovered a bustling marketplace!");
-            System.out.println("Press [M] to browse wares and trade goods.");
+            out().println("\nYou've discovered a bustling marketplace!");
+            out().println("Press [M] to browse wares and trade goods.");
         } else if (currentTile.isCommon()) {
             if (random.nextDouble() < BATTLE_CHANCE) {
-                boolean won = battleEngine.startBattle(party);
-                if (!won || battleEngine.isQuitRequested()) {
-                    gameRunning = false;
+                BattleOutcome outcome = battleEngine.startBattle(party);
+                if (outcome == BattleOutcome.DEFEAT) {
+                    finish(new GameResult(GameResult.Outcome.MONSTERS_WIN, turnCounter));
+                } else if (outcome == BattleOutcome.QUIT) {
+                    finish(new GameResult(GameResult.Outcome.QUIT, turnCounter));
                 }
             } else {
-                System.out.println("\nThe path ahead is quiet. Your party continues onward.");
+                out().println("\nThe path ahead is quiet. Your party continues onward.");
             }
         }
     }
@@ -168,7 +194,7 @@ public class MonstersAndHeroes extends RPG {
         Tile currentTile = world.getCurrentTile();
 
         if (!currentTile.isMarket()) {
-            System.out.println("\nThere's no market here. Look for a [M] tile on the map!");
+            out().println("\nThere's no market here. Look for a [M] tile on the map!");
             return;
         }
 
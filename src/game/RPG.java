@@ -1,13 +1,20 @@
 package game;
 
 import characters.Hero;
+import characters.HeroTemplate;
 import characters.Party;
+import data.CatalogSnapshot;
 import data.GameDatabase;
 import items.Armor;
 import items.Potion;
 import items.Spell;
 import items.Weapon;
 import util.InputHelper;
+import util.InputSource;
+import util.RandomStreams;
+import world.World;
+import world.WorldRenderer;
+import java.io.PrintStream;
 import java.util.List;
 
 /**
@@ -15,14 +22,79 @@ import java.util.List;
  * Contains shared inventory management and party setup logic.
  */
 public abstract class RPG extends Game {
-    protected GameDatabase database;
+    // Data version this session was started with; reloads do not affect it
+    protected final CatalogSnapshot catalog;
     protected MarketEngine marketEngine;
     protected Party party;
+    protected final InputSource input;
+    // Every random draw of the game comes from streams split off this seed
+    protected RandomStreams randomStreams;
+    // Where this game's console text goes; null follows System.out
+    protected PrintStream output;
+    // How this game's map is drawn; null keeps the default render mode
+    protected WorldRenderer.Mode renderMode;
 
     public RPG() {
+        this(InputHelper.getDefaultSource());
+    }
+
+    public RPG(InputSource input) {
+        this(input, GameDatabase.getInstance().getSnapshot());
+    }
+
+    /**
+     * Create a game on a given data version, e.g. the one a forked game came from.
+     */
+    protected RPG(InputSource input, CatalogSnapshot catalog) {
         super();
-        this.database = GameDatabase.getInstance();
-        this.marketEngine = new MarketEngine();
+        this.input = input;
+        this.catalog = catalog;
+        this.marketEngine = new MarketEngine(input, catalog);
+        this.randomStreams = RandomStreams.withRandomSeed();
+    }
+
+    /**
+     * Replace the random seed. Must be called before the game starts; a game
+     * replayed from the same seed and inputs plays out identically.
+     */
+    public void setRandomStreams(RandomStreams randomStreams) {
+        this.randomStreams = randomStreams;
+    }
+
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+
+    /**
+     * Send this game's console text to the given stream instead of System.out,
+     * e.g. DiscardingPrintStream.INSTANCE to silence a game played off screen.
+     * The world, the battle engine, the market and the characters are handed this stream
+     * as they print. Call before the game starts.
+     */
+    public void setOutput(PrintStream output) {
+        this.output = output;
+        marketEngine.setOutput(out());
+    }
+
+    protected PrintStream out() {
+        return output != null ? output : System.out;
+    }
+
+    /**
+     * Draw this game's map in the given mode instead of the default one,
+     * e.g. OFF for a game nobody watches. Call before the game starts.
+     */
+    public void setRenderMode(WorldRenderer.Mode renderMode) {
+        this.renderMode = renderMode;
+    }
+
+    /**
+     * Apply the chosen render mode to a newly created world.
+     */
+    protected void applyRenderMode(World world) {
+        if (renderMode != null) {
+            world.getRenderer().setMode(renderMode, out());
+        }
     }
 
     protected void setupParty() {
@@ -39,42 +111,34 @@ public abstract class RPG extends Game {
      * Assemble a party with the specified number of heroes.
      */
     protected void setupParty(int numHeroes) {
-        System.out.println("=== ASSEMBLE YOUR PARTY ===");
+        out().println("=== ASSEMBLE YOUR PARTY ===");
 
         party = new Party();
-        List<Hero> availableHeroes = database.getAllHeroes();
+        List<HeroTemplate> availableHeroes = catalog.getHeroes();
 
-        System.out.println("\nLegendary Heroes Available for Recruitment:");
+        out().println("\nLegendary Heroes Available for Recruitment:");
         for (int i = 0; i < availableHeroes.size(); i++) {
-            Hero hero = availableHeroes.get(i);
-            System.out.println((i + 1) + ") " + hero.getName() + " [" + hero.getHeroType() + "]");
+            HeroTemplate hero = availableHeroes.get(i);
+            out().println((i + 1) + ") " + hero.getName() + " [" + hero.getHeroType() + "]");
         }
 
         for (int i = 0; i < numHeroes; i++) {
-            int choice = InputHelper.readInt("\nRecruit hero #" + (i + 1) + ": ", 1, availableHeroes.size());
-            Hero selectedHero = availableHeroes.get(choice - 1);
-
-            Hero hero = new Hero(
-                    selectedHero.getName(),
-                    selectedHero.getLevel(),
-                    selectedHero.getHeroType(),
-                    selectedHero.getMana(),
-                    selectedHero.getStrength(),
-                    selectedHero.getDexterity(),
-                    selectedHero.getAgility(),
-                    selectedHero.getGold());
+            int choice = input.readInt("\nRecruit hero #" + (i + 1) + ": ", 1, availableHeroes.size());
+            HeroTemplate selectedHero = availableHeroes.get(choice - 1);
+
+            Hero hero = selectedHero.recruit();
 
             party.addHero(hero);
-            System.out.println(hero.getName() + " has joined your party!");
+            out().println(hero.getName() + " has joined your party!");
         }
-        System.out.println();
+        out().println();
     }
 
     /**
      * Display party information.
      */
     protected void displayInfo() {
-        party.displayDetailedStats();
+        party.displayDetailedStats(out());
     }
 
     // ========== SHARED INVENTORY MANAGEMENT ==========
@@ -84,14 +148,14 @@ public abstract class RPG extends Game {
      * Returns true if an action that consumes a turn was taken.
      */
     protected boolean manageInventory(Hero hero) {
-        System.out.println("\n=== " + hero.getName() + "'s Equipment & Items ===");
-        System.out.println("1) Equip Weapon");
-        System.out.println("2) Equip Armor");
-        System.out.println("3) Use Potion");
-        System.out.println("4) View Inventory");
-        System.out.println("5) Cancel");
+        out().println("\n=== " + hero.getName() + "'s Equipment & Items ===");
+        out().println("1) Equip Weapon");
+        out().println("2) Equip Armor");
+        out().println("3) Use Potion");
+        out().println("4) View Inventory");
+        out().println("5) Cancel");
 
-        int choice = InputHelper.readInt("Choose action: ", 1, 5);
+        int choice = input.readInt("Choose action: ", 1, 5);
 
         switch (choice) {
             case 1:
@@ -118,21 +182,21 @@ public abstract class RPG extends Game {
         List<Weapon> weapons = hero.getInventory().getWeapons();
 
         if (weapons.isEmpty()) {
-            System.out.println("No weapons in inventory.");
+            out().println("No weapons in inventory.");
             return false;
         }
 
-        System.out.println("\nWeapons:");
+        out().println("\nWeapons:");
         for (int i = 0; i < weapons.size(); i++) {
             Weapon w = weapons.get(i);
-            System.out.println((i + 1) + ") " + w.getName() + 
+            out().println((i + 1) + ") " + w.getName() + 
                 " | Damage: " + w.getDamage() + 
                 " | Hands: " + w.getHandsRequired() +
                 " | Level: " + w.getRequiredLevel());
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose weapon: ", 0, weapons.size());
+        int choice = input.readInt("Choose weapon: ", 0, weapons.size());
         if (choice == 0) {
             return false;
         }
@@ -140,14 +204,14 @@ public abstract class RPG extends Game {
         Weapon weapon = weapons.get(choice - 1);
 
         if (hero.getLevel() < weapon.getRequiredLevel()) {
-            System.out.println("You must be level " + weapon.getRequiredLevel() + 
+            out().println("You must be level " + weapon.getRequiredLevel() + 
                 " to equip " + weapon.getName() + "!");
             return false;
         }
 
         hero.getInventory().removeItem(weapon);
         hero.equipWeapon(weapon);
-        System.out.println(hero.getName() + " equipped " + weapon.getName() + "!");
+        out().println(hero.getName() + " equipped " + weapon.getName() + "!");
 
         return true; // Equipment changed
     }
@@ -160,20 +224,20 @@ public abstract class RPG extends Game {
         List<Armor> armors = hero.getInventory().getArmor();
 
         if (armors.isEmpty()) {
-            System.out.println("No armor in inventory.");
+            out().println("No armor in inventory.");
             return false;
         }
 
-        System.out.println("\nArmor:");
+        out().println("\nArmor:");
         for (int i = 0; i < armors.size(); i++) {
             Armor a = armors.get(i);
-            System.out.println((i + 1) + ") " + a.getName() + 
+            out().println((i + 1) + ") " + a.getName() + 
                 " | Defense: " + a.getDamageReduction() +
                 " | Level: " + a.getRequiredLevel());
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose armor: ", 0, armors.size());
+        int choice = input.readInt("Choose armor: ", 0, armors.size());
         if (choice == 0) {
             return false;
         }
@@ -181,14 +245,14 @@ public abstract class RPG extends Game {
         Armor armor = armors.get(choice - 1);
 
         if (hero.getLevel() < armor.getRequiredLevel()) {
-            System.out.println("You must be level " + armor.getRequiredLevel() + 
+            out().println("You must be level " + armor.getRequiredLevel() + 
                 " to equip " + armor.getName() + "!");
             return false;
         }
 
         hero.getInventory().removeItem(armor);
         hero.equipArmor(armor);
-        System.out.println(hero.getName() + " equipped " + armor.getName() + "!");
+        out().println(hero.getName() + " equipped " + armor.getName() + "!");
 
         return true; // Equipment changed
     }
@@ -201,25 +265,25 @@ public abstract class RPG extends Game {
         List<Potion> potions = hero.getInventory().getPotions();
 
         if (potions.isEmpty()) {
-            System.out.println("No potions in inventory.");
+            out().println("No potions in inventory.");
             return false;
         }
 
-        System.out.println("\nPotions:");
+        out().println("\nPotions:");
         for (int i = 0; i < potions.size(); i++) {
-            System.out.println((i + 1) + ") " + potions.get(i));
+            out().println((i + 1) + ") " + potions.get(i));
         }
-        System.out.println("0) Cancel");
+        out().println("0) Cancel");
 
-        int choice = InputHelper.readInt("Choose potion: ", 0, potions.size());
+        int choice = input.readInt("Choose potion: ", 0, potions.size());
         if (choice == 0) {
             return false;
         }
 
         Potion potion = potions.get(choice - 1);
-        potion.applyEffect(hero);
+        potion.applyEffect(hero, out());
         hero.getInventory().removeItem(potion);
-        System.out.println(hero.getName() + " used " + potion.getName() + "!");
+        out().println(hero.getName() + " used " + potion.getName() + "!");
 
         return true; // Potion used
     }
@@ -229,57 +293,57 @@ public abstract class RPG extends Game {
      * Does not consume turn.
      */
     protected void viewInventory(Hero hero) {
-        System.out.println("\n=== " + hero.getName() + "'s Full Inventory ===");
+        out().println("\n=== " + hero.getName() + "'s Full Inventory ===");
 
         List<Weapon> weapons = hero.getInventory().getWeapons();
         List<Armor> armors = hero.getInventory().getArmor();
         List<Potion> potions = hero.getInventory().getPotions();
         List<Spell> spells = hero.getInventory().getSpells();
 
-        System.out.println("\nWeapons:");
+        out().println("\nWeapons:");
         if (weapons.isEmpty()) {
-            System.out.println("  None");
+            out().println("  None");
         } else {
             for (Weapon w : weapons) {
-                System.out.println("  - " + w);
+                out().println("  - " + w);
             }
         }
 
-        System.out.println("\nArmor:");
+        out().println("\nArmor:");
         if (armors.isEmpty()) {
-            System.out.println("  None");
+            out().println("  None");
         } else {
             for (Armor a : armors) {
-                System.out.println("  - " + a);
+                out().println("  - " + a);
             }
         }
 
-        System.out.println("\nPotions:");
+        out().println("\nPotions:");
         if (potions.isEmpty()) {
-            System.out.println("  None");
+            out().println("  None");
         } else {
             for (Potion p : potions) {
-                System.out.println("  - " + p);
+                out().println("  - " + p);
             }
         }
 
-        System.out.println("\nSpells:");
+        out().println("\nSpells:");
         if (spells.isEmpty()) {
-            System.out.println("  None");
+            out().println("  None");
         } else {
             for (Spell s : spells) {
-                System.out.println("  - " + s);
+                out().println("  - " + s);
             }
         }
 
-        System.out.println("\nCurrently Equipped:");
-        System.out.println("  Weapon: " + (hero.getEquippedWeapon() != null ? 
+        out().println("\nCurrently Equipped:");
+        out().println("  Weapon: " + (hero.getEquippedWeapon() != null ? 
             hero.getEquippedWeapon().getName() : "None"));
-        System.out.println("  Armor: " + (hero.getEquippedArmor() != null ? 
+        out().println("  Armor: " + (hero.getEquippedArmor() != null ? 
             hero.getEquippedArmor().getName() : "None"));
     }
 
     protected void endGame() {
-        System.out.println("\nThanks for playing! Safe travels, hero!\n");
+        out().println("\nThanks for playing! Safe travels, hero!\n");
     }
 }
\ No newline at end of file
@@ -14,6 +14,15 @@ public class Inventory {
         this.items = new ArrayList<>();
     }
 
+    /**
+     * Inventory holding the same items, which can then change independently.
+     */
+    public Inventory copy() {
+        Inventory copy = new Inventory();
+        copy.items.addAll(items);
+        return copy;
+    }
+
     public void addItem(Item item) {
         items.add(item);
     }
@@ -2,6 +2,8 @@ package items;
 
 import characters.Hero;
 
+import java.io.PrintStream;
+
 /**
  * Class for a potion that can increase hero stats.
  */
@@ -24,29 +26,29 @@ public class Potion extends Item {
     }
 
     /**
-     * Apply potion effect to a hero.
+     * Apply potion effect to a hero, reporting it on the given stream.
      */
-    public void applyEffect(Hero hero) {
+    public void applyEffect(Hero hero, PrintStream out) {
         switch (potionType) {
             case HEALTH:
                 hero.setHp(hero.getHp() + effectAmount);
-                System.out.println(hero.getName() + " recovered " + effectAmount + " HP!");
+                out.println(hero.getName() + " recovered " + effectAmount + " HP!");
                 break;
             case MANA:
                 hero.setMana(hero.getMana() + effectAmount);
-                System.out.println(hero.getName() + " recovered " + effectAmount + " MP!");
+                out.println(hero.getName() + " recovered " + effectAmount + " MP!");
                 break;
             case STRENGTH:
-                hero.setStrength(hero.getStrength() + effectAmount);
-                System.out.println(hero.getName() + " gained " + effectAmount + " Strength!");
+                hero.setStrength(hero.getStrength() + effectAmount, out);
+                out.println(hero.getName() + " gained " + effectAmount + " Strength!");
                 break;
             case DEXTERITY:
-                hero.setDexterity(hero.getDexterity() + effectAmount);
-                System.out.println(hero.getName() + " gained " + effectAmount + " Dexterity!");
+                hero.setDexterity(hero.getDexterity() + effectAmount, out);
+                out.println(hero.getName() + " gained " + effectAmount + " Dexterity!");
                 break;
             case AGILITY:
-                hero.setAgility(hero.getAgility() + effectAmount);
-                System.out.println(hero.getName() + " gained " + effectAmount + " Agility!");
+                hero.setAgility(hero.getAgility() + effectAmount, out);
+                out.println(hero.getName() + " gained " + effectAmount + " Agility!");
                 break;
         }
     }
@@ -0,0 +1,472 @@
+package replay;
+
+import game.Difficulty;
+import game.GameResult;
+import world.LaneLayout;
+import world.TerrainMix;
+import world.TileType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Everything needed to play a recorded session again: the seed, the game
+ * setup, the initial Valor terrain and every answer given to the game, in order.
+ *
+ * Random draws are not logged one by one; they are reproduced from the seed
+ * through RandomStreams. Checkpoints hold a checksum of the game state every
+ * few rounds, so a replay that drifts (changed data files or rules) is caught
+ * near the round where it happened.
+ *
+ * Answers are kept in one compact byte array: a tag byte per entry followed
+ * by a varint or a length-prefixed UTF-8 string.
+ */
+public final class MatchLog {
+
+    /**
+     * Which game a log belongs to.
+     */
+    public enum GameKind {
+        MONSTERS_AND_HEROES,
+        LEGENDS_OF_VALOR
+    }
+
+    // "LVRP"
+    private static final int MAGIC = 0x4C565250;
+    private static final int VERSION = 1;
+
+    // Entry tags
+    private static final byte LINE = 1;
+    private static final byte COMMAND = 2;
+    private static final byte OPTION = 3;
+    private static final byte DIRECTION = 4;
+
+    private GameKind kind;
+    private long seed;
+    // Headless games are driven by a hero policy; the others by typed lines
+    private boolean headless;
+    private Difficulty difficulty;
+    private LaneLayout layout = LaneLayout.CLASSIC;
+    private TerrainMix terrain = TerrainMix.VALOR;
+    private final List<String> heroNames = new ArrayList<>();
+    private byte[] initialTerrain = new byte[0];
+    private GameResult result;
+
+    private byte[] entries = new byte[256];
+    private int entryBytes;
+    private int entryCount;
+
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+
+    /**
+     * State checksum taken just before an entry was answered.
+     */
+    public static final class Checkpoint {
+        private final int round;
+        private final int entry;
+        private final int checksum;
+
+        public Checkpoint(int round, int entry, int checksum) {
+            this.round = round;
+            this.entry = entry;
+            this.checksum = checksum;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        /**
+         * Index of the entry the checksum was taken before.
+         */
+        public int getEntry() {
+            return entry;
+        }
+
+        public int getChecksum() {
+            return checksum;
+        }
+    }
+
+    MatchLog(GameKind kind, long seed) {
+        this.kind = kind;
+        this.seed = seed;
+    }
+
+    private MatchLog() {
+    }
+
+    // ========== HEADER ==========
+
+    public GameKind getKind() {
+        return kind;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Difficulty of a headless game; interactive games pick it from the logged input.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public LaneLayout getLayout() {
+        return layout;
+    }
+
+    public TerrainMix getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Party of a headless game, as hero names to recruit from the catalog.
+     */
+    public List<String> getHeroNames() {
+        return Collections.unmodifiableList(heroNames);
+    }
+
+    /**
+     * Tile type ordinal of every cell of the Valor map when play began, row-major;
+     * empty for other games.
+     */
+    public byte[] getInitialTerrain() {
+        return initialTerrain.clone();
+    }
+
+    /**
+     * How the recorded game ended, or null if it never finished.
+     */
+    public GameResult getResult() {
+        return result;
+    }
+
+    void setHeadless(Difficulty difficulty, List<String> heroNames) {
+        this.headless = true;
+        this.difficulty = difficulty;
+        this.heroNames.clear();
+        this.heroNames.addAll(heroNames);
+    }
+
+    void setMap(LaneLayout layout, TerrainMix terrain) {
+        this.layout = layout;
+        this.terrain = terrain;
+    }
+
+    void setInitialTerrain(byte[] initialTerrain) {
+        this.initialTerrain = initialTerrain;
+    }
+
+    boolean hasInitialTerrain() {
+        return initialTerrain.length > 0;
+    }
+
+    void setResult(GameResult result) {
+        this.result = result;
+    }
+
+    // ========== ENTRIES ==========
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Size of the encoded answers in bytes.
+     */
+    public int getEntryBytes() {
+        return entryBytes;
+    }
+
+    void addLine(String line) {
+        addString(LINE, line);
+    }
+
+    void addCommand(char command) {
+        ensureCapacity(4);
+        entries[entryBytes++] = COMMAND;
+        entryBytes = putVarint(entries, entryBytes, command);
+        entryCount++;
+    }
+
+    void addOption(int option) {
+        ensureCapacity(6);
+        entries[entryBytes++] = OPTION;
+        // Zigzag so small negative answers stay one byte
+        entryBytes = putVarint(entries, entryBytes, (option << 1) ^ (option >> 31));
+        entryCount++;
+    }
+
+    void addDirection(String direction) {
+        addString(DIRECTION, direction);
+    }
+
+    private void addString(byte tag, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(6 + bytes.length);
+        entries[entryBytes++] = tag;
+        entryBytes = putVarint(entries, entryBytes, bytes.length);
+        System.arraycopy(bytes, 0, entries, entryBytes, bytes.length);
+        entryBytes += bytes.length;
+        entryCount++;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (entryBytes + extra > entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(entries.length * 2, entryBytes + extra));
+        }
+    }
+
+    private static int putVarint(byte[] buffer, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * Reader over the logged answers. Each read names the kind of answer the
+     * game is asking for; a different kind in the log means the replay drifted.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public final class Cursor {
+        private int pos;
+        private int index;
+
+        private Cursor() {
+        }
+
+        /**
+         * Index of the next entry to be read.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean hasNext() {
+            return index < entryCount;
+        }
+
+        public String nextLine() {
+            expect(LINE, "input line");
+            return readString();
+        }
+
+        public char nextCommand() {
+            expect(COMMAND, "hero command");
+            return (char) readVarint();
+        }
+
+        public int nextOption() {
+            expect(OPTION, "numbered choice");
+            int zigzag = readVarint();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        public String nextDirection() {
+            expect(DIRECTION, "direction");
+            return readString();
+        }
+
+        private void expect(byte tag, String what) {
+            if (index >= entryCount) {
+                throw new NoSuchElementException("Replay log exhausted after " + entryCount + " entries");
+            }
+            if (entries[pos] != tag) {
+                throw new IllegalStateException("Replay diverged at entry " + index +
+                    ": the game asked for a " + what + " the log does not have there");
+            }
+            pos++;
+            index++;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = entries[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private String readString() {
+            int length = readVarint();
+            String value = new String(entries, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+
+    // ========== CHECKPOINTS ==========
+
+    void addCheckpoint(int round, int entry, int checksum) {
+        checkpoints.add(new Checkpoint(round, entry, checksum));
+    }
+
+    public List<Checkpoint> getCheckpoints() {
+        return Collections.unmodifiableList(checkpoints);
+    }
+
+    // ========== BINARY FORM ==========
+
+    public void save(Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(out);
+        }
+    }
+
+    public static MatchLog load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(kind.ordinal());
+        out.writeBoolean(headless);
+        out.writeLong(seed);
+        out.writeByte(difficulty != null ? difficulty.ordinal() + 1 : 0);
+
+        writeVarint(out, layout.getRows());
+        writeVarint(out, layout.getLaneCount());
+        writeVarint(out, layout.getLaneWidth());
+        Map<TileType, Double> ratios = terrain.getRatios();
+        writeVarint(out, ratios.size());
+        for (Map.Entry<TileType, Double> ratio : ratios.entrySet()) {
+            out.writeByte(ratio.getKey().ordinal());
+            out.writeDouble(ratio.getValue());
+        }
+
+        writeVarint(out, heroNames.size());
+        for (String name : heroNames) {
+            out.writeUTF(name);
+        }
+        writeVarint(out, initialTerrain.length);
+        out.write(initialTerrain);
+
+        out.writeByte(result != null ? result.getOutcome().ordinal() + 1 : 0);
+        writeVarint(out, result != null ? result.getRounds() : 0);
+
+        writeVarint(out, entryCount);
+        writeVarint(out, entryBytes);
+        out.write(entries, 0, entryBytes);
+
+        writeVarint(out, checkpoints.size());
+        for (Checkpoint checkpoint : checkpoints) {
+            writeVarint(out, checkpoint.round);
+            writeVarint(out, checkpoint.entry);
+            out.writeInt(checkpoint.checksum);
+        }
+        out.flush();
+    }
+
+    /**
+     * @throws IOException if the stream is not a replay log of a supported version
+     */
+    public static MatchLog read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replay log");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay log version: " + version);
+        }
+        MatchLog log = new MatchLog();
+        log.kind = GameKind.values()[in.readUnsignedByte()];
+        log.headless = in.readBoolean();
+        log.seed = in.readLong();
+        int difficulty = in.readUnsignedByte();
+        log.difficulty = difficulty > 0 ? Difficulty.values()[difficulty - 1] : null;
+
+        int rows = readVarint(in);
+        int lanes = readVarint(in);
+        int laneWidth = readVarint(in);
+        log.layout = new LaneLayout(rows, lanes, laneWidth);
+        int ratioCount = readVarint(in);
+        Map<TileType, Double> ratios = new EnumMap<>(TileType.class);
+        for (int i = 0; i < ratioCount; i++) {
+            TileType type = TileType.values()[in.readUnsignedByte()];
+            ratios.put(type, in.readDouble());
+        }
+        log.terrain = new TerrainMix(ratios);
+
+        int heroCount = readVarint(in);
+        for (int i = 0; i < heroCount; i++) {
+            log.heroNames.add(in.readUTF());
+        }
+        log.initialTerrain = new byte[readVarint(in)];
+        in.readFully(log.initialTerrain);
+
+        int outcome = in.readUnsignedByte();
+        int rounds = readVarint(in);
+        if (outcome > 0) {
+            log.result = new GameResult(GameResult.Outcome.values()[outcome - 1], rounds);
+        }
+
+        log.entryCount = readVarint(in);
+        log.entryBytes = readVarint(in);
+        log.entries = new byte[Math.max(log.entryBytes, 1)];
+        in.readFully(log.entries, 0, log.entryBytes);
+
+        int checkpointCount = readVarint(in);
+        for (int i = 0; i < checkpointCount; i++) {
+            int round = readVarint(in);
+            int entry = readVarint(in);
+            log.checkpoints.add(new Checkpoint(round, entry, in.readInt()));
+        }
+        return log;
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+package replay;
+
+import characters.Hero;
+import game.Game;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+import game.MonstersAndHeroes;
+import game.RPG;
+import util.InputSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records a session into a MatchLog as it is played.
+ *
+ * Interactive sessions: read the game's input through wrap(), and attach the
+ * game once it is created, before it starts. Headless Valor games: attach the
+ * game before runHeadless; its hero policy is wrapped so every decision is
+ * logged. Call finish() afterwards to store the result.
+ */
+public class MatchRecorder {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 25;
+
+    private final int checkpointInterval;
+    private MatchLog log;
+    private RPG game;
+    // Answers read before a game was attached, i.e. the game selection menu
+    private final List<String> pendingLines = new ArrayList<>();
+    private int nextCheckpointRound;
+
+    public MatchRecorder() {
+        this(DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param checkpointInterval rounds between state checksums
+     */
+    public MatchRecorder(int checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointInterval);
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Input source that logs every line read from the given source.
+     */
+    public InputSource wrap(InputSource input) {
+        return new InputSource() {
+            @Override
+            public String nextLine() {
+                String line = input.nextLine();
+                if (log == null) {
+                    pendingLines.add(line);
+                } else {
+                    beforeEntry();
+                    log.addLine(line);
+                }
+                return line;
+            }
+
+            @Override
+            public void close() {
+                input.close();
+            }
+        };
+    }
+
+    /**
+     * Start recording a game. Must be called before the game starts, after any
+     * seed or policy has been set on it.
+     */
+    public void attach(Game game) {
+        if (this.game != null) {
+            throw new IllegalStateException("Recorder is already attached to a game");
+        }
+        if (!(game instanceof LegendsOfValor) && !(game instanceof MonstersAndHeroes)) {
+            throw new IllegalArgumentException("Cannot record " + game.getClass().getSimpleName());
+        }
+        this.game = (RPG) game;
+        MatchLog.GameKind kind = game instanceof LegendsOfValor
+            ? MatchLog.GameKind.LEGENDS_OF_VALOR
+            : MatchLog.GameKind.MONSTERS_AND_HEROES;
+        log = new MatchLog(kind, this.game.getRandomStreams().getSeed());
+        for (String line : pendingLines) {
+            log.addLine(line);
+        }
+        pendingLines.clear();
+
+        if (game instanceof LegendsOfValor) {
+            LegendsOfValor valor = (LegendsOfValor) game;
+            log.setMap(valor.getLayout(), valor.getTerrain());
+            HeroPolicy policy = valor.getHeroPolicy();
+            if (policy != null) {
+                List<String> names = new ArrayList<>();
+                for (Hero hero : valor.getParty().getHeroes()) {
+                    names.add(hero.getName());
+                }
+                log.setHeadless(valor.getDifficulty(), names);
+                valor.setHeroPolicy(new RecordingPolicy(policy));
+            }
+        }
+    }
+
+    /**
+     * Store how the game ended and return the log.
+     */
+    public MatchLog finish() {
+        if (log == null) {
+            throw new IllegalStateException("No game was attached");
+        }
+        log.setResult(game.getResult());
+        return log;
+    }
+
+    public MatchLog getLog() {
+        return log;
+    }
+
+    /**
+     * Capture the Valor map once it exists, and a checksum every few rounds,
+     * just before the next answer is logged.
+     */
+    private void beforeEntry() {
+        if (!(game instanceof LegendsOfValor)) {
+            return;
+        }
+        LegendsOfValor valor = (LegendsOfValor) game;
+        if (valor.getWorld() == null) {
+            return;
+        }
+        if (!log.hasInitialTerrain()) {
+            log.setInitialTerrain(StateChecksum.terrainOf(valor.getWorld().getGrid()));
+        }
+        if (valor.getRoundCounter() >= nextCheckpointRound) {
+            log.addCheckpoint(valor.getRoundCounter(), log.getEntryCount(), StateChecksum.of(valor));
+            nextCheckpointRound = (valor.getRoundCounter() / checkpointInterval + 1) * checkpointInterval;
+        }
+    }
+
+    /**
+     * Passes decisions through from the real policy and logs them.
+     */
+    private final class RecordingPolicy implements HeroPolicy {
+        private final HeroPolicy policy;
+
+        RecordingPolicy(HeroPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt) {
+            char command = policy.chooseCommand(game, hero, heroIdx, attempt);
+            beforeEntry();
+            log.addCommand(command);
+            return command;
+        }
+
+        @Override
+        public int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max) {
+            int option = policy.chooseOption(game, hero, prompt, min, max);
+            beforeEntry();
+            log.addOption(option);
+            return option;
+        }
+
+        @Override
+        public String chooseDirection(LegendsOfValor game, Hero hero) {
+            String direction = policy.chooseDirection(game, hero);
+            beforeEntry();
+            log.addDirection(direction != null ? direction : "");
+            return direction;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package replay;
+
+import characters.Hero;
+import characters.HeroTemplate;
+import combat.CombatEventSink;
+import data.CatalogSnapshot;
+import data.GameDatabase;
+import game.Game;
+import game.GameFactory;
+import game.GameResult;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+import game.MonstersAndHeroes;
+import game.RPG;
+import util.DiscardingPrintStream;
+import util.InputSource;
+import util.RandomStreams;
+import world.WorldRenderer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Plays a MatchLog again at full speed: console output, map rendering and
+ * combat reports are all switched off, and answers come from the log.
+ * Checkpoints are verified on the way, and a Valor replay can stop after any
+ * round to inspect the game there.
+ */
+public class MatchReplayer {
+    private final MatchLog log;
+    private final CatalogSnapshot catalog;
+
+    public MatchReplayer(MatchLog log) {
+        this(log, GameDatabase.getInstance().getSnapshot());
+    }
+
+    public MatchReplayer(MatchLog log, CatalogSnapshot catalog) {
+        this.log = log;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Outcome of a replay.
+     */
+    public static final class Replay {
+        private final Game game;
+        private final int entriesRead;
+        private final int checkpointsVerified;
+        private final boolean logExhausted;
+        private final long elapsedNanos;
+
+        Replay(Game game, int entriesRead, int checkpointsVerified, boolean logExhausted, long elapsedNanos) {
+            this.game = game;
+            this.entriesRead = entriesRead;
+            this.checkpointsVerified = checkpointsVerified;
+            this.logExhausted = logExhausted;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * The replayed game, in the state where the replay stopped.
+         */
+        public Game getGame() {
+            return game;
+        }
+
+        /**
+         * How the replayed game ended, or null if the log ran out first.
+         */
+        public GameResult getResult() {
+            return game.getResult();
+        }
+
+        public int getEntriesRead() {
+            return entriesRead;
+        }
+
+        public int getCheckpointsVerified() {
+            return checkpointsVerified;
+        }
+
+        /**
+         * True if the game asked for more answers than were recorded, e.g. a
+         * session that was cut short while recording.
+         */
+        public boolean isLogExhausted() {
+            return logExhausted;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            GameResult result = getResult();
+            return String.format("%s | Entries: %d | Checkpoints verified: %d | Elapsed: %.2f ms",
+                result != null ? result.getOutcome() + " after " + result.getRounds() + " rounds"
+                    : (logExhausted ? "Log ended" : "Stopped"),
+                entriesRead, checkpointsVerified, elapsedNanos / 1e6);
+        }
+    }
+
+    /**
+     * Replay the whole log.
+     *
+     * @throws IllegalStateException if the replay drifts from the recording
+     */
+    public Replay replay() {
+        return run(-1);
+    }
+
+    /**
+     * Replay a Legends of Valor log up to the end of the given round.
+     *
+     * @throws IllegalStateException if the replay drifts from the recording
+     */
+    public Replay seek(int round) {
+        if (log.getKind() != MatchLog.GameKind.LEGENDS_OF_VALOR) {
+            throw new IllegalStateException("Only Legends of Valor replays can seek to a round");
+        }
+        if (round < 0) {
+            throw new IllegalArgumentException("Round must not be negative: " + round);
+        }
+        return run(round);
+    }
+
+    private Replay run(int stopRound) {
+        Verifier verifier = new Verifier();
+        long start = System.nanoTime();
+        boolean exhausted = false;
+        if (log.isHeadless()) {
+            LegendsOfValor game = createHeadlessGame(verifier);
+            verifier.game = game;
+            int maxRounds = stopRound >= 0 ? stopRound : recordedRoundLimit();
+            try {
+                game.runHeadless(maxRounds);
+            } catch (NoSuchElementException e) {
+                exhausted = true;
+            }
+        } else {
+            InputSource input = verifier.input();
+            Game game = GameFactory.createGameFromUserInput(input, DiscardingPrintStream.INSTANCE);
+            if (game == null) {
+                throw new IllegalStateException("Replay log does not start a game");
+            }
+            RPG rpg = (RPG) game;
+            verifier.game = rpg;
+            silence(rpg);
+            rpg.setRandomStreams(new RandomStreams(log.getSeed()));
+            if (game instanceof LegendsOfValor) {
+                ((LegendsOfValor) game).setCombatEventSink(CombatEventSink.NONE);
+                if (stopRound >= 0) {
+                    ((LegendsOfValor) game).setMaxRounds(stopRound);
+                }
+            } else if (game instanceof MonstersAndHeroes) {
+                ((MonstersAndHeroes) game).setCombatEventSink(CombatEventSink.NONE);
+            }
+            try {
+                game.start();
+            } catch (NoSuchElementException e) {
+                exhausted = true;
+            }
+        }
+        return new Replay(verifier.game, verifier.cursor.getIndex(), verifier.verified, exhausted,
+            System.nanoTime() - start);
+    }
+
+    private LegendsOfValor createHeadlessGame(Verifier verifier) {
+        List<Hero> heroes = new ArrayList<>();
+        for (String name : log.getHeroNames()) {
+            HeroTemplate template = catalog.findHero(name);
+            if (template == null) {
+                throw new IllegalStateException("Hero " + name + " from the replay log is not in the catalog");
+            }
+            heroes.add(template.recruit());
+        }
+        LegendsOfValor game = new LegendsOfValor(log.getDifficulty(), heroes, verifier.policy(),
+            log.getLayout(), log.getTerrain());
+        game.setRandomStreams(new RandomStreams(log.getSeed()));
+        silence(game);
+        return game;
+    }
+
+    /**
+     * Discard the replayed game's console text and skip drawing its map.
+     */
+    private static void silence(RPG game) {
+        game.setOutput(DiscardingPrintStream.INSTANCE);
+        game.setRenderMode(WorldRenderer.Mode.OFF);
+    }
+
+    /**
+     * Round limit the recorded headless game was played with, if it hit one.
+     */
+    private int recordedRoundLimit() {
+        GameResult result = log.getResult();
+        if (result != null && result.getOutcome() == GameResult.Outcome.ROUND_LIMIT) {
+            return result.getRounds();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Feeds logged answers to the game and checks the map and checkpoints
+     * at the same moments the recorder took them.
+     */
+    private final class Verifier {
+        private final MatchLog.Cursor cursor = log.cursor();
+        private final List<MatchLog.Checkpoint> checkpoints = log.getCheckpoints();
+        private RPG game;
+        private boolean terrainChecked;
+        private int verified;
+
+        void beforeEntry() {
+            if (!(game instanceof LegendsOfValor)) {
+                return;
+            }
+            LegendsOfValor valor = (LegendsOfValor) game;
+            if (valor.getWorld() == null) {
+                return;
+            }
+            if (!terrainChecked) {
+                terrainChecked = true;
+                byte[] expected = log.getInitialTerrain();
+                if (expected.length > 0
+                        && !Arrays.equals(expected, StateChecksum.terrainOf(valor.getWorld().getGrid()))) {
+                    throw new IllegalStateException("Replay diverged: the generated map differs from the recording");
+                }
+            }
+            if (verified < checkpoints.size() && checkpoints.get(verified).getEntry() == cursor.getIndex()) {
+                MatchLog.Checkpoint checkpoint = checkpoints.get(verified);
+                if (StateChecksum.of(valor) != checkpoint.getChecksum()) {
+                    throw new IllegalStateException("Replay diverged by round " + checkpoint.getRound() +
+                        " (entry " + checkpoint.getEntry() + ")");
+                }
+                verified++;
+            }
+        }
+
+        InputSource input() {
+            return new InputSource() {
+                @Override
+                public String nextLine() {
+                    beforeEntry();
+                    return cursor.nextLine();
+                }
+
+                @Override
+                public PrintStream getPromptStream() {
+                    return DiscardingPrintStream.INSTANCE;
+                }
+            };
+        }
+
+        HeroPolicy policy() {
+            return new HeroPolicy() {
+                @Override
+                public char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt) {
+                    beforeEntry();
+                    return cursor.nextCommand();
+                }
+
+                @Override
+                public int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max) {
+                    beforeEntry();
+                    return cursor.nextOption();
+                }
+
+                @Override
+                public String chooseDirection(LegendsOfValor game, Hero hero) {
+                    beforeEntry();
+                    return cursor.nextDirection();
+                }
+            };
+        }
+    }
+
+    /**
+     * Usage: MatchReplayer &lt;log file&gt; [round]
+     * Replays a recorded session, or a Valor session up to the given round, and prints a summary.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: MatchReplayer <log file> [round]");
+            return;
+        }
+        MatchLog log = MatchLog.load(Paths.get(args[0]));
+        System.out.println(log.getKind() + " | Seed: " + log.getSeed() +
+            " | Entries: " + log.getEntryCount() + " (" + log.getEntryBytes() + " bytes)" +
+            " | Checkpoints: " + log.getCheckpoints().size());
+        MatchReplayer replayer = new MatchReplayer(log);
+        Replay replay = args.length > 1 ? replayer.seek(Integer.parseInt(args[1])) : replayer.replay();
+        System.out.println(replay);
+        if (replay.getGame() instanceof LegendsOfValor) {
+            LegendsOfValor game = (LegendsOfValor) replay.getGame();
+            for (Hero hero : game.getParty().getHeroes()) {
+                System.out.println("  " + hero.getName() + " at (" + hero.getRow() + ", " + hero.getCol() + ")" +
+                    " | HP: " + hero.getHp() + "/" + hero.getMaxHp() + " | Gold: " + hero.getGold());
+            }
+            System.out.println("  Monsters on the board: " + game.getMonsters().size());
+        }
+    }
+}
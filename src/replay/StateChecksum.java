@@ -0,0 +1,52 @@
+package replay;
+
+import characters.Hero;
+import characters.Monster;
+import game.LegendsOfValor;
+import world.GridStore;
+
+/**
+ * Checksum of the parts of a Valor game that a replay must reproduce exactly:
+ * the round, every unit's position and vitals, hero wealth and the terrain.
+ */
+final class StateChecksum {
+
+    private StateChecksum() {
+    }
+
+    static int of(LegendsOfValor game) {
+        int hash = game.getRoundCounter();
+        for (Hero hero : game.getParty().getHeroes()) {
+            hash = 31 * hash + hero.getRow();
+            hash = 31 * hash + hero.getCol();
+            hash = 31 * hash + hero.getHp();
+            hash = 31 * hash + hero.getMana();
+            hash = 31 * hash + hero.getGold();
+            hash = 31 * hash + hero.getExperience();
+            hash = 31 * hash + hero.getLevel();
+        }
+        for (Monster monster : game.getMonsters()) {
+            hash = 31 * hash + monster.getRow();
+            hash = 31 * hash + monster.getCol();
+            hash = 31 * hash + monster.getHp();
+        }
+        if (game.getWorld() != null) {
+            GridStore grid = game.getWorld().getGrid();
+            for (int cell = 0; cell < grid.getRows() * grid.getCols(); cell++) {
+                hash = 31 * hash + grid.getType(cell).ordinal();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Tile type ordinal of every cell, row-major.
+     */
+    static byte[] terrainOf(GridStore grid) {
+        byte[] terrain = new byte[grid.getRows() * grid.getCols()];
+        for (int cell = 0; cell < terrain.length; cell++) {
+            terrain[cell] = (byte) grid.getType(cell).ordinal();
+        }
+        return terrain;
+    }
+}
@@ -0,0 +1,36 @@
+package simulation;
+
+import characters.Hero;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+
+/**
+ * Hero policy that fights anything in range and otherwise pushes toward the Monster Nexus.
+ * Falls back to clearing obstacles, side-stepping and finally passing when blocked.
+ */
+public class AggressiveHeroPolicy implements HeroPolicy {
+    private static final char[] FALLBACK_COMMANDS = {'w', 'o', 'a', 'd', 'p'};
+
+    @Override
+    public char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt) {
+        boolean monsterInRange = !game.getBattleEngine().getMonstersInRange(hero).isEmpty();
+        if (monsterInRange) {
+            if (attempt == 0) {
+                return 'f';
+            }
+            attempt--;
+        }
+        return FALLBACK_COMMANDS[Math.min(attempt, FALLBACK_COMMANDS.length - 1)];
+    }
+
+    @Override
+    public int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max) {
+        // Always take the first real option (never "0) Cancel")
+        return Math.max(min, 1);
+    }
+
+    @Override
+    public String chooseDirection(LegendsOfValor game, Hero hero) {
+        return "N";
+    }
+}
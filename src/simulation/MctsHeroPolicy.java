@@ -0,0 +1,205 @@
+package simulation;
+
+import characters.Hero;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+import util.RandomStreams;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hero policy that picks every command by Monte Carlo Tree Search.
+ *
+ * Each decision searches the live game for a time budget, optionally capped
+ * at a number of playouts. Search is root-parallel: every worker grows its own
+ * SearchTree from the same position with its own seeds, then the root
+ * statistics are summed and the most visited command is played. Commands are
+ * the console's w/a/s/d, f, c, t, r, o and p; the targets, spells and
+ * directions they ask for are answered by the rollout policy, both in the
+ * search and in the real game.
+ *
+ * Seeds come from the game's policy stream, so with an iteration cap and no
+ * time limit a game plays out the same way from its seed for a given number
+ * of workers, however the threads are scheduled.
+ */
+public class MctsHeroPolicy implements HeroPolicy {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    public static final int DEFAULT_HORIZON = 30;
+    private static final double EXPLORATION = 0.7;
+
+    private final long budgetNanos;
+    private final int maxIterations;
+    private final int horizon;
+    private final int workers;
+    private final ForkJoinPool pool;
+    // Stateless, so one instance serves every worker
+    private final HeroPolicy rollout = new AggressiveHeroPolicy();
+    private final AtomicLong playouts = new AtomicLong();
+    // Commands for the current decision, best first; empty if nothing was searched
+    private char[] ranked;
+
+    public MctsHeroPolicy() {
+        this(DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Search each decision for the given time on every core.
+     */
+    public MctsHeroPolicy(long budgetMillis) {
+        this(budgetMillis, Integer.MAX_VALUE, DEFAULT_HORIZON,
+            Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param budgetMillis  wall-clock time per decision, 0 for no time limit
+     * @param maxIterations playouts per worker and decision
+     * @param horizon       rounds a playout may run past the current one
+     * @param workers       independent trees searched in parallel
+     */
+    public MctsHeroPolicy(long budgetMillis, int maxIterations, int horizon, int workers, ForkJoinPool pool) {
+        if (budgetMillis < 0 || maxIterations <= 0 || horizon <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("Search limits must be positive");
+        }
+        if (budgetMillis == 0 && maxIterations == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Need a time budget or an iteration cap");
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxIterations = maxIterations;
+        this.horizon = horizon;
+        this.workers = workers;
+        this.pool = pool;
+    }
+
+    @Override
+    public char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt) {
+        if (attempt == 0 || ranked == null) {
+            ranked = search(game, heroIdx);
+        }
+        if (ranked.length == 0) {
+            return rollout.chooseCommand(game, hero, heroIdx, attempt);
+        }
+        if (attempt >= ranked.length || attempt >= LegendsOfValor.MAX_POLICY_ATTEMPTS - 1) {
+            return 'p';
+        }
+        return ranked[attempt];
+    }
+
+    @Override
+    public int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max) {
+        return rollout.chooseOption(game, hero, prompt, min, max);
+    }
+
+    @Override
+    public String chooseDirection(LegendsOfValor game, Hero hero) {
+        return rollout.chooseDirection(game, hero);
+    }
+
+    /**
+     * Playouts run by all searches of this policy so far.
+     */
+    public long getPlayouts() {
+        return playouts.get();
+    }
+
+    /**
+     * Search the position and rank the commands that were tried and accepted,
+     * most visited first.
+     */
+    private char[] search(LegendsOfValor game, int heroIdx) {
+        long key = StateKey.of(game, heroIdx);
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        RandomStreams seeds = new RandomStreams(game.getPolicyRandom().nextLong());
+        WorkerSearch task = new WorkerSearch(game, key, game.getRoundCounter() + horizon, deadline, seeds, 0, workers);
+
+        SearchTree.Node root = pool.invoke(task);
+
+        int count = 0;
+        int[] order = new int[SearchTree.ACTIONS.length];
+        for (int a = 0; a < order.length; a++) {
+            if (root.actionVisits[a] > 0 && !root.isRejected(a)) {
+                // Insertion sort by visits, then by mean score
+                int i = count++;
+                while (i > 0 && better(root, a, order[i - 1])) {
+                    order[i] = order[i - 1];
+                    i--;
+                }
+                order[i] = a;
+            }
+        }
+        char[] commands = new char[count];
+        for (int i = 0; i < count; i++) {
+            commands[i] = SearchTree.ACTIONS[order[i]];
+        }
+        return commands;
+    }
+
+    private static boolean better(SearchTree.Node node, int a, int b) {
+        if (node.actionVisits[a] != node.actionVisits[b]) {
+            return node.actionVisits[a] > node.actionVisits[b];
+        }
+        return node.mean(a) > node.mean(b);
+    }
+
+    /**
+     * Fork-join task that splits a range of workers until each grows one tree,
+     * and sums their root statistics. Worker i draws its iteration seeds from
+     * seeds.childSeed(i), so its tree does not depend on thread scheduling.
+     */
+    private class WorkerSearch extends RecursiveTask<SearchTree.Node> {
+        private static final long serialVersionUID = 1L;
+
+        private final LegendsOfValor game;
+        private final long key;
+        private final int roundLimit;
+        private final long deadline;
+        private final RandomStreams seeds;
+        private final int from;
+        private final int to;
+
+        WorkerSearch(LegendsOfValor game, long key, int roundLimit, long deadline,
+                RandomStreams seeds, int from, int to) {
+            this.game = game;
+            this.key = key;
+            this.roundLimit = roundLimit;
+            this.deadline = deadline;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SearchTree.Node compute() {
+            if (to - from == 1) {
+                return grow();
+            }
+
+            int mid = (from + to) >>> 1;
+            WorkerSearch left = new WorkerSearch(game, key, roundLimit, deadline, seeds, from, mid);
+            WorkerSearch right = new WorkerSearch(game, key, roundLimit, deadline, seeds, mid, to);
+            left.fork();
+            SearchTree.Node rightRoot = right.compute();
+            SearchTree.Node leftRoot = left.join();
+            leftRoot.add(rightRoot);
+            return leftRoot;
+        }
+
+        private SearchTree.Node grow() {
+            RandomStreams workerSeeds = new RandomStreams(seeds.childSeed(from));
+            SearchTree tree = new SearchTree(EXPLORATION, rollout, workerSeeds.newStream());
+            // At least one playout, even if the budget ran out before this worker started
+            do {
+                tree.iterate(game, roundLimit, workerSeeds.childSeed(tree.getIterations()));
+            } while (tree.getIterations() < maxIterations && System.nanoTime() < deadline);
+            playouts.addAndGet(tree.getIterations());
+
+            SearchTree.Node root = tree.get(key);
+            SearchTree.Node copy = new SearchTree.Node();
+            if (root != null) {
+                copy.add(root);
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package simulation;
+
+import characters.Hero;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+
+/**
+ * Hero policy that picks uniformly random commands and options.
+ * Useful as a baseline opponent for balance testing.
+ * Draws from the game's policy stream, so matches replay from their seed.
+ */
+public class RandomHeroPolicy implements HeroPolicy {
+    private static final char[] COMMANDS = {'w', 'a', 's', 'd', 'f', 'c', 't', 'r', 'o', 'p'};
+    private static final String[] DIRECTIONS = {"N", "E", "S", "W", "NE", "SE", "SW", "NW"};
+    private static final int MAX_RANDOM_ATTEMPTS = 4;
+
+    @Override
+    public char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt) {
+        if (attempt >= MAX_RANDOM_ATTEMPTS) {
+            return 'p';
+        }
+        return COMMANDS[game.getPolicyRandom().nextInt(COMMANDS.length)];
+    }
+
+    @Override
+    public int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max) {
+        int low = Math.max(min, 1);
+        if (low > max) {
+            return min;
+        }
+        return game.getPolicyRandom().nextInt(low, max + 1);
+    }
+
+    @Override
+    public String chooseDirection(LegendsOfValor game, Hero hero) {
+        return DIRECTIONS[game.getPolicyRandom().nextInt(DIRECTIONS.length)];
+    }
+}
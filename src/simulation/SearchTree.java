@@ -0,0 +1,332 @@
+package simulation;
+
+import characters.Hero;
+import characters.Monster;
+import game.GameResult;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+import util.RandomStreams;
+import world.DistanceField;
+import world.ValorWorld;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * One worker's Monte Carlo search tree for MctsHeroPolicy.
+ *
+ * Nodes are hero decision points keyed by StateKey in an open-addressing
+ * table, so a position reached through different move orders shares its
+ * statistics. Each iteration forks the root game, walks down the tree picking
+ * commands by UCB1, adds the first position not yet in the tree, lets the
+ * rollout policy play on up to the round limit and backs the score up along
+ * the path. Commands the game rejects in a position are remembered there and
+ * not tried again.
+ */
+final class SearchTree {
+    static final char[] ACTIONS = {'w', 'a', 's', 'd', 'f', 'c', 't', 'r', 'o', 'p'};
+    // Passing is always accepted, so every position has a legal action
+    private static final int PASS = ACTIONS.length - 1;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Weight of the bonus for the rollout policy's own choice
+    private static final double PRIOR_WEIGHT = 0.5;
+
+    private final double exploration;
+    private final HeroPolicy rollout;
+    private final Random random;
+    private final Walk walk = new Walk();
+    // Open-addressing table; key 0 marks an empty slot
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Node[] nodes = new Node[INITIAL_CAPACITY];
+    private int size;
+    private int iterations;
+
+    SearchTree(double exploration, HeroPolicy rollout, Random random) {
+        this.exploration = exploration;
+        this.rollout = rollout;
+        this.random = random;
+    }
+
+    /**
+     * Statistics of one decision point.
+     */
+    static final class Node {
+        int visits;
+        final int[] actionVisits = new int[ACTIONS.length];
+        final double[] actionScores = new double[ACTIONS.length];
+        // Bit per action the game rejected in this position
+        int rejected;
+        // Action the rollout policy would take here, or -1 if unknown
+        int prior = -1;
+
+        boolean isRejected(int action) {
+            return (rejected & (1 << action)) != 0;
+        }
+
+        double mean(int action) {
+            return actionVisits[action] == 0 ? 0 : actionScores[action] / actionVisits[action];
+        }
+
+        /**
+         * Add another tree's statistics for the same position.
+         */
+        void add(Node other) {
+            visits += other.visits;
+            for (int a = 0; a < ACTIONS.length; a++) {
+                actionVisits[a] += other.actionVisits[a];
+                actionScores[a] += other.actionScores[a];
+            }
+            rejected |= other.rejected;
+        }
+    }
+
+    /**
+     * Play one iteration from the root game, which is only read.
+     */
+    void iterate(LegendsOfValor root, int roundLimit, long seed) {
+        walk.reset();
+        LegendsOfValor fork = root.fork(walk, new RandomStreams(seed));
+        GameResult result = fork.runHeadless(roundLimit);
+        double played = (double) (result.getRounds() - root.getRoundCounter()) / (roundLimit - root.getRoundCounter());
+        double score = score(fork, result, played);
+        for (int i = 0; i < walk.depth; i++) {
+            Node node = walk.pathNodes[i];
+            int action = walk.pathActions[i];
+            node.visits++;
+            node.actionVisits[action]++;
+            node.actionScores[action] += score;
+        }
+        iterations++;
+    }
+
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Node for a position, or null if no iteration reached it.
+     */
+    Node get(long key) {
+        key = nonZero(key);
+        int mask = keys.length - 1;
+        for (int slot = (int) key & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return nodes[slot];
+            }
+        }
+        return null;
+    }
+
+    private Node add(long key) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        key = nonZero(key);
+        int mask = keys.length - 1;
+        int slot = (int) key & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        Node node = new Node();
+        keys[slot] = key;
+        nodes[slot] = node;
+        size++;
+        return node;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Node[] oldNodes = nodes;
+        keys = new long[oldKeys.length * 2];
+        nodes = new Node[oldNodes.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = (int) oldKeys[i] & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                nodes[slot] = oldNodes[i];
+            }
+        }
+    }
+
+    private static int indexOf(char command) {
+        for (int a = 0; a < ACTIONS.length; a++) {
+            if (ACTIONS[a] == command) {
+                return a;
+            }
+        }
+        return -1;
+    }
+
+    private static long nonZero(long key) {
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * The rollout policy's choice first, then the other untried actions in
+     * random order, then the best by UCB1 plus a bonus for the rollout
+     * policy's choice that fades as it is visited. One bad move can lose a
+     * Valor game, so the search leaves the rollout policy's play only where
+     * playouts show something better.
+     *
+     * Mean scores are rescaled to the node's own range first: playouts from
+     * one position often differ by a few hundredths, which a fixed exploration
+     * term would drown out.
+     */
+    private int select(Node node) {
+        if (node.prior >= 0 && node.actionVisits[node.prior] == 0 && !node.isRejected(node.prior)) {
+            return node.prior;
+        }
+        int untried = 0;
+        for (int a = 0; a < ACTIONS.length; a++) {
+            if (node.actionVisits[a] == 0 && !node.isRejected(a)) {
+                untried++;
+            }
+        }
+        if (untried > 0) {
+            int pick = random.nextInt(untried);
+            for (int a = 0; a < ACTIONS.length; a++) {
+                if (node.actionVisits[a] == 0 && !node.isRejected(a) && pick-- == 0) {
+                    return a;
+                }
+            }
+        }
+
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        for (int a = 0; a < ACTIONS.length; a++) {
+            if (!node.isRejected(a) && node.actionVisits[a] > 0) {
+                low = Math.min(low, node.mean(a));
+                high = Math.max(high, node.mean(a));
+            }
+        }
+        double range = high > low ? high - low : 1;
+
+        int best = PASS;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(node.visits);
+        for (int a = 0; a < ACTIONS.length; a++) {
+            if (node.isRejected(a) || node.actionVisits[a] == 0) {
+                continue;
+            }
+            double value = (node.mean(a) - low) / range
+                + exploration * Math.sqrt(logVisits / node.actionVisits[a]);
+            if (a == node.prior) {
+                value += PRIOR_WEIGHT * Math.sqrt(node.visits) / (1 + node.actionVisits[a]);
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Score of a finished playout between 0 and 1. Wins score above 0.9 and
+     * losses below 0.1, earlier wins and later losses being better, so the
+     * search still learns something when every playout ends the same way.
+     * A playout cut off at the round limit is judged by who is closer to the
+     * enemy Nexus and how healthy the heroes are.
+     *
+     * @param played share of the horizon the playout lasted
+     */
+    static double score(LegendsOfValor game, GameResult result, double played) {
+        if (result.getOutcome() == GameResult.Outcome.HEROES_WIN) {
+            return 1 - 0.1 * played;
+        } else if (result.getOutcome() == GameResult.Outcome.MONSTERS_WIN) {
+            return 0.1 * played;
+        }
+
+        ValorWorld world = game.getWorld();
+        int span = world.getLayout().getRows();
+        int heroSteps = span;
+        int hp = 0;
+        int maxHp = 0;
+        for (Hero hero : game.getParty().getHeroes()) {
+            hp += Math.max(0, hero.getHp());
+            maxHp += hero.getMaxHp();
+            heroSteps = closer(heroSteps, world.getMonsterNexusDistances(), hero.getRow(), hero.getCol());
+        }
+        int monsterSteps = span;
+        for (Monster monster : game.getMonsters()) {
+            monsterSteps = closer(monsterSteps, world.getHeroNexusDistances(), monster.getRow(), monster.getCol());
+        }
+        double health = maxHp == 0 ? 0 : (double) hp / maxHp;
+        return 0.5 + 0.25 * (monsterSteps - heroSteps) / span + 0.1 * (health - 0.5);
+    }
+
+    private static int closer(int steps, DistanceField field, int row, int col) {
+        int distance = field.distance(row, col);
+        return distance == DistanceField.UNREACHABLE ? steps : Math.min(steps, distance);
+    }
+
+    /**
+     * Hero policy of a single iteration: picks commands from the tree until a
+     * new position has been added, then hands over to the rollout policy.
+     * Reset and reused for every iteration.
+     */
+    private final class Walk implements HeroPolicy {
+        private Node[] pathNodes = new Node[64];
+        private int[] pathActions = new int[64];
+        private int depth;
+        private Node node;
+        private boolean leafAdded;
+        private boolean rollingOut;
+
+        void reset() {
+            Arrays.fill(pathNodes, 0, depth, null);
+            depth = 0;
+            node = null;
+            leafAdded = false;
+            rollingOut = false;
+        }
+
+        @Override
+        public char chooseCommand(LegendsOfValor game, Hero hero, int heroIdx, int attempt) {
+            if (rollingOut) {
+                return rollout.chooseCommand(game, hero, heroIdx, attempt);
+            }
+            if (attempt == 0) {
+                if (leafAdded) {
+                    rollingOut = true;
+                    return rollout.chooseCommand(game, hero, heroIdx, attempt);
+                }
+                long key = StateKey.of(game, heroIdx);
+                node = get(key);
+                if (node == null) {
+                    node = add(key);
+                    node.prior = indexOf(rollout.chooseCommand(game, hero, heroIdx, 0));
+                    leafAdded = true;
+                }
+            } else {
+                // The previous pick was rejected here; it never happened
+                depth--;
+                node.rejected |= 1 << pathActions[depth];
+            }
+
+            int action = attempt >= LegendsOfValor.MAX_POLICY_ATTEMPTS - 1 ? PASS : select(node);
+            if (depth == pathNodes.length) {
+                pathNodes = Arrays.copyOf(pathNodes, depth * 2);
+                pathActions = Arrays.copyOf(pathActions, depth * 2);
+            }
+            pathNodes[depth] = node;
+            pathActions[depth] = action;
+            depth++;
+            return ACTIONS[action];
+        }
+
+        @Override
+        public int chooseOption(LegendsOfValor game, Hero hero, String prompt, int min, int max) {
+            return rollout.chooseOption(game, hero, prompt, min, max);
+        }
+
+        @Override
+        public String chooseDirection(LegendsOfValor game, Hero hero) {
+            return rollout.chooseDirection(game, hero);
+        }
+    }
+}
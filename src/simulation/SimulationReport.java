@@ -0,0 +1,108 @@
+package simulation;
+
+import game.GameResult;
+
+/**
+ * Aggregated statistics for a batch of simulated matches.
+ * Reports are immutable and can be combined, so partial results from
+ * parallel workers merge into a single report.
+ */
+public class SimulationReport {
+    private final int matches;
+    private final int heroWins;
+    private final int monsterWins;
+    private final int roundLimits;
+    private final long totalRounds;
+    private final int minRounds;
+    private final int maxRounds;
+    private final long elapsedNanos;
+
+    private SimulationReport(int matches, int heroWins, int monsterWins, int roundLimits,
+            long totalRounds, int minRounds, int maxRounds, long elapsedNanos) {
+        this.matches = matches;
+        this.heroWins = heroWins;
+        this.monsterWins = monsterWins;
+        this.roundLimits = roundLimits;
+        this.totalRounds = totalRounds;
+        this.minRounds = minRounds;
+        this.maxRounds = maxRounds;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Report with no matches recorded.
+     */
+    public static SimulationReport empty() {
+        return new SimulationReport(0, 0, 0, 0, 0, Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Return a new report that also includes the given match result.
+     */
+    public SimulationReport add(GameResult result) {
+        int rounds = result.getRounds();
+        return new SimulationReport(
+            matches + 1,
+            heroWins + (result.isHeroVictory() ? 1 : 0),
+            monsterWins + (result.isMonsterVictory() ? 1 : 0),
+            roundLimits + (result.getOutcome() == GameResult.Outcome.ROUND_LIMIT ? 1 : 0),
+            totalRounds + rounds,
+            Math.min(minRounds, rounds),
+            Math.max(maxRounds, rounds),
+            elapsedNanos);
+    }
+
+    /**
+     * Merge two partial reports.
+     */
+    public SimulationReport combine(SimulationReport other) {
+        return new SimulationReport(
+            matches + other.matches,
+            heroWins + other.heroWins,
+            monsterWins + other.monsterWins,
+            roundLimits + other.roundLimits,
+            totalRounds + other.totalRounds,
+            Math.min(minRounds, other.minRounds),
+            Math.max(maxRounds, other.maxRounds),
+            Math.max(elapsedNanos, other.elapsedNanos));
+    }
+
+    /**
+     * Return a copy of this report stamped with the wall-clock time of the batch.
+     */
+    public SimulationReport withElapsedNanos(long elapsedNanos) {
+        return new SimulationReport(matches, heroWins, monsterWins, roundLimits,
+            totalRounds, minRounds, maxRounds, elapsedNanos);
+    }
+
+    public int getMatches() { return matches; }
+    public int getHeroWins() { return heroWins; }
+    public int getMonsterWins() { return monsterWins; }
+    public int getRoundLimits() { return roundLimits; }
+    public int getMinRounds() { return matches == 0 ? 0 : minRounds; }
+    public int getMaxRounds() { return maxRounds; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getHeroWinRate() {
+        return matches == 0 ? 0.0 : (double) heroWins / matches;
+    }
+
+    public double getAverageRounds() {
+        return matches == 0 ? 0.0 : (double) totalRounds / matches;
+    }
+
+    public double getMatchesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : matches / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Matches: %d | Hero wins: %d (%.1f%%) | Monster wins: %d | Round limit: %d%n" +
+            "Rounds: avg %.1f, min %d, max %d%n" +
+            "Elapsed: %.2fs | Throughput: %.1f matches/sec",
+            matches, heroWins, getHeroWinRate() * 100, monsterWins, roundLimits,
+            getAverageRounds(), getMinRounds(), maxRounds,
+            elapsedNanos / 1_000_000_000.0, getMatchesPerSecond());
+    }
+}
@@ -0,0 +1,50 @@
+package simulation;
+
+import characters.Hero;
+import characters.Monster;
+import game.LegendsOfValor;
+import world.GridStore;
+
+/**
+ * 64-bit key of a Valor decision point for the search tree's transposition
+ * table: the round, whose turn it is, every unit's position and vitals, and
+ * the terrain (obstacles can be cleared). Hero wealth and items are left out,
+ * since bots never shop.
+ *
+ * Computed from getters only, without allocating.
+ */
+final class StateKey {
+
+    private StateKey() {
+    }
+
+    static long of(LegendsOfValor game, int heroIdx) {
+        long hash = mix((long) game.getRoundCounter() << 32 | heroIdx);
+        for (Hero hero : game.getParty().getHeroes()) {
+            hash = mix(hash ^ pack(hero.getRow(), hero.getCol(), hero.getHp()));
+            hash = mix(hash ^ ((long) hero.getMana() << 8 | hero.getLevel()));
+        }
+        for (Monster monster : game.getMonsters()) {
+            hash = mix(hash ^ pack(monster.getRow(), monster.getCol(), monster.getHp()) ^ Long.MIN_VALUE);
+        }
+        GridStore grid = game.getWorld().getGrid();
+        long terrain = 0;
+        for (int cell = 0; cell < grid.getRows() * grid.getCols(); cell++) {
+            terrain = terrain * 31 + grid.getType(cell).ordinal();
+        }
+        return mix(hash ^ terrain);
+    }
+
+    private static long pack(int row, int col, int hp) {
+        return ((long) row << 48) ^ ((long) col << 32) ^ (hp & 0xFFFFFFFFL);
+    }
+
+    /**
+     * SplitMix64 finalizer, so nearby inputs land far apart.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
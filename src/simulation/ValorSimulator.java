@@ -0,0 +1,257 @@
+package simulation;
+
+import characters.Hero;
+import characters.HeroTemplate;
+import data.GameDatabase;
+import game.Difficulty;
+import game.GameResult;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+import world.LaneLayout;
+import world.TerrainMix;
+import util.DiscardingPrintStream;
+import util.RandomStreams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Headless batch simulator for Legends of Valor.
+ * Runs many matches in parallel on a fork-join pool with heroes driven by a HeroPolicy,
+ * and reports throughput plus win/loss/round aggregates.
+ */
+public class ValorSimulator {
+    private static final int DEFAULT_HERO_COUNT = 3;
+    private static final int DEFAULT_MAX_ROUNDS = 500;
+    // Matches run sequentially by a single fork-join leaf task
+    private static final int MATCHES_PER_TASK = 16;
+
+    private final Difficulty difficulty;
+    private final Supplier<HeroPolicy> policyFactory;
+    private final int maxRounds;
+    private final ForkJoinPool pool;
+    private final LaneLayout layout;
+    private final int heroCount;
+    private final TerrainMix terrain;
+    private final RandomStreams randomStreams;
+
+    public ValorSimulator(Difficulty difficulty, Supplier<HeroPolicy> policyFactory, int maxRounds) {
+        this(difficulty, policyFactory, maxRounds, ForkJoinPool.commonPool());
+    }
+
+    public ValorSimulator(Difficulty difficulty, Supplier<HeroPolicy> policyFactory,
+            int maxRounds, ForkJoinPool pool) {
+        this(difficulty, policyFactory, maxRounds, LaneLayout.CLASSIC, DEFAULT_HERO_COUNT, pool);
+    }
+
+    /**
+     * Simulate on a custom map with the given party size instead of 3 heroes on the classic 8x8 map.
+     */
+    public ValorSimulator(Difficulty difficulty, Supplier<HeroPolicy> policyFactory, int maxRounds,
+            LaneLayout layout, int heroCount, ForkJoinPool pool) {
+        this(difficulty, policyFactory, maxRounds, layout, heroCount, TerrainMix.VALOR,
+            RandomStreams.withRandomSeed(), pool);
+    }
+
+    /**
+     * Simulate on a custom map with custom terrain ratios.
+     * Match i is seeded with randomStreams.childSeed(i), so a batch run with the
+     * same seed reproduces every match regardless of thread scheduling.
+     */
+    public ValorSimulator(Difficulty difficulty, Supplier<HeroPolicy> policyFactory, int maxRounds,
+            LaneLayout layout, int heroCount, TerrainMix terrain, RandomStreams randomStreams,
+            ForkJoinPool pool) {
+        if (heroCount < 1 || heroCount > layout.getNexusCells()) {
+            throw new IllegalArgumentException("A " + layout + " has room for 1 to " + layout.getNexusCells() +
+                " heroes, not " + heroCount);
+        }
+        this.difficulty = difficulty;
+        this.policyFactory = policyFactory;
+        this.maxRounds = maxRounds;
+        this.layout = layout;
+        this.heroCount = heroCount;
+        this.terrain = terrain;
+        this.randomStreams = randomStreams;
+        this.pool = pool;
+    }
+
+    /**
+     * Run the given number of matches and return the aggregated report.
+     */
+    public SimulationReport run(int matches) {
+        // Load catalogs once, before any worker thread touches the database
+        if (GameDatabase.getInstance().getSnapshot().getHeroes().isEmpty()) {
+            throw new IllegalStateException("Need at least one hero to simulate");
+        }
+
+        long start = System.nanoTime();
+        SimulationReport report = pool.invoke(new MatchBatch(0, matches));
+        return report.withElapsedNanos(System.nanoTime() - start);
+    }
+
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+
+    /**
+     * Play a single headless match with a random party drawn from the roster.
+     * Each match reads the latest data, so files reloaded mid-batch apply to
+     * matches started afterwards. The game's console text is discarded.
+     */
+    private GameResult playMatch(int index) {
+        RandomStreams matchStreams = new RandomStreams(randomStreams.childSeed(index));
+        List<HeroTemplate> roster = GameDatabase.getInstance().getSnapshot().getHeroes();
+        List<Hero> party = pickParty(roster, matchStreams.newStream());
+        LegendsOfValor game = new LegendsOfValor(difficulty, party, policyFactory.get(), layout, terrain);
+        game.setRandomStreams(matchStreams);
+        game.setOutput(DiscardingPrintStream.INSTANCE);
+        return game.runHeadless(maxRounds);
+    }
+
+    /**
+     * Recruit fresh copies of distinct random heroes, as RPG.setupParty does.
+     * Parties larger than the roster recruit some heroes more than once.
+     */
+    private List<Hero> pickParty(List<HeroTemplate> roster, Random random) {
+        int[] picked = new int[heroCount];
+        List<Hero> heroes = new ArrayList<>();
+        for (int i = 0; i < heroCount; i++) {
+            // Draw distinct indices so the read-only roster is never copied; once the
+            // roster is used up, only the last roster.size() - 1 picks must differ
+            int from = Math.max(0, i - roster.size() + 1);
+            picked[i] = random.nextInt(roster.size());
+            for (int j = from; j < i; j++) {
+                if (picked[j] == picked[i]) {
+                    picked[i] = random.nextInt(roster.size());
+                    j = from - 1;
+                }
+            }
+            heroes.add(roster.get(picked[i]).recruit());
+        }
+        return heroes;
+    }
+
+    /**
+     * Fork-join task that splits a range of match indices until it is small
+     * enough to play sequentially.
+     */
+    private class MatchBatch extends RecursiveTask<SimulationReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        MatchBatch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                SimulationReport report = SimulationReport.empty();
+                for (int i = from; i < to; i++) {
+                    report = report.add(playMatch(i));
+                }
+                return report;
+            }
+
+            int mid = (from + to) >>> 1;
+            MatchBatch left = new MatchBatch(from, mid);
+            MatchBatch right = new MatchBatch(mid, to);
+            left.fork();
+            SimulationReport rightReport = right.compute();
+            return left.join().combine(rightReport);
+        }
+    }
+
+    /**
+     * Command-line entry point.
+     * Usage: ValorSimulator [matches] [EASY|MEDIUM|HARD|ALL] [aggressive|random|mcts] [maxRounds] [options...]
+     * ALL runs one batch per difficulty with the same seed, to compare the difficulty curve.
+     * Options: watch (reload data files edited during the run for later matches),
+     * rows=N, lanes=N, laneWidth=N and heroes=N for custom maps, and
+     * terrain=type:ratio,... (e.g. terrain=bush:0.3,obstacle:0.05) for custom terrain,
+     * seed=N to reproduce an earlier batch, and for mcts heroes budget=MS (search
+     * time per move) and playouts=N (playouts per worker and move; with budget=0
+     * the batch is reproducible from its seed).
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        String difficultyName = args.length > 1 ? args[1].toUpperCase() : "MEDIUM";
+        Difficulty[] difficulties = difficultyName.equals("ALL")
+            ? Difficulty.values() : new Difficulty[]{Difficulty.valueOf(difficultyName)};
+        String policyName = args.length > 2 ? args[2].toLowerCase() : "aggressive";
+        int maxRounds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_ROUNDS;
+        boolean watch = false;
+        int rows = LaneLayout.CLASSIC.getRows();
+        int lanes = LaneLayout.CLASSIC.getLaneCount();
+        int laneWidth = LaneLayout.CLASSIC.getLaneWidth();
+        int heroes = DEFAULT_HERO_COUNT;
+        TerrainMix terrain = TerrainMix.VALOR;
+        RandomStreams randomStreams = RandomStreams.withRandomSeed();
+        long budgetMillis = MctsHeroPolicy.DEFAULT_BUDGET_MILLIS;
+        int playouts = Integer.MAX_VALUE;
+        for (int i = 4; i < args.length; i++) {
+            String option = args[i].toLowerCase();
+            if (option.equals("watch")) {
+                watch = true;
+            } else if (option.startsWith("rows=")) {
+                rows = Integer.parseInt(option.substring(5));
+            } else if (option.startsWith("lanes=")) {
+                lanes = Integer.parseInt(option.substring(6));
+            } else if (option.startsWith("lanewidth=")) {
+                laneWidth = Integer.parseInt(option.substring(10));
+            } else if (option.startsWith("heroes=")) {
+                heroes = Integer.parseInt(option.substring(7));
+            } else if (option.startsWith("terrain=")) {
+                terrain = TerrainMix.parse(option.substring(8));
+            } else if (option.startsWith("seed=")) {
+                randomStreams = new RandomStreams(Long.parseLong(option.substring(5)));
+            } else if (option.startsWith("budget=")) {
+                budgetMillis = Long.parseLong(option.substring(7));
+            } else if (option.startsWith("playouts=")) {
+                playouts = Integer.parseInt(option.substring(9));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        LaneLayout layout = new LaneLayout(rows, lanes, laneWidth);
+
+        Supplier<HeroPolicy> policyFactory;
+        switch (policyName) {
+            case "aggressive":
+                policyFactory = AggressiveHeroPolicy::new;
+                break;
+            case "random":
+                policyFactory = RandomHeroPolicy::new;
+                break;
+            case "mcts":
+                long budget = budgetMillis;
+                int cap = playouts;
+                int workers = Runtime.getRuntime().availableProcessors();
+                policyFactory = () -> new MctsHeroPolicy(budget, cap, MctsHeroPolicy.DEFAULT_HORIZON,
+                    workers, ForkJoinPool.commonPool());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + policyName);
+        }
+
+        if (watch) {
+            GameDatabase.getInstance().startWatching();
+        }
+
+        for (Difficulty difficulty : difficulties) {
+            System.out.println("Simulating " + matches + " " + difficulty + " matches with " +
+                policyName + " heroes (" + heroes + ") on a " + layout + " (" + terrain + "), " +
+                ForkJoinPool.commonPool().getParallelism() + " workers, seed " + randomStreams.getSeed() + "...");
+            ValorSimulator simulator = new ValorSimulator(difficulty, policyFactory, maxRounds,
+                layout, heroes, terrain, randomStreams, ForkJoinPool.commonPool());
+            System.out.println(simulator.run(matches));
+        }
+    }
+}
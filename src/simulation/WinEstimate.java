@@ -0,0 +1,70 @@
+package simulation;
+
+/**
+ * Estimated chance that the heroes win from a given position, with a 95%
+ * Wilson score interval, computed from a batch of playouts.
+ * Playouts that hit the round horizon count as not won.
+ */
+public class WinEstimate {
+    private static final double Z = 1.96;
+
+    private final SimulationReport report;
+    private final int horizon;
+    private final double lower;
+    private final double upper;
+
+    WinEstimate(SimulationReport report, int horizon) {
+        this.report = report;
+        this.horizon = horizon;
+        int n = report.getMatches();
+        if (n == 0) {
+            this.lower = 0;
+            this.upper = 1;
+        } else {
+            double p = (double) report.getHeroWins() / n;
+            double z2 = Z * Z;
+            double denominator = 1 + z2 / n;
+            double center = (p + z2 / (2.0 * n)) / denominator;
+            double half = Z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / denominator;
+            this.lower = Math.max(0, center - half);
+            this.upper = Math.min(1, center + half);
+        }
+    }
+
+    /**
+     * Share of playouts the heroes won.
+     */
+    public double getProbability() {
+        return report.getMatches() == 0 ? 0 : (double) report.getHeroWins() / report.getMatches();
+    }
+
+    public double getLower() {
+        return lower;
+    }
+
+    public double getUpper() {
+        return upper;
+    }
+
+    /**
+     * Rounds each playout could run past the position before it was cut off.
+     */
+    public int getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Outcome counts and round statistics of the playouts.
+     */
+    public SimulationReport getReport() {
+        return report;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hero win chance: %.1f%% (95%% CI %.1f%%-%.1f%%) | Playouts: %d | " +
+                "Monster wins: %d | Past %d rounds: %d | Elapsed: %.1f ms",
+            getProbability() * 100, lower * 100, upper * 100, report.getMatches(),
+            report.getMonsterWins(), horizon, report.getRoundLimits(), report.getElapsedNanos() / 1e6);
+    }
+}
@@ -0,0 +1,110 @@
+package simulation;
+
+import game.GameResult;
+import game.HeroPolicy;
+import game.LegendsOfValor;
+import util.RandomStreams;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Monte Carlo estimate of the heroes' chance to win a Legends of Valor game
+ * from its current position.
+ *
+ * Each playout forks the live game (LegendsOfValor.fork copies units and
+ * battlefield, so the live game is never touched), lets a hero policy play
+ * the heroes against the usual monster AI for up to a horizon of rounds, and
+ * records who won. Playouts run in parallel on a fork-join pool; playout i is
+ * seeded with randomStreams.childSeed(i), so an estimate does not depend on
+ * thread scheduling.
+ */
+public class WinProbabilityEstimator {
+    public static final int DEFAULT_HORIZON = 50;
+    // Playouts run sequentially by a single fork-join leaf task
+    private static final int PLAYOUTS_PER_TASK = 8;
+
+    private final Supplier<HeroPolicy> policyFactory;
+    private final int horizon;
+    private final RandomStreams randomStreams;
+    private final ForkJoinPool pool;
+
+    public WinProbabilityEstimator(Supplier<HeroPolicy> policyFactory) {
+        this(policyFactory, DEFAULT_HORIZON, RandomStreams.withRandomSeed(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param policyFactory creates the policy playing the heroes in each playout
+     * @param horizon       rounds a playout may run past the current one
+     */
+    public WinProbabilityEstimator(Supplier<HeroPolicy> policyFactory, int horizon,
+            RandomStreams randomStreams, ForkJoinPool pool) {
+        if (horizon <= 0) {
+            throw new IllegalArgumentException("Horizon must be positive: " + horizon);
+        }
+        this.policyFactory = policyFactory;
+        this.horizon = horizon;
+        this.randomStreams = randomStreams;
+        this.pool = pool;
+    }
+
+    /**
+     * Play the given number of continuations of a game in progress.
+     * The game must not be advanced while this runs. The playouts are forks,
+     * which print nothing, so the live game's console is left alone.
+     */
+    public WinEstimate estimate(LegendsOfValor game, int playouts) {
+        if (game.getWorld() == null || game.getResult() != null) {
+            throw new IllegalStateException("Only a game in progress can be estimated");
+        }
+        int roundLimit = game.getRoundCounter() + horizon;
+
+        long start = System.nanoTime();
+        SimulationReport report = pool.invoke(new PlayoutBatch(game, roundLimit, 0, playouts));
+        return new WinEstimate(report.withElapsedNanos(System.nanoTime() - start), horizon);
+    }
+
+    private GameResult playOut(LegendsOfValor game, int roundLimit, int index) {
+        LegendsOfValor fork = game.fork(policyFactory.get(), new RandomStreams(randomStreams.childSeed(index)));
+        return fork.runHeadless(roundLimit);
+    }
+
+    /**
+     * Fork-join task that splits a range of playout indices until it is small
+     * enough to play sequentially.
+     */
+    private class PlayoutBatch extends RecursiveTask<SimulationReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final LegendsOfValor game;
+        private final int roundLimit;
+        private final int from;
+        private final int to;
+
+        PlayoutBatch(LegendsOfValor game, int roundLimit, int from, int to) {
+            this.game = game;
+            this.roundLimit = roundLimit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= PLAYOUTS_PER_TASK) {
+                SimulationReport report = SimulationReport.empty();
+                for (int i = from; i < to; i++) {
+                    report = report.add(playOut(game, roundLimit, i));
+                }
+                return report;
+            }
+
+            int mid = (from + to) >>> 1;
+            PlayoutBatch left = new PlayoutBatch(game, roundLimit, from, mid);
+            PlayoutBatch right = new PlayoutBatch(game, roundLimit, mid, to);
+            left.fork();
+            SimulationReport rightReport = right.compute();
+            return left.join().combine(rightReport);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package util;
 
+import java.io.PrintStream;
+
 /**
  * Utility class for colorized ASCII art displays.
  * Uses ANSI color codes for terminal output.
@@ -55,78 +57,80 @@ public class AsciiArt {
     
 /**
  * Display Legends of Valor intro - Medieval battlefield theme with crossing swords.
+ * Printed to the given stream, e.g. the game's output.
  */
-public static void displayLegendsOfValorIntro() {
-    System.out.println("\n" + BRIGHT_RED + "╔═════════════════════════════════════════════════════════════════════════════╗" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
+public static void displayLegendsOfValorIntro(PrintStream out) {
+    out.println("\n" + BRIGHT_RED + "╔═════════════════════════════════════════════════════════════════════════════╗" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
     
     // Crossing swords ASCII art
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                        @@@@                    @@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                        @@@@@    @@@    @@@    @@@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                           @@@@ @@@      @@@ @@@@                            " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                            @@@@@@@      @@@@@@@                             " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                            @@@@@@@@@  @@@@@@@@@                             " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                          @@@  @@@@@@@@@@@@@@  @@@                           " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                                 @@@@@@@@@@                                  " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                                 @@@@@@@@@@                                  " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                                @@@@@@@@@@@@                                 " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                              @@@@@@@  @@@@@@@                               " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                            @@@@@@@      @@@@@@@                             " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                          @@@@@@@          @@@@@@@                           " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                        @@@@@@@              @@@@@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                        @@@@@                  @@@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                        @@@@                    @@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                        @@@@@    @@@    @@@    @@@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                           @@@@ @@@      @@@ @@@@                            " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                            @@@@@@@      @@@@@@@                             " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                            @@@@@@@@@  @@@@@@@@@                             " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                          @@@  @@@@@@@@@@@@@@  @@@                           " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                                 @@@@@@@@@@                                  " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                                 @@@@@@@@@@                                  " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                                @@@@@@@@@@@@                                 " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                              @@@@@@@  @@@@@@@                               " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                            @@@@@@@      @@@@@@@                             " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                          @@@@@@@          @@@@@@@                           " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + "                        @@@@@@@              @@@@@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + YELLOW + "                        @@@@@                  @@@@@                         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
     
     // Title - Large block letters
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ██╗     ███████╗ ██████╗ ███████╗███╗   ██╗██████╗ ███████╗         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ██║     ██╔════╝██╔════╝ ██╔════╝████╗  ██║██╔══██╗██╔════╝         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + RED + BOLD + "         ██║     █████╗  ██║  ███╗█████╗  ██╔██╗ ██║██║  ██║███████╗         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + RED + BOLD + "         ██║     ██╔══╝  ██║   ██║██╔══╝  ██║╚██╗██║██║  ██║╚════██║         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ███████╗███████╗╚██████╔╝███████╗██║ ╚████║██████╔╝███████║         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ╚══════╝╚══════╝ ╚═════╝ ╚══════╝╚═╝  ╚═══╝╚═════╝ ╚══════╝         " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + BOLD + "                      ═══════ O F   V A L O R ═══════                        " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + BOLD + "              >> Defend thy Castle, vanquish thine enemies! <<               " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + BRIGHT_CYAN + BOLD + "                >> A medieval battle of strategic warfare <<                 " + RESET + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
-    System.out.println(BRIGHT_RED + "╚═════════════════════════════════════════════════════════════════════════════╝" + RESET);
-    System.out.println();
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ██╗     ███████╗ ██████╗ ███████╗███╗   ██╗██████╗ ███████╗         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ██║     ██╔════╝██╔════╝ ██╔════╝████╗  ██║██╔══██╗██╔════╝         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + RED + BOLD + "         ██║     █████╗  ██║  ███╗█████╗  ██╔██╗ ██║██║  ██║███████╗         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + RED + BOLD + "         ██║     ██╔══╝  ██║   ██║██╔══╝  ██║╚██╗██║██║  ██║╚════██║         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ███████╗███████╗╚██████╔╝███████╗██║ ╚████║██████╔╝███████║         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_RED + BOLD + "         ╚══════╝╚══════╝ ╚═════╝ ╚══════╝╚═╝  ╚═══╝╚═════╝ ╚══════╝         " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + BOLD + "                      ═══════ O F   V A L O R ═══════                        " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_YELLOW + BOLD + "              >> Defend thy Castle, vanquish thine enemies! <<               " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + BRIGHT_CYAN + BOLD + "                >> A medieval battle of strategic warfare <<                 " + RESET + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "║" + RESET + "                                                                             " + BRIGHT_RED + "║" + RESET);
+    out.println(BRIGHT_RED + "╚═════════════════════════════════════════════════════════════════════════════╝" + RESET);
+    out.println();
 }
     
     /**
      * Display Monsters and Heroes intro - Classic dungeon crawler with pixel art.
+     * Printed to the given stream, e.g. the game's output.
      */
-    public static void displayMonstersAndHeroesIntro() {
-        System.out.println("\n" + BRIGHT_PURPLE + "╔══════════════════════════════════════════════════════════════════════════════╗" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
+    public static void displayMonstersAndHeroesIntro(PrintStream out) {
+        out.println("\n" + BRIGHT_PURPLE + "╔══════════════════════════════════════════════════════════════════════════════╗" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
         
         // Title
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + RED + BOLD + "     ██╗    ██╗ ██████╗ ███╗   ██╗███████╗████████╗███████╗██████╗ ███████╗" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ████╗ ████║██╔═══██╗████╗  ██║██╔════╝╚══██╔══╝██╔════╝██╔══██╗██╔════╝" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_RED + "    ██╔████╔██║██║   ██║██╔██╗ ██║███████╗   ██║   █████╗  ██████╔╝███████╗" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ██║╚██╔╝██║██║   ██║██║╚██╗██║╚════██║   ██║   ██╔══╝  ██╔══██╗╚════██║" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ██║ ╚═╝ ██║╚██████╔╝██║ ╚████║███████║   ██║   ███████╗██║  ██║███████║" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ╚═╝     ╚═╝ ╚═════╝ ╚═╝  ╚═══╝╚══════╝   ╚═╝   ╚══════╝╚═╝  ╚═╝╚══════╝" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + RED + BOLD + "     ██╗    ██╗ ██████╗ ███╗   ██╗███████╗████████╗███████╗██████╗ ███████╗" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ████╗ ████║██╔═══██╗████╗  ██║██╔════╝╚══██╔══╝██╔════╝██╔══██╗██╔════╝" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_RED + "    ██╔████╔██║██║   ██║██╔██╗ ██║███████╗   ██║   █████╗  ██████╔╝███████╗" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ██║╚██╔╝██║██║   ██║██║╚██╗██║╚════██║   ██║   ██╔══╝  ██╔══██╗╚════██║" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ██║ ╚═╝ ██║╚██████╔╝██║ ╚████║███████║   ██║   ███████╗██║  ██║███████║" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + RED + "    ╚═╝     ╚═╝ ╚═════╝ ╚═╝  ╚═══╝╚══════╝   ╚═╝   ╚══════╝╚═╝  ╚═╝╚══════╝" + RESET + BRIGHT_PURPLE + "   ║" + RESET);
         
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_YELLOW + "                                    &                                     " + RESET + BRIGHT_PURPLE + "    ║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_YELLOW + "                                    &                                     " + RESET + BRIGHT_PURPLE + "    ║" + RESET);
         
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██╗  ██╗███████╗██████╗  ██████╗ ███████╗███████╗               " + RESET + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██║  ██║██╔════╝██╔══██╗██╔═══██╗██╔════╝██╔════╝               " + RESET + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_BLUE + "              ███████║█████╗  ██████╔╝██║   ██║█████╗  ███████╗               " + RESET + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██╔══██║██╔══╝  ██╔══██╗██║   ██║██╔══╝  ╚════██║               " + RESET + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██║  ██║███████╗██║  ██║╚██████╔╝███████╗███████║               " + RESET + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ╚═╝  ╚═╝╚══════╝╚═╝  ╚═╝ ╚═════╝ ╚══════╝╚══════╝               " + RESET + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██╗  ██╗███████╗██████╗  ██████╗ ███████╗███████╗               " + RESET + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██║  ██║██╔════╝██╔══██╗██╔═══██╗██╔════╝██╔════╝               " + RESET + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_BLUE + "              ███████║█████╗  ██████╔╝██║   ██║█████╗  ███████╗               " + RESET + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██╔══██║██╔══╝  ██╔══██╗██║   ██║██╔══╝  ╚════██║               " + RESET + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ██║  ██║███████╗██║  ██║╚██████╔╝███████╗███████║               " + RESET + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BLUE + "              ╚═╝  ╚═╝╚══════╝╚═╝  ╚═╝ ╚═════╝ ╚══════╝╚══════╝               " + RESET + BRIGHT_PURPLE + "║" + RESET);
         
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
         
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_GREEN + "                     " + BOLD + "Explore dungeons, battle monsters!" + RESET + "                       " + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_CYAN + "                   " + BOLD + "A classic turn-based RPG adventure awaits" + RESET + "                  " + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
-        System.out.println(BRIGHT_PURPLE + "╚══════════════════════════════════════════════════════════════════════════════╝" + RESET);
-        System.out.println();
+        out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_GREEN + "                     " + BOLD + "Explore dungeons, battle monsters!" + RESET + "                       " + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + BRIGHT_CYAN + "                   " + BOLD + "A classic turn-based RPG adventure awaits" + RESET + "                  " + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "║" + RESET + "                                                                              " + BRIGHT_PURPLE + "║" + RESET);
+        out.println(BRIGHT_PURPLE + "╚══════════════════════════════════════════════════════════════════════════════╝" + RESET);
+        out.println();
     }
     
     /**
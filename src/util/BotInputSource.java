@@ -0,0 +1,48 @@
+package util;
+
+/**
+ * Input source that asks a bot for each answer.
+ * The bot sees the prompt being answered, so one responder can handle menus,
+ * target selection and commands alike.
+ */
+public class BotInputSource implements InputSource {
+
+    /**
+     * Produces an answer for a prompt.
+     */
+    public interface Responder {
+        String respond(String prompt);
+    }
+
+    private final Responder responder;
+    private String lastPrompt;
+
+    public BotInputSource(Responder responder) {
+        this.responder = responder;
+        this.lastPrompt = "";
+    }
+
+    @Override
+    public String readString(String prompt) {
+        lastPrompt = prompt;
+        return InputSource.super.readString(prompt);
+    }
+
+    @Override
+    public int readInt(String prompt, int min, int max) {
+        lastPrompt = prompt;
+        return InputSource.super.readInt(prompt, min, max);
+    }
+
+    @Override
+    public char readChar(String prompt) {
+        lastPrompt = prompt;
+        return InputSource.super.readChar(prompt);
+    }
+
+    @Override
+    public String nextLine() {
+        String answer = responder.respond(lastPrompt);
+        return answer != null ? answer : "";
+    }
+}
@@ -0,0 +1,29 @@
+package util;
+
+import java.io.InputStream;
+import java.util.Scanner;
+
+/**
+ * Input source that reads lines typed at the console.
+ */
+public class ConsoleInputSource implements InputSource {
+    private final Scanner scanner;
+
+    public ConsoleInputSource() {
+        this(System.in);
+    }
+
+    public ConsoleInputSource(InputStream in) {
+        this.scanner = new Scanner(in);
+    }
+
+    @Override
+    public String nextLine() {
+        return scanner.nextLine();
+    }
+
+    @Override
+    public void close() {
+        scanner.close();
+    }
+}
@@ -0,0 +1,54 @@
+package util;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * PrintStream that throws everything away before any formatting or character
+ * encoding happens, for silencing game output in headless batch runs.
+ * A PrintStream over a null output stream would still encode every line.
+ */
+public final class DiscardingPrintStream extends PrintStream {
+    public static final DiscardingPrintStream INSTANCE = new DiscardingPrintStream();
+
+    private DiscardingPrintStream() {
+        super(OutputStream.nullOutputStream());
+    }
+
+    @Override public void write(int b) { }
+    @Override public void write(byte[] buf, int off, int len) { }
+    @Override public void write(byte[] buf) { }
+    @Override public void flush() { }
+    @Override public void close() { }
+    @Override public boolean checkError() { return false; }
+
+    @Override public void print(boolean b) { }
+    @Override public void print(char c) { }
+    @Override public void print(int i) { }
+    @Override public void print(long l) { }
+    @Override public void print(float f) { }
+    @Override public void print(double d) { }
+    @Override public void print(char[] s) { }
+    @Override public void print(String s) { }
+    @Override public void print(Object obj) { }
+
+    @Override public void println() { }
+    @Override public void println(boolean x) { }
+    @Override public void println(char x) { }
+    @Override public void println(int x) { }
+    @Override public void println(long x) { }
+    @Override public void println(float x) { }
+    @Override public void println(double x) { }
+    @Override public void println(char[] x) { }
+    @Override public void println(String x) { }
+    @Override public void println(Object x) { }
+
+    @Override public PrintStream printf(String format, Object... args) { return this; }
+    @Override public PrintStream printf(Locale l, String format, Object... args) { return this; }
+    @Override public PrintStream format(String format, Object... args) { return this; }
+    @Override public PrintStream format(Locale l, String format, Object... args) { return this; }
+    @Override public PrintStream append(CharSequence csq) { return this; }
+    @Override public PrintStream append(CharSequence csq, int start, int end) { return this; }
+    @Override public PrintStream append(char c) { return this; }
+}
@@ -1,52 +1,52 @@
 package util;
 
-import java.util.Scanner;
-
 /**
  * Inputer handler class.
+ * Static shortcuts that read from a default input source (the console unless replaced).
+ * Game sessions should prefer their own injected InputSource.
  */
 public class InputHelper {
-    private static final Scanner scanner = new Scanner(System.in);
+    private static volatile InputSource defaultSource = new ConsoleInputSource();
+
+    /**
+     * Get the input source used by the static helpers.
+     */
+    public static InputSource getDefaultSource() {
+        return defaultSource;
+    }
+
+    /**
+     * Replace the input source used by the static helpers.
+     */
+    public static void setDefaultSource(InputSource source) {
+        defaultSource = source;
+    }
 
     /**
      * Read a string from user input.
      */
     public static String readString(String prompt) {
-        System.out.print(prompt);
-        return scanner.nextLine().trim();
+        return defaultSource.readString(prompt);
     }
 
     /**
      * Read an integer from user input with validation.
      */
     public static int readInt(String prompt, int min, int max) {
-        while (true) {
-            try {
-                System.out.print(prompt);
-                int value = Integer.parseInt(scanner.nextLine().trim());
-                if (value >= min && value <= max) {
-                    return value;
-                }
-                System.out.println("Please enter a number between " + min + " and " + max);
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Please enter a number.");
-            }
-        }
+        return defaultSource.readInt(prompt, min, max);
     }
 
     /**
      * Read a single character from user input.
      */
     public static char readChar(String prompt) {
-        System.out.print(prompt);
-        String input = scanner.nextLine().trim();
-        return input.length() > 0 ? input.charAt(0) : '\0';
+        return defaultSource.readChar(prompt);
     }
 
     /**
-     * Close the scanner.
+     * Close the default input source.
      */
     public static void close() {
-        scanner.close();
+        defaultSource.close();
     }
 }
@@ -0,0 +1,68 @@
+package util;
+
+import java.io.PrintStream;
+import java.util.NoSuchElementException;
+
+/**
+ * Source of player input for a single game session.
+ * Implementations supply raw lines; prompting and validation are shared here,
+ * so every source behaves exactly like the console.
+ */
+public interface InputSource {
+
+    /**
+     * Read the next raw line of input.
+     *
+     * @throws NoSuchElementException if the source has no more input
+     */
+    String nextLine();
+
+    /**
+     * Stream the prompts and validation messages are shown on.
+     * A source answering a game played off screen can discard them.
+     */
+    default PrintStream getPromptStream() {
+        return System.out;
+    }
+
+    /**
+     * Read a string from input.
+     */
+    default String readString(String prompt) {
+        getPromptStream().print(prompt);
+        return nextLine().trim();
+    }
+
+    /**
+     * Read an integer from input with validation.
+     */
+    default int readInt(String prompt, int min, int max) {
+        while (true) {
+            try {
+                getPromptStream().print(prompt);
+                int value = Integer.parseInt(nextLine().trim());
+                if (value >= min && value <= max) {
+                    return value;
+                }
+                getPromptStream().println("Please enter a number between " + min + " and " + max);
+            } catch (NumberFormatException e) {
+                getPromptStream().println("Invalid input. Please enter a number.");
+            }
+        }
+    }
+
+    /**
+     * Read a single character from input.
+     */
+    default char readChar(String prompt) {
+        getPromptStream().print(prompt);
+        String input = nextLine().trim();
+        return input.length() > 0 ? input.charAt(0) : '\0';
+    }
+
+    /**
+     * Release any resources held by this source.
+     */
+    default void close() {
+    }
+}
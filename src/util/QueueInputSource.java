@@ -0,0 +1,41 @@
+package util;
+
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory input source fed programmatically.
+ * Lines may be offered from any thread; reading never blocks and fails
+ * fast when the queue is empty instead of waiting on the console.
+ */
+public class QueueInputSource implements InputSource {
+    private final Queue<String> lines;
+
+    public QueueInputSource(String... lines) {
+        this.lines = new ConcurrentLinkedQueue<>();
+        offer(lines);
+    }
+
+    /**
+     * Append lines to be read later.
+     */
+    public void offer(String... newLines) {
+        for (String line : newLines) {
+            lines.add(line);
+        }
+    }
+
+    @Override
+    public String nextLine() {
+        String line = lines.poll();
+        if (line == null) {
+            throw new NoSuchElementException("No queued input");
+        }
+        return line;
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package util;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded source of independent random streams for one game.
+ * Every component that needs randomness (world generation, combat, spawning,
+ * hero policies) takes its own stream from here, so a game started from the
+ * same seed with the same inputs plays out identically.
+ *
+ * Streams are split from a SplittableRandom root. They are handed out as
+ * java.util.Random so existing code can use them, but they are not thread-safe
+ * and skip Random's atomic seed update; each belongs to a single game.
+ */
+public final class RandomStreams {
+    // SplittableRandom's golden-ratio increment, used to spread child seeds
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final SplittableRandom root;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+        this.root = new SplittableRandom(seed);
+    }
+
+    /**
+     * Streams from a fresh, unpredictable seed; getSeed() still reports it so the game can be replayed.
+     */
+    public static RandomStreams withRandomSeed() {
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Split off the next independent stream.
+     * Streams are numbered in the order they are requested, so components must
+     * be created in a fixed order for a game to be reproducible.
+     */
+    public synchronized Random newStream() {
+        return new SplitStream(root.split());
+    }
+
+    /**
+     * Seed of the index-th child, e.g. one match of a batch.
+     * Depends only on this seed and the index, not on how many streams were
+     * handed out or which thread asks, so parallel batches stay reproducible.
+     */
+    public long childSeed(long index) {
+        return new SplittableRandom(seed + (index + 1) * GOLDEN_GAMMA).nextLong();
+    }
+
+    /**
+     * Random view of a split SplittableRandom.
+     */
+    private static final class SplitStream extends Random {
+        private static final long serialVersionUID = 1L;
+
+        private final SplittableRandom source;
+
+        SplitStream(SplittableRandom source) {
+            super(0L);
+            this.source = source;
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (source.nextLong() >>> (64 - bits));
+        }
+
+        @Override
+        public int nextInt() {
+            return source.nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return source.nextInt(bound);
+        }
+
+        @Override
+        public int nextInt(int origin, int bound) {
+            return source.nextInt(origin, bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return source.nextLong();
+        }
+
+        @Override
+        public double nextDouble() {
+            return source.nextDouble();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return source.nextBoolean();
+        }
+    }
+}
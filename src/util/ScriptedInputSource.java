@@ -0,0 +1,51 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Input source that replays a command script.
+ * The whole script is buffered up front, so replays never block on I/O.
+ */
+public class ScriptedInputSource implements InputSource {
+    private final String[] lines;
+    private final boolean echo;
+    private int position;
+
+    /**
+     * Load every line of a command file into memory.
+     */
+    public static ScriptedInputSource fromFile(Path file, boolean echo) throws IOException {
+        return new ScriptedInputSource(Files.readAllLines(file, StandardCharsets.UTF_8), echo);
+    }
+
+    public ScriptedInputSource(List<String> lines, boolean echo) {
+        this.lines = lines.toArray(new String[0]);
+        this.echo = echo;
+        this.position = 0;
+    }
+
+    @Override
+    public String nextLine() {
+        if (position >= lines.length) {
+            throw new NoSuchElementException("Script exhausted after " + lines.length + " lines");
+        }
+        String line = lines[position++];
+        if (echo) {
+            // Show the scripted answer after its prompt, as if it had been typed
+            System.out.println(line);
+        }
+        return line;
+    }
+
+    /**
+     * Number of script lines not yet consumed.
+     */
+    public int remaining() {
+        return lines.length - position;
+    }
+}
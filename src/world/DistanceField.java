@@ -0,0 +1,175 @@
+package world;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Shortest walking distance (in orthogonal steps) from every cell of a grid
+ * to the nearest target cell, avoiding impassable terrain.
+ *
+ * The field is built with one multi-source BFS and then kept current as the
+ * terrain changes: a cell that opens up (an obstacle being cleared) only
+ * lowers distances around it, which is propagated locally; any other change
+ * marks the field stale and it is rebuilt on the next read.
+ */
+public final class DistanceField implements GridStore.TerrainListener {
+    public static final int UNREACHABLE = -1;
+
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COL_STEPS = {0, 0, -1, 1};
+
+    private final GridStore grid;
+    private final boolean[] passable;
+    private final IntPredicate target;
+    private final int[] distances;
+    // Reusable BFS queue; every cell enters at most once per pass
+    private final int[] queue;
+    private boolean stale;
+
+    /**
+     * Build a field and keep it attached to the grid's terrain changes.
+     *
+     * @param passableTypes terrain that can be walked through
+     * @param target        true for the cells to measure distance to, by cell index
+     */
+    public DistanceField(GridStore grid, Set<TileType> passableTypes, IntPredicate target) {
+        this.grid = grid;
+        this.passable = new boolean[TileType.values().length];
+        for (TileType type : passableTypes) {
+            passable[type.ordinal()] = true;
+        }
+        this.target = target;
+        this.distances = new int[grid.getRows() * grid.getCols()];
+        this.queue = new int[distances.length];
+        rebuild();
+        grid.addTerrainListener(this);
+    }
+
+    /**
+     * Every type except INACCESSIBLE and OBSTACLE, matching Tile.isAccessible.
+     */
+    public static Set<TileType> accessibleTypes() {
+        return EnumSet.complementOf(EnumSet.of(TileType.INACCESSIBLE, TileType.OBSTACLE));
+    }
+
+    /**
+     * Steps from a cell to the nearest target, or UNREACHABLE.
+     */
+    public int distance(int row, int col) {
+        return grid.isValid(row, col) ? distance(grid.index(row, col)) : UNREACHABLE;
+    }
+
+    public int distance(int cell) {
+        if (stale) {
+            rebuild();
+        }
+        return distances[cell];
+    }
+
+    /**
+     * Neighbouring cell one step closer to a target, or -1 if the cell is a
+     * target or cannot reach one. Ties go to north, south, west, east in that order.
+     */
+    public int nextStep(int row, int col) {
+        int here = distance(row, col);
+        if (here <= 0) {
+            return -1;
+        }
+        for (int i = 0; i < ROW_STEPS.length; i++) {
+            int r = row + ROW_STEPS[i];
+            int c = col + COL_STEPS[i];
+            if (grid.isValid(r, c) && distances[grid.index(r, c)] == here - 1) {
+                return grid.index(r, c);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void terrainChanged(int cell, TileType oldType, TileType newType) {
+        boolean wasPassable = passable[oldType.ordinal()];
+        boolean isPassable = passable[newType.ordinal()];
+        boolean wasTarget = distances[cell] == 0;
+        boolean isTarget = isPassable && target.test(cell);
+        if (stale || (wasPassable == isPassable && wasTarget == isTarget)) {
+            return;
+        }
+        if (!wasPassable && isPassable && !isTarget) {
+            open(cell);
+        } else {
+            // Closing a cell or moving a target can lengthen paths anywhere
+            stale = true;
+        }
+    }
+
+    /**
+     * Multi-source BFS from every passable target cell.
+     */
+    private void rebuild() {
+        Arrays.fill(distances, UNREACHABLE);
+        int tail = 0;
+        for (int cell = 0; cell < distances.length; cell++) {
+            if (passable[grid.getType(cell).ordinal()] && target.test(cell)) {
+                distances[cell] = 0;
+                queue[tail++] = cell;
+            }
+        }
+        propagate(tail);
+        stale = false;
+    }
+
+    /**
+     * A cell became passable: give it the best distance of its neighbours and
+     * push the improvement outwards. Only cells whose distance drops are visited.
+     */
+    private void open(int cell) {
+        int row = cell / grid.getCols();
+        int col = cell % grid.getCols();
+        int best = UNREACHABLE;
+        for (int i = 0; i < ROW_STEPS.length; i++) {
+            int r = row + ROW_STEPS[i];
+            int c = col + COL_STEPS[i];
+            if (grid.isValid(r, c)) {
+                int d = distances[grid.index(r, c)];
+                if (d != UNREACHABLE && (best == UNREACHABLE || d + 1 < best)) {
+                    best = d + 1;
+                }
+            }
+        }
+        if (best == UNREACHABLE) {
+            return;
+        }
+        distances[cell] = best;
+        queue[0] = cell;
+        propagate(1);
+    }
+
+    /**
+     * Relax neighbours of the queued cells in BFS order.
+     */
+    private void propagate(int tail) {
+        int cols = grid.getCols();
+        int head = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / cols;
+            int col = cell % cols;
+            int next = distances[cell] + 1;
+            for (int i = 0; i < ROW_STEPS.length; i++) {
+                int r = row + ROW_STEPS[i];
+                int c = col + COL_STEPS[i];
+                if (!grid.isValid(r, c)) {
+                    continue;
+                }
+                int neighbour = grid.index(r, c);
+                if (passable[grid.getType(neighbour).ordinal()]
+                        && (distances[neighbour] == UNREACHABLE || distances[neighbour] > next)) {
+                    distances[neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+}
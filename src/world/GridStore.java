@@ -0,0 +1,309 @@
+package world;
+
+import characters.Hero;
+import characters.Monster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compact, primitive-backed storage for a world grid.
+ * Each cell is an index into flat arrays: terrain as a TileType ordinal,
+ * occupants as handles into side tables of heroes and monsters, and their
+ * display ids. Tile objects are only thin views onto a cell.
+ */
+public final class GridStore {
+    private static final TileType[] TYPES = TileType.values();
+    private static final byte PARTY_FLAG = 1;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] terrain;
+    private final byte[] flags;
+    // Occupant handles: 0 = empty, otherwise handle into the side table
+    private final int[] heroSlots;
+    private final int[] monsterSlots;
+    private final int[] heroIds;
+    private final int[] monsterIds;
+    private final OccupantTable<Hero> heroes;
+    private final OccupantTable<Monster> monsters;
+    // Optional lane summary of the occupants, kept in step by setHero/setMonster
+    private LaneOccupancy lanes;
+    // Notified of terrain changes; not carried over by copy()
+    private final List<TerrainListener> terrainListeners = new ArrayList<>();
+
+    public GridStore(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int cells = rows * cols;
+        this.terrain = new byte[cells];
+        this.flags = new byte[cells];
+        this.heroSlots = new int[cells];
+        this.monsterSlots = new int[cells];
+        this.heroIds = new int[cells];
+        this.monsterIds = new int[cells];
+        this.heroes = new OccupantTable<>();
+        this.monsters = new OccupantTable<>();
+    }
+
+    private GridStore(GridStore other) {
+        this(other, UnaryOperator.identity(), UnaryOperator.identity());
+    }
+
+    private GridStore(GridStore other, UnaryOperator<Hero> heroMap, UnaryOperator<Monster> monsterMap) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.terrain = other.terrain.clone();
+        this.flags = other.flags.clone();
+        this.heroSlots = other.heroSlots.clone();
+        this.monsterSlots = other.monsterSlots.clone();
+        this.heroIds = other.heroIds.clone();
+        this.monsterIds = other.monsterIds.clone();
+        this.heroes = new OccupantTable<>(other.heroes, heroMap);
+        this.monsters = new OccupantTable<>(other.monsters, monsterMap);
+        this.lanes = other.lanes != null ? other.lanes.copy() : null;
+    }
+
+    /**
+     * Copy the whole grid: a handful of array clones, independent of how many
+     * characters are on the map. Occupants are shared by reference.
+     */
+    public GridStore copy() {
+        return new GridStore(this);
+    }
+
+    /**
+     * Copy the grid with every occupant replaced by its counterpart, e.g. the
+     * copies of the heroes and monsters of a forked game. Handles keep their
+     * values, so this is as cheap as copy() plus one call per occupant.
+     */
+    public GridStore copy(UnaryOperator<Hero> heroMap, UnaryOperator<Monster> monsterMap) {
+        return new GridStore(this, heroMap, monsterMap);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isValid(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Flat cell index of a position; the position must be valid.
+     */
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Fill every cell with one terrain type. Meant for generation: terrain
+     * listeners are not notified.
+     */
+    public void fill(TileType type) {
+        Arrays.fill(terrain, (byte) type.ordinal());
+    }
+
+    /**
+     * Start maintaining per-lane occupancy for a lane layout; must be called
+     * while the grid is still empty.
+     */
+    void attachLanes(LaneLayout layout) {
+        this.lanes = new LaneOccupancy(layout);
+    }
+
+    /**
+     * Lane occupancy summary, or null if none was attached.
+     */
+    public LaneOccupancy getLanes() {
+        return lanes;
+    }
+
+    // ========== Per-cell access by index (used by Tile views) ==========
+
+    public TileType getType(int cell) {
+        return TYPES[terrain[cell]];
+    }
+
+    public void setType(int cell, TileType type) {
+        TileType old = TYPES[terrain[cell]];
+        terrain[cell] = (byte) type.ordinal();
+        if (old != type) {
+            for (TerrainListener listener : terrainListeners) {
+                listener.terrainChanged(cell, old, type);
+            }
+        }
+    }
+
+    /**
+     * Receive a callback whenever a cell's terrain changes, e.g. an obstacle being cleared.
+     */
+    public void addTerrainListener(TerrainListener listener) {
+        terrainListeners.add(listener);
+    }
+
+    public void removeTerrainListener(TerrainListener listener) {
+        terrainListeners.remove(listener);
+    }
+
+    public boolean hasParty(int cell) {
+        return (flags[cell] & PARTY_FLAG) != 0;
+    }
+
+    public void setHasParty(int cell, boolean hasParty) {
+        flags[cell] = (byte) (hasParty ? flags[cell] | PARTY_FLAG : flags[cell] & ~PARTY_FLAG);
+    }
+
+    public Hero getHero(int cell) {
+        return heroes.get(heroSlots[cell]);
+    }
+
+    public boolean hasHero(int cell) {
+        return heroSlots[cell] != 0;
+    }
+
+    public int getHeroId(int cell) {
+        return heroIds[cell];
+    }
+
+    public void setHero(int cell, Hero hero, int heroId) {
+        boolean had = heroSlots[cell] != 0;
+        heroes.release(heroSlots[cell]);
+        heroSlots[cell] = heroes.acquire(hero);
+        heroIds[cell] = (hero == null) ? 0 : heroId;
+        if (lanes != null && had != (hero != null)) {
+            lanes.heroChanged(cell / cols, cell % cols, hero != null);
+        }
+    }
+
+    public Monster getMonster(int cell) {
+        return monsters.get(monsterSlots[cell]);
+    }
+
+    public boolean hasMonster(int cell) {
+        return monsterSlots[cell] != 0;
+    }
+
+    public int getMonsterId(int cell) {
+        return monsterIds[cell];
+    }
+
+    public void setMonster(int cell, Monster monster, int monsterId) {
+        boolean had = monsterSlots[cell] != 0;
+        monsters.release(monsterSlots[cell]);
+        monsterSlots[cell] = monsters.acquire(monster);
+        monsterIds[cell] = (monster == null) ? 0 : monsterId;
+        if (lanes != null && had != (monster != null)) {
+            lanes.monsterChanged(cell / cols, cell % cols, monster != null);
+        }
+    }
+
+    // ========== Per-cell access by position (no Tile allocation) ==========
+
+    public TileType getType(int row, int col) {
+        return getType(index(row, col));
+    }
+
+    public void setType(int row, int col, TileType type) {
+        setType(index(row, col), type);
+    }
+
+    public boolean hasHero(int row, int col) {
+        return hasHero(index(row, col));
+    }
+
+    public boolean hasMonster(int row, int col) {
+        return hasMonster(index(row, col));
+    }
+
+    /**
+     * Callback for terrain changes made through setType.
+     */
+    public interface TerrainListener {
+        void terrainChanged(int cell, TileType oldType, TileType newType);
+    }
+
+    /**
+     * Side table of characters referenced from the grid by small integer handles.
+     * Handles are reference-counted so a character's slot is reused once it no
+     * longer occupies any cell.
+     */
+    private static final class OccupantTable<T> {
+        // Slot 0 is reserved for "empty"
+        private final List<T> occupants;
+        private final Map<T, Integer> handles;
+        private int[] counts;
+        private int[] free;
+        private int freeCount;
+
+        OccupantTable() {
+            this.occupants = new ArrayList<>();
+            this.handles = new IdentityHashMap<>();
+            this.counts = new int[8];
+            this.free = new int[8];
+            occupants.add(null);
+        }
+
+        OccupantTable(OccupantTable<T> other, UnaryOperator<T> map) {
+            this.occupants = new ArrayList<>(other.occupants.size());
+            this.handles = new IdentityHashMap<>();
+            for (int handle = 0; handle < other.occupants.size(); handle++) {
+                T occupant = other.occupants.get(handle);
+                T mapped = occupant != null ? map.apply(occupant) : null;
+                occupants.add(mapped);
+                if (mapped != null) {
+                    handles.put(mapped, handle);
+                }
+            }
+            this.counts = other.counts.clone();
+            this.free = other.free.clone();
+            this.freeCount = other.freeCount;
+        }
+
+        T get(int handle) {
+            return occupants.get(handle);
+        }
+
+        int acquire(T occupant) {
+            if (occupant == null) {
+                return 0;
+            }
+            Integer handle = handles.get(occupant);
+            if (handle == null) {
+                if (freeCount == 0) {
+                    handle = occupants.size();
+                    occupants.add(occupant);
+                    if (handle >= counts.length) {
+                        counts = Arrays.copyOf(counts, counts.length * 2);
+                    }
+                } else {
+                    handle = free[--freeCount];
+                    occupants.set(handle, occupant);
+                }
+                handles.put(occupant, handle);
+            }
+            counts[handle]++;
+            return handle;
+        }
+
+        void release(int handle) {
+            if (handle == 0 || --counts[handle] > 0) {
+                return;
+            }
+            handles.remove(occupants.get(handle));
+            occupants.set(handle, null);
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, free.length * 2);
+            }
+            free[freeCount++] = handle;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package world;
+
+/**
+ * Geometry of a Legends of Valor map: a number of equally wide lanes separated
+ * by one-column walls, with the Monster Nexus on the top row and the Hero
+ * Nexus on the bottom row.
+ * All lane math lives here; lane lookups are O(1) through a per-column table.
+ */
+public final class LaneLayout {
+    /** The original 8x8 map: three lanes of two columns with walls at columns 2 and 5. */
+    public static final LaneLayout CLASSIC = new LaneLayout(8, 3, 2);
+
+    private final int rows;
+    private final int laneCount;
+    private final int laneWidth;
+    private final int cols;
+    // Lane of each column, or -1 for walls
+    private final int[] laneOfColumn;
+
+    public LaneLayout(int rows, int laneCount, int laneWidth) {
+        if (rows < 3 || laneCount < 1 || laneWidth < 1) {
+            throw new IllegalArgumentException("A map needs at least 3 rows and one lane of width 1");
+        }
+        this.rows = rows;
+        this.laneCount = laneCount;
+        this.laneWidth = laneWidth;
+        this.cols = laneCount * laneWidth + (laneCount - 1);
+        this.laneOfColumn = new int[cols];
+        for (int col = 0; col < cols; col++) {
+            int offset = col % (laneWidth + 1);
+            laneOfColumn[col] = offset < laneWidth ? col / (laneWidth + 1) : -1;
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public int getLaneWidth() {
+        return laneWidth;
+    }
+
+    /**
+     * Lane containing a column, or -1 for walls and columns outside the map.
+     */
+    public int laneOf(int col) {
+        return col >= 0 && col < cols ? laneOfColumn[col] : -1;
+    }
+
+    public boolean isWall(int col) {
+        return laneOf(col) < 0 && col >= 0 && col < cols;
+    }
+
+    /**
+     * True if both columns belong to the same lane.
+     */
+    public boolean sameLane(int colA, int colB) {
+        int lane = laneOf(colA);
+        return lane >= 0 && lane == laneOf(colB);
+    }
+
+    /**
+     * Leftmost column of a lane.
+     */
+    public int laneStartCol(int lane) {
+        return lane * (laneWidth + 1);
+    }
+
+    /**
+     * Rightmost column of a lane.
+     */
+    public int laneEndCol(int lane) {
+        return laneStartCol(lane) + laneWidth - 1;
+    }
+
+    /**
+     * Column where heroes of a lane spawn on the Hero Nexus.
+     */
+    public int heroSpawnCol(int lane) {
+        return laneStartCol(lane);
+    }
+
+    /**
+     * Column where monsters of a lane spawn on the Monster Nexus.
+     */
+    public int monsterSpawnCol(int lane) {
+        return laneEndCol(lane);
+    }
+
+    public int getMonsterNexusRow() {
+        return 0;
+    }
+
+    public int getHeroNexusRow() {
+        return rows - 1;
+    }
+
+    /**
+     * Hero Nexus cells, i.e. the largest party that can be placed.
+     */
+    public int getNexusCells() {
+        return laneCount * laneWidth;
+    }
+
+    /**
+     * Number of cells between the two Nexus rows that are not walls.
+     */
+    public int getBattlefieldCells() {
+        return (rows - 2) * laneCount * laneWidth;
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + " map with " + laneCount + " lanes of width " + laneWidth;
+    }
+}
@@ -0,0 +1,110 @@
+package world;
+
+import java.util.BitSet;
+
+/**
+ * Per-lane, per-row occupancy of a Valor map, kept by the GridStore it is
+ * attached to. For each lane one bitset marks the rows holding at least one
+ * hero and another the rows holding at least one monster, so lane blocking
+ * rules are single bit tests and the frontmost unit of a lane is one scan of
+ * a few words. Counts per lane row track lanes wider than one column.
+ */
+public final class LaneOccupancy {
+    private final LaneLayout layout;
+    private final int rows;
+    // Units per lane row, indexed lane * rows + row
+    private final int[] heroCounts;
+    private final int[] monsterCounts;
+    private final BitSet[] heroRows;
+    private final BitSet[] monsterRows;
+
+    LaneOccupancy(LaneLayout layout) {
+        this.layout = layout;
+        this.rows = layout.getRows();
+        int lanes = layout.getLaneCount();
+        this.heroCounts = new int[lanes * rows];
+        this.monsterCounts = new int[lanes * rows];
+        this.heroRows = new BitSet[lanes];
+        this.monsterRows = new BitSet[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            heroRows[lane] = new BitSet(rows);
+            monsterRows[lane] = new BitSet(rows);
+        }
+    }
+
+    private LaneOccupancy(LaneOccupancy other) {
+        this.layout = other.layout;
+        this.rows = other.rows;
+        this.heroCounts = other.heroCounts.clone();
+        this.monsterCounts = other.monsterCounts.clone();
+        this.heroRows = new BitSet[other.heroRows.length];
+        this.monsterRows = new BitSet[other.monsterRows.length];
+        for (int lane = 0; lane < heroRows.length; lane++) {
+            heroRows[lane] = (BitSet) other.heroRows[lane].clone();
+            monsterRows[lane] = (BitSet) other.monsterRows[lane].clone();
+        }
+    }
+
+    LaneOccupancy copy() {
+        return new LaneOccupancy(this);
+    }
+
+    /**
+     * Record a hero entering (added) or leaving a cell. Walls are ignored.
+     */
+    void heroChanged(int row, int col, boolean added) {
+        update(heroCounts, heroRows, row, col, added);
+    }
+
+    /**
+     * Record a monster entering (added) or leaving a cell. Walls are ignored.
+     */
+    void monsterChanged(int row, int col, boolean added) {
+        update(monsterCounts, monsterRows, row, col, added);
+    }
+
+    private void update(int[] counts, BitSet[] bits, int row, int col, boolean added) {
+        int lane = layout.laneOf(col);
+        if (lane < 0) {
+            return;
+        }
+        int slot = lane * rows + row;
+        counts[slot] += added ? 1 : -1;
+        bits[lane].set(row, counts[slot] > 0);
+    }
+
+    /**
+     * True if any column of the lane holds a hero in the given row.
+     */
+    public boolean hasHero(int lane, int row) {
+        return lane >= 0 && heroRows[lane].get(row);
+    }
+
+    /**
+     * True if any column of the lane holds a monster in the given row.
+     */
+    public boolean hasMonster(int lane, int row) {
+        return lane >= 0 && monsterRows[lane].get(row);
+    }
+
+    /**
+     * Row of the monster furthest south (closest to the Hero Nexus) in a lane, or -1.
+     */
+    public int frontmostMonsterRow(int lane) {
+        return lane >= 0 ? monsterRows[lane].previousSetBit(rows - 1) : -1;
+    }
+
+    /**
+     * Row of the hero furthest north (closest to the Monster Nexus) in a lane, or -1.
+     */
+    public int frontmostHeroRow(int lane) {
+        return lane >= 0 ? heroRows[lane].nextSetBit(0) : -1;
+    }
+
+    /**
+     * Row of the nearest monster at or ahead of (north of) a row in a lane, or -1.
+     */
+    public int nearestMonsterRowAhead(int lane, int row) {
+        return lane >= 0 ? monsterRows[lane].previousSetBit(row) : -1;
+    }
+}
@@ -3,13 +3,15 @@ package world;
 import characters.Hero;
 import characters.Monster;
 
+import java.io.PrintStream;
+
 /**
  * Movement strategy for Monsters & Heroes.
  * Party moves as one unit, monsters don't move.
  */
 public class MHMovementStrategy implements MovementStrategy {
     @Override
-    public boolean moveHero(Hero hero, int deltaRow, int deltaCol, World world) {
+    public boolean moveHero(Hero hero, int deltaRow, int deltaCol, World world, PrintStream out) {
         int newRow = world.getPartyRow() + deltaRow;
         int newCol = world.getPartyCol() + deltaCol;
 
@@ -25,7 +27,7 @@ public class MHMovementStrategy implements MovementStrategy {
     }
 
     @Override
-    public boolean moveMonster(Monster monster, World world) {
+    public boolean moveMonster(Monster monster, World world, PrintStream out) {
         // Monsters dont move
         return false;
     }
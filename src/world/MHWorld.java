@@ -1,45 +1,65 @@
 package world;
 
+import util.RandomStreams;
+
+import java.util.Random;
+
 public class MHWorld extends World {
 
-    private static final double INACCESSIBLE_RATIO = 0.20;
-    private static final double MARKET_RATIO = 0.30;
     private static final int DEFAULT_MHWORLD_SIZE = 8;
 
+    private final TerrainMix terrain;
+    private DistanceField marketDistances;
+
     public MHWorld() {
         this(DEFAULT_MHWORLD_SIZE);
     }
 
-    public MHWorld(int size) {
-        super(size);
-        this.setMovementStrategy(new MHMovementStrategy());
-        placeParty();
+    /**
+     * Create a default-sized world drawn from the given stream.
+     */
+    public MHWorld(Random random) {
+        this(DEFAULT_MHWORLD_SIZE, TerrainMix.MONSTERS_AND_HEROES, random);
     }
 
-    @Override
-    protected void generate() {
-        int total = size * size;
-        int inaccessible = (int) (total * INACCESSIBLE_RATIO);
-        int market = (int) (total * MARKET_RATIO);
+    public MHWorld(int size) {
+        this(size, TerrainMix.MONSTERS_AND_HEROES);
+    }
 
-        for (int r = 0; r < size; r++)
-            for (int c = 0; c < size; c++)
-                grid[r][c] = new Tile(TileType.COMMON);
+    /**
+     * Create a square world whose common cells are partly replaced by the given terrain mix.
+     */
+    public MHWorld(int size, TerrainMix terrain) {
+        this(size, terrain, RandomStreams.withRandomSeed().newStream());
+    }
 
-        placeTiles(TileType.INACCESSIBLE, inaccessible);
-        placeTiles(TileType.MARKET, market);
+    /**
+     * Create a world whose terrain and party position are drawn from the given stream.
+     */
+    public MHWorld(int size, TerrainMix terrain, Random random) {
+        super(size, size, random);
+        this.terrain = terrain;
+        generate();
+        this.setMovementStrategy(new MHMovementStrategy());
+        placeParty();
     }
 
-    protected void placeTiles(TileType type, int count) {
-        int placed = 0;
-        while (placed < count) {
-            int r = random.nextInt(size);
-            int c = random.nextInt(size);
-            if (grid[r][c].getType() == TileType.COMMON) {
-                grid[r][c] = new Tile(type);
-                placed++;
-            }
+    /**
+     * Steps from every cell to the nearest market around inaccessible cells,
+     * built on first use.
+     */
+    public DistanceField getMarketDistances() {
+        if (marketDistances == null) {
+            marketDistances = new DistanceField(grid, DistanceField.accessibleTypes(),
+                cell -> grid.getType(cell) == TileType.MARKET);
         }
+        return marketDistances;
+    }
+
+    @Override
+    protected void generate() {
+        grid.fill(TileType.COMMON);
+        placeTerrain(TileType.COMMON, terrain);
     }
 }
 
@@ -3,12 +3,15 @@ package world;
 import characters.Hero;
 import characters.Monster;
 
+import java.io.PrintStream;
+
 /**
  * Strategy interface for character movement.
  * Allows different game modes to define custom movement rules.
+ * Messages go to the stream passed in, normally the game's output.
  */
 
 public interface MovementStrategy {
-    boolean moveHero(Hero hero, int deltaRow, int deltaCol, World world);
-    boolean moveMonster(Monster monster, World world);
+    boolean moveHero(Hero hero, int deltaRow, int deltaCol, World world, PrintStream out);
+    boolean moveMonster(Monster monster, World world, PrintStream out);
 }
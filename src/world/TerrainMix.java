@@ -0,0 +1,88 @@
+package world;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable table of what fraction of a world's open cells each terrain type covers.
+ * Ratios are taken of the cells eligible for terrain (every cell of a Monsters and
+ * Heroes map, the battlefield between the Nexus rows of a Valor map) and must not
+ * add up to more than 1.
+ */
+public final class TerrainMix {
+    /** The original Monsters and Heroes map: 20% inaccessible, 30% markets. */
+    public static final TerrainMix MONSTERS_AND_HEROES = new TerrainMix(Map.of(
+        TileType.INACCESSIBLE, 0.20,
+        TileType.MARKET, 0.30));
+
+    /** The original Valor battlefield: 20% each of bush, cave and koulou, 10% obstacles. */
+    public static final TerrainMix VALOR = new TerrainMix(Map.of(
+        TileType.BUSH, 0.20,
+        TileType.CAVE, 0.20,
+        TileType.KOULOU, 0.20,
+        TileType.OBSTACLE, 0.10));
+
+    private final Map<TileType, Double> ratios;
+
+    /**
+     * @param ratios fraction of eligible cells per terrain type; missing types get 0
+     */
+    public TerrainMix(Map<TileType, Double> ratios) {
+        EnumMap<TileType, Double> copy = new EnumMap<>(TileType.class);
+        double total = 0;
+        for (Map.Entry<TileType, Double> entry : ratios.entrySet()) {
+            double ratio = entry.getValue();
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("Invalid ratio for " + entry.getKey() + ": " + ratio);
+            }
+            if (ratio > 0) {
+                copy.put(entry.getKey(), ratio);
+                total += ratio;
+            }
+        }
+        if (total > 1 + 1e-9) {
+            throw new IllegalArgumentException("Terrain ratios add up to more than 1: " + total);
+        }
+        this.ratios = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Parse a table such as "bush:0.3,cave:0.1,obstacle:0.05".
+     */
+    public static TerrainMix parse(String spec) {
+        EnumMap<TileType, Double> ratios = new EnumMap<>(TileType.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected type:ratio but got \"" + part + "\"");
+            }
+            ratios.put(TileType.valueOf(pair[0].trim().toUpperCase()), Double.parseDouble(pair[1].trim()));
+        }
+        return new TerrainMix(ratios);
+    }
+
+    public double getRatio(TileType type) {
+        return ratios.getOrDefault(type, 0.0);
+    }
+
+    /**
+     * Terrain types with a non-zero ratio and their ratios, in TileType order.
+     */
+    public Map<TileType, Double> getRatios() {
+        return ratios;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<TileType, Double> entry : ratios.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(entry.getKey().name().toLowerCase()).append(' ')
+                .append(Math.round(entry.getValue() * 100)).append('%');
+        }
+        return sb.toString();
+    }
+}
@@ -6,103 +6,101 @@ import characters.Monster;
 /**
  * Represents a single tile in the game world grid.
  * Can hold terrain type, hero, monster, and party marker.
+ * A tile is a lightweight view onto one cell of a GridStore; all state lives
+ * in the store, so views can be created and discarded freely.
  */
 public class Tile {
-    private TileType type;
-    private boolean hasParty;
-    private Hero hero;
-    private int heroId;
-    private Monster monster;
-    private int monsterId;
+    private final GridStore store;
+    private final int cell;
 
+    /**
+     * Create a standalone tile that is not part of a world grid.
+     */
     public Tile(TileType type) {
-        this.type = type;
-        this.hasParty = false;
-        this.hero = null;
-        this.heroId = 0;
-        this.monster = null;
-        this.monsterId = 0;
+        this(new GridStore(1, 1), 0);
+        store.setType(0, type);
+    }
+
+    Tile(GridStore store, int cell) {
+        this.store = store;
+        this.cell = cell;
     }
 
     public TileType getType() {
-        return type;
+        return store.getType(cell);
     }
 
     public boolean isAccessible() {
+        TileType type = getType();
         return (type != TileType.INACCESSIBLE && type != TileType.OBSTACLE);
     }
 
     public boolean isMarket() {
-        return type == TileType.MARKET;
+        return getType() == TileType.MARKET;
     }
 
     public boolean isCommon() {
-        return type == TileType.COMMON;
+        return getType() == TileType.COMMON;
     }
 
     public boolean isObstacle() {
-        return type == TileType.OBSTACLE;
+        return getType() == TileType.OBSTACLE;
     }
 
     public boolean hasParty() {
-        return hasParty;
+        return store.hasParty(cell);
     }
 
     public void setHasParty(boolean hasParty) {
-        this.hasParty = hasParty;
+        store.setHasParty(cell, hasParty);
     }
 
-    public Hero getHero() { return hero; }
+    public Hero getHero() { return store.getHero(cell); }
 
     /** Set the hero occupant for this tile. */
     public void setHero(Hero hero) {
-        this.hero = hero;
-        this.heroId = (hero == null) ? 0 : this.heroId;
+        store.setHero(cell, hero, store.getHeroId(cell));
     }
 
     /** Set the hero occupant for this tile along with a display id (1-3). */
     public void setHero(Hero hero, int heroId) {
-        this.hero = hero;
-        this.heroId = (hero == null) ? 0 : heroId;
+        store.setHero(cell, hero, heroId);
     }
 
     /** Get the display id for the hero on this tile (0 if none). */
-    public int getHeroId() { return heroId; }
-    public boolean hasHero() { return hero != null; }
+    public int getHeroId() { return store.getHeroId(cell); }
+    public boolean hasHero() { return store.hasHero(cell); }
 
     /** Remove the hero occupant (and its display id) from this tile. */
     public void removeHero() {
-        this.hero = null;
-        this.heroId = 0;
+        store.setHero(cell, null, 0);
     }
 
-    public Monster getMonster() { return monster; }
-    public void setMonster(Monster monster) { this.monster = monster; }
+    public Monster getMonster() { return store.getMonster(cell); }
+    public void setMonster(Monster monster) { store.setMonster(cell, monster, store.getMonsterId(cell)); }
     
     /** Set the monster occupant for this tile along with a display id (1-3). */
     public void setMonster(Monster monster, int monsterId) {
-        this.monster = monster;
-        this.monsterId = (monster == null) ? 0 : monsterId;
+        store.setMonster(cell, monster, monsterId);
     }
     
     /** Get the display id for the monster on this tile (0 if none). */
-    public int getMonsterId() { return monsterId; }
+    public int getMonsterId() { return store.getMonsterId(cell); }
     
-    public boolean hasMonster() { return monster != null; }
+    public boolean hasMonster() { return store.hasMonster(cell); }
     
     /** Remove the monster occupant (and its display id) from this tile. */
     public void removeMonster() {
-        this.monster = null;
-        this.monsterId = 0;
+        store.setMonster(cell, null, 0);
     }
 
     /**
      * Remove obstacle and convert to plain tile.
+     * The caller reports it, on its own game's output.
      */
     public boolean removeObstacle() {
-        if (type == TileType.OBSTACLE) {
-            type = TileType.PLAIN;
-            System.out.println("Obstacle removed! Tile is now passable.");
+        if (getType() == TileType.OBSTACLE) {
+            store.setType(cell, TileType.PLAIN);
             return true;
         }
         return false;
@@ -112,38 +110,42 @@ public class Tile {
      * Get display symbol for this tile.
      */
     public String getSymbol() {
-        if (hasParty) {
+        if (hasParty()) {
             return "P";
         }
-        if (hero != null) return heroId > 0 ? ("H" + heroId) : "H";
-        if (monster != null) return monsterId > 0 ? ("M" + monsterId) : "M";
+        if (hasHero()) return getHeroId() > 0 ? ("H" + getHeroId()) : "H";
+        if (hasMonster()) return getMonsterId() > 0 ? ("M" + getMonsterId()) : "M";
 
         return getBaseSymbol();
     }
 
     /** Get the base (terrain) symbol for this tile, ignoring occupants. */
     public String getBaseSymbol() {
+        return String.valueOf(baseSymbol(getType()));
+    }
 
+    /** Map symbol of a terrain type. */
+    public static char baseSymbol(TileType type) {
         switch (type) {
             case MARKET:
-                return "M";
+                return 'M';
             case INACCESSIBLE:
-                return "X";
+                return 'X';
             case NEXUS:
-                return "N";
+                return 'N';
             case BUSH:
-                return "B";
+                return 'B';
             case CAVE:
-                return "C";
+                return 'C';
             case KOULOU:
-                return "K";
+                return 'K';
             case PLAIN:
-                return "P";
+                return 'P';
             case OBSTACLE:
-                return "O";
+                return 'O';
             case COMMON:
             default:
-                return ".";
+                return '.';
         }
     }
 
@@ -3,14 +3,26 @@ package world;
 import characters.Hero;
 import characters.Monster;
 
+import java.io.PrintStream;
+
 /**
  * Movement strategy for Legends of Valor.
  * Heroes and monsters move individually with lane-based blocking rules.
  */
 
 public class ValorMovementStrategy implements MovementStrategy {
+    private final LaneLayout layout;
+
+    public ValorMovementStrategy() {
+        this(LaneLayout.CLASSIC);
+    }
+
+    public ValorMovementStrategy(LaneLayout layout) {
+        this.layout = layout;
+    }
+
     @Override
-    public boolean moveHero(Hero hero, int dr, int dc, World world) {
+    public boolean moveHero(Hero hero, int dr, int dc, World world, PrintStream out) {
         int newRow = hero.getRow() + dr;
         int newCol = hero.getCol() + dc;
 
@@ -25,21 +37,18 @@ public class ValorMovementStrategy implements MovementStrategy {
 
         // If moving forward (north), check if there's a monster in the CURRENT row blocking the lane
         if (dr == -1) {
-            int laneIndex = hero.getCol() / 3;
-            int col1 = laneIndex * 3;
-            int col2 = laneIndex * 3 + 1;
-            
-            Tile tile1 = world.getTile(hero.getRow(), col1);
-            Tile tile2 = world.getTile(hero.getRow(), col2);
-            
-            if (tile1 != null && tile1.hasMonster()) {
-                System.out.println("H" + heroId + ": Cannot move past M" + tile1.getMonsterId() + 
-                    " (" + tile1.getMonster().getName() + ") in your lane! Defeat it first.");
-                return false;
-            }
-            if (tile2 != null && tile2.hasMonster()) {
-                System.out.println("H" + heroId + ": Cannot move past M" + tile2.getMonsterId() + 
-                    " (" + tile2.getMonster().getName() + ") in your lane! Defeat it first.");
+            int laneIndex = layout.laneOf(hero.getCol());
+            LaneOccupancy lanes = world.getGrid().getLanes();
+            if (lanes.hasMonster(laneIndex, hero.getRow())) {
+                // Blocked; only now look up which monster it is for the message
+                for (int c = layout.laneStartCol(laneIndex); c <= layout.laneEndCol(laneIndex); c++) {
+                    Tile blocker = world.getTile(hero.getRow(), c);
+                    if (blocker.hasMonster()) {
+                        out.println("H" + heroId + ": Cannot move past M" + blocker.getMonsterId() + 
+                            " (" + blocker.getMonster().getName() + ") in your lane! Defeat it first.");
+                        break;
+                    }
+                }
                 return false;
             }
         }
@@ -51,13 +60,13 @@ public class ValorMovementStrategy implements MovementStrategy {
         newTile.setHero(hero, heroId);
         hero.setPosition(newRow, newCol);
 
-        hero.applyTerrainBuff(newTile.getType());
+        hero.applyTerrainBuff(newTile.getType(), out);
 
         return true;
     }
 
     @Override
-    public boolean moveMonster(Monster monster, World world) {
+    public boolean moveMonster(Monster monster, World world, PrintStream out) {
         int newRow = monster.getRow() + 1;
         int col = monster.getCol();
 
@@ -69,9 +78,11 @@ public class ValorMovementStrategy implements MovementStrategy {
         if (newTile == null || !newTile.isAccessible()) {
             // Check if tile is obstacle - monster will remove it instead of moving
             if (newTile != null && newTile.isObstacle()) {
-                System.out.println("M" + monsterId + ": " + monster.getName() + 
+                out.println("M" + monsterId + ": " + monster.getName() + 
                     " encounters an obstacle and begins clearing it...");
-                newTile.removeObstacle();
+                if (newTile.removeObstacle()) {
+                    out.println("Obstacle removed! Tile is now passable.");
+                }
                 return true;
             }
 
@@ -84,14 +95,7 @@ public class ValorMovementStrategy implements MovementStrategy {
         }
 
         // If moving forward (south), check if there's a hero in the CURRENT row blocking the lane
-        int laneIndex = col / 3;
-        int col1 = laneIndex * 3;
-        int col2 = laneIndex * 3 + 1;
-        
-        Tile tile1 = world.getTile(monster.getRow(), col1);
-        Tile tile2 = world.getTile(monster.getRow(), col2);
-        
-        if ((tile1 != null && tile1.hasHero()) || (tile2 != null && tile2.hasHero())) {
+        if (world.getGrid().getLanes().hasHero(layout.laneOf(col), monster.getRow())) {
             // Blocked by hero - don't move
             return false;
         }
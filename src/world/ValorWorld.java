@@ -1,121 +1,229 @@
 package world;
 
+import characters.Hero;
+import characters.Monster;
+import util.RandomStreams;
+
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
 /**
  * Concrete world for Legends of Valor.
- * 8x8 three-lane battlefield with Nexus zones, terrain types, and obstacles.
+ * Lane-based battlefield (8x8 with three lanes by default) with Nexus zones,
+ * terrain types, and obstacles. The geometry comes from a LaneLayout and the
+ * terrain ratios from a TerrainMix.
  */
 
 public class ValorWorld extends World{
 
-    private static final int DEFAULT_VALOR_WORLD_SIZE = 8;
-    private static final double BUSH_RATIO = 0.20;
-    private static final double CAVE_RATIO = 0.20;
-    private static final double KOULOU_RATIO = 0.20;
-    private static final double OBSTACLE_RATIO = 0.10;
-
+    private final LaneLayout layout;
+    private final TerrainMix terrain;
+    // Built on first use, then kept current by the grid's terrain callbacks
+    private DistanceField monsterNexusDistances;
+    private DistanceField heroNexusDistances;
 
     public ValorWorld() {
-        super(DEFAULT_VALOR_WORLD_SIZE);
-        this.setMovementStrategy(new ValorMovementStrategy());
+        this(LaneLayout.CLASSIC);
     }
 
-    @Override
-    protected void generate() {
+    public ValorWorld(LaneLayout layout) {
+        this(layout, TerrainMix.VALOR);
+    }
 
-        int total = (size - 2) * (size - 2); // Subtract nexus and inaccessible spaces
-        int bush = (int) (total * BUSH_RATIO);
-        int cave = (int) (total * CAVE_RATIO);
-        int koulou = (int) (total * KOULOU_RATIO);
-        int obstacle = (int) (total * OBSTACLE_RATIO);
-
-        for (int r = 0; r < size; r++) {
-            for (int c = 0; c < size; c++) {
-                if (c == 2 || c == 5)
-                    grid[r][c] = new Tile(TileType.INACCESSIBLE);
-                else if (r == 0 || r == size - 1)
-                    grid[r][c] = new Tile(TileType.NEXUS);
-                else
-                    grid[r][c] = new Tile(TileType.PLAIN);
+    /**
+     * Create a world whose plain battlefield cells are partly replaced by the given terrain mix.
+     */
+    public ValorWorld(LaneLayout layout, TerrainMix terrain) {
+        this(layout, terrain, RandomStreams.withRandomSeed().newStream());
+    }
+
+    /**
+     * Create a world whose terrain is drawn from the given stream.
+     */
+    public ValorWorld(LaneLayout layout, TerrainMix terrain, Random random) {
+        super(layout.getRows(), layout.getCols(), random);
+        this.layout = layout;
+        this.terrain = terrain;
+        grid.attachLanes(layout);
+        this.setMovementStrategy(new ValorMovementStrategy(layout));
+        generate();
+    }
+
+    private ValorWorld(ValorWorld other, GridStore grid, Random random) {
+        super(other, grid, random);
+        this.layout = other.layout;
+        this.terrain = other.terrain;
+    }
+
+    /**
+     * Copy of this battlefield with each occupant replaced by its counterpart
+     * in a forked game. Distance fields are rebuilt on first use.
+     */
+    public ValorWorld copy(UnaryOperator<Hero> heroMap, UnaryOperator<Monster> monsterMap, Random random) {
+        return new ValorWorld(this, grid.copy(heroMap, monsterMap), random);
+    }
+
+    public LaneLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Hero and monster occupancy per lane row, updated as units move.
+     */
+    public LaneOccupancy getLanes() {
+        return grid.getLanes();
+    }
+
+    public boolean hasMonsterInLane(int row, int lane) {
+        return grid.getLanes().hasMonster(lane, row);
+    }
+
+    public boolean hasHeroInLane(int row, int lane) {
+        return grid.getLanes().hasHero(lane, row);
+    }
+
+    /**
+     * Column of a monster in the given row of a lane, or -1 if there is none.
+     */
+    public int findMonsterInLane(int row, int lane) {
+        if (!hasMonsterInLane(row, lane)) {
+            return -1;
+        }
+        for (int c = layout.laneStartCol(lane); c <= layout.laneEndCol(lane); c++) {
+            if (grid.hasMonster(row, c)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Column of a hero in the given row of a lane, or -1 if there is none.
+     */
+    public int findHeroInLane(int row, int lane) {
+        if (!hasHeroInLane(row, lane)) {
+            return -1;
+        }
+        for (int c = layout.laneStartCol(lane); c <= layout.laneEndCol(lane); c++) {
+            if (grid.hasHero(row, c)) {
+                return c;
             }
         }
+        return -1;
+    }
 
-        placeTiles(TileType.BUSH, bush);
-        placeTiles(TileType.CAVE, cave);
-        placeTiles(TileType.KOULOU, koulou);
-        placeTiles(TileType.OBSTACLE, obstacle);
+    public TerrainMix getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Steps from every cell to the Monster Nexus, the heroes' goal, around walls
+     * and obstacles. Reads are O(1); clearing an obstacle updates the field locally.
+     */
+    public DistanceField getMonsterNexusDistances() {
+        if (monsterNexusDistances == null) {
+            monsterNexusDistances = nexusDistances(layout.getMonsterNexusRow());
+        }
+        return monsterNexusDistances;
+    }
+
+    /**
+     * Steps from every cell to the Hero Nexus, the monsters' goal.
+     */
+    public DistanceField getHeroNexusDistances() {
+        if (heroNexusDistances == null) {
+            heroNexusDistances = nexusDistances(layout.getHeroNexusRow());
+        }
+        return heroNexusDistances;
+    }
+
+    private DistanceField nexusDistances(int nexusRow) {
+        return new DistanceField(grid, DistanceField.accessibleTypes(),
+            cell -> cell / cols == nexusRow && grid.getType(cell) == TileType.NEXUS);
     }
 
     @Override
-    protected void placeTiles(TileType type, int count) {
-        int placed = 0;
-        while (placed < count) {
-            int r = random.nextInt(size - 2) + 1;
-            int c = random.nextInt(size);
-            if (c != 2 && c != 5 && grid[r][c].getType() == TileType.PLAIN) {
-                grid[r][c] = new Tile(type);
-                placed++;
+    protected void generate() {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (layout.isWall(c))
+                    grid.setType(r, c, TileType.INACCESSIBLE);
+                else if (r == layout.getMonsterNexusRow() || r == layout.getHeroNexusRow())
+                    grid.setType(r, c, TileType.NEXUS);
+                else
+                    grid.setType(r, c, TileType.PLAIN);
             }
         }
+
+        // Only the battlefield between the Nexus rows is plain at this point
+        placeTerrain(TileType.PLAIN, terrain);
     }
 
     /**
-     * Attempt to remove an obstacle at the given position.
+     * Attempt to remove an obstacle at the given position, reporting it on the given stream.
      */
-    public boolean removeObstacle(int row, int col) {
+    public boolean removeObstacle(int row, int col, PrintStream out) {
         Tile tile = getTile(row, col);
-        if (tile == null) {
+        if (tile == null || !tile.removeObstacle()) {
             return false;
         }
-        return tile.removeObstacle();
+        out.println("Obstacle removed! Tile is now passable.");
+        return true;
     }
 
     @Override
-    public void display() {
-        for (int r = 0; r < size; r++) {
-            // Top of tile box
-            System.out.print(" ");
-            for (int c = 0; c < size; c++) {
-                String s = grid[r][c].getBaseSymbol();
-                System.out.printf(" %s - %s - %s ", s, s, s);
-            }
-            System.out.println();
-
-            // Middle of tile box
-            System.out.print(" ");
-            for  (int c = 0; c < size; c++) {
-                Tile tile = grid[r][c];
-                System.out.print(" | ");
-
-                if (tile.getType() == TileType.INACCESSIBLE || tile.getType() == TileType.OBSTACLE) {
-                    System.out.print("X X X | ");
-                    continue;
-                }
-
-                if (tile.hasHero()) {
-                    int heroId = tile.getHeroId();
-                    System.out.print(heroId > 0 ? ("H" + heroId + " ") : "H  ");
-                } else {
-                    System.out.print("   ");
-                }
-
-                if (tile.hasMonster()) {
-                    int monsterId = tile.getMonsterId();
-                    System.out.print(monsterId > 0 ? ("M" + monsterId + " ") : "M  ");
-                } else {
-                    System.out.print("   ");
-                }
-                System.out.print("| ");
+    protected int getCellWidth() {
+        return 11;
+    }
+
+    @Override
+    protected int getCellHeight() {
+        return 3;
+    }
+
+    @Override
+    protected int getFrameIndent() {
+        return 1;
+    }
+
+    /**
+     * Draw a cell as a three-line box: terrain symbols on the top and bottom
+     * border, hero and monster ids (or X X X for blocked cells) in the middle.
+     */
+    @Override
+    protected void paintCell(int row, int col, WorldRenderer.Canvas canvas) {
+        int cell = grid.index(row, col);
+        TileType type = grid.getType(cell);
+        char symbol = Tile.baseSymbol(type);
+
+        // " S - S - S " on the top and bottom border
+        for (int line = 0; line <= 2; line += 2) {
+            for (int x = 1; x <= 9; x += 4) {
+                canvas.put(line, x, symbol);
             }
-            System.out.println();
+            canvas.put(line, 3, '-');
+            canvas.put(line, 7, '-');
+        }
 
-            // Bottom of tile box
-            System.out.print(" ");
-            for (int c = 0; c < size; c++) {
-                String s = grid[r][c].getBaseSymbol();
-                System.out.printf(" %s - %s - %s ", s, s, s);
+        // " | H1 M1 | " in the middle
+        canvas.put(1, 1, '|');
+        canvas.put(1, 9, '|');
+        if (type == TileType.INACCESSIBLE || type == TileType.OBSTACLE) {
+            canvas.put(1, 3, "X X X");
+            return;
+        }
+        if (grid.hasHero(cell)) {
+            canvas.put(1, 3, 'H');
+            if (grid.getHeroId(cell) > 0) {
+                canvas.putNumber(1, 4, grid.getHeroId(cell));
+            }
+        }
+        if (grid.hasMonster(cell)) {
+            canvas.put(1, 6, 'M');
+            if (grid.getMonsterId(cell) > 0) {
+                canvas.putNumber(1, 7, grid.getMonsterId(cell));
             }
-            System.out.println();
         }
     }
 }
-
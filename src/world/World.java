@@ -2,56 +2,132 @@ package world;
 
 import characters.Hero;
 import characters.Monster;
+import util.RandomStreams;
 
+import java.io.PrintStream;
+import java.util.Map;
 import java.util.Random;
 
 /**
  * Abstract base Class for the game world as a grid of tiles.
+ * Cells are stored in a compact GridStore; getTile returns a view onto a cell.
  */
 public abstract class World {
 
-    protected Tile[][] grid;
-    protected int size;
+    protected GridStore grid;
+    protected int rows;
+    protected int cols;
     protected int partyRow;
     protected int partyCol;
     protected Random random;
     protected MovementStrategy movementStrategy;
+    private WorldRenderer renderer;
 
     public World(int size) {
-        this.size = size;
-        this.grid = new Tile[size][size];
-        this.random = new Random();
+        this(size, size);
         generate();
     }
 
+    /**
+     * Create an empty rows x cols world. Unlike World(int), this does not call
+     * generate(), so subclasses can finish their own setup first.
+     */
+    protected World(int rows, int cols) {
+        this(rows, cols, RandomStreams.withRandomSeed().newStream());
+    }
+
+    /**
+     * Create an empty world whose generation draws from the given stream.
+     */
+    protected World(int rows, int cols, Random random) {
+        this.rows = rows;
+        this.cols = cols;
+        this.grid = new GridStore(rows, cols);
+        this.random = random;
+    }
+
+    /**
+     * Continue another world on a copy of its grid, e.g. in a forked game.
+     * The movement strategy is shared; the copy gets its own renderer.
+     */
+    protected World(World other, GridStore grid, Random random) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.grid = grid;
+        this.partyRow = other.partyRow;
+        this.partyCol = other.partyCol;
+        this.random = random;
+        this.movementStrategy = other.movementStrategy;
+    }
+
+    /**
+     * Side length of a square world; the number of rows otherwise.
+     */
     public int getSize() {
-        return size;
+        return rows;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
     }
 
     protected abstract void generate();
 
-    protected abstract void placeTiles(TileType type, int count);
+    /**
+     * Turn cells of the base type into the terrain types of a mix.
+     * The eligible cells are collected once and each terrain takes the next
+     * cells of a partial Fisher-Yates shuffle, so placement is O(rows * cols)
+     * no matter how dense the mix is.
+     */
+    protected void placeTerrain(TileType base, TerrainMix mix) {
+        int[] cells = new int[rows * cols];
+        int eligible = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (grid.getType(cell) == base) {
+                cells[eligible++] = cell;
+            }
+        }
+
+        int next = 0;
+        for (Map.Entry<TileType, Double> entry : mix.getRatios().entrySet()) {
+            int end = Math.min(eligible, next + (int) (eligible * entry.getValue()));
+            for (; next < end; next++) {
+                int pick = next + random.nextInt(eligible - next);
+                int cell = cells[pick];
+                cells[pick] = cells[next];
+                cells[next] = cell;
+                grid.setType(cell, entry.getKey());
+            }
+        }
+    }
 
     public void setMovementStrategy(MovementStrategy movementStrategy) {
         this.movementStrategy = movementStrategy;
     }
 
-    public boolean moveHero(Hero hero, int dr, int dc) {
-        return movementStrategy.moveHero(hero, dr, dc, this);
+    /**
+     * Move a hero, reporting blocked moves and terrain buffs on the given stream.
+     */
+    public boolean moveHero(Hero hero, int dr, int dc, PrintStream out) {
+        return movementStrategy.moveHero(hero, dr, dc, this, out);
     }
 
-    public boolean moveMonster(Monster monster) {
-        return movementStrategy.moveMonster(monster, this);
+    public boolean moveMonster(Monster monster, PrintStream out) {
+        return movementStrategy.moveMonster(monster, this, out);
     }
 
     protected void placeParty() {
         while (true) {
-            int row = random.nextInt(size);
-            int col = random.nextInt(size);
-            if (grid[row][col].isAccessible()) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            if (getTile(row, col).isAccessible()) {
                 partyRow = row;
                 partyCol = col;
-                grid[row][col].setHasParty(true);
+                grid.setHasParty(grid.index(row, col), true);
                 return;
             }
         }
@@ -63,23 +139,61 @@ public abstract class World {
     }
 
     public Tile getCurrentTile() {
-        return grid[partyRow][partyCol];
+        return getTile(partyRow, partyCol);
     }
 
     public int getPartyRow() { return partyRow; }
     public int getPartyCol() { return partyCol; }
 
-    public boolean isValid(int r, int c) { return r >= 0 && r < size && c >= 0 && c < size; }
+    public boolean isValid(int r, int c) { return r >= 0 && r < rows && c >= 0 && c < cols; }
 
-    public Tile getTile(int r, int c) { return isValid(r, c) ? grid[r][c] : null; }
+    public Tile getTile(int r, int c) { return isValid(r, c) ? new Tile(grid, grid.index(r, c)) : null; }
 
-    public void display() {
-        for (int r = 0; r < size; r++) {
-            System.out.print("  ");
-            for (int c = 0; c < size; c++) {
-                System.out.print(grid[r][c].getSymbol() + " ");
-            }
-            System.out.println();
+    /**
+     * Direct access to the compact grid, for hot paths that should not create Tile views.
+     */
+    public GridStore getGrid() { return grid; }
+
+    /**
+     * Print the map. The frame is built in one buffer and written at once;
+     * in ANSI_DIFF mode only the cells changed since the last frame are sent.
+     */
+    public void display(PrintStream out) {
+        getRenderer().render(out);
+    }
+
+    /**
+     * Release the terminal if the map was pinned by an ANSI_DIFF renderer.
+     */
+    public void closeDisplay(PrintStream out) {
+        if (renderer != null) {
+            renderer.close(out);
+        }
+    }
+
+    /**
+     * Renderer of this world, created on first use with the default mode.
+     */
+    public WorldRenderer getRenderer() {
+        if (renderer == null) {
+            renderer = new WorldRenderer(this, WorldRenderer.getDefaultMode());
         }
+        return renderer;
+    }
+
+    /** Characters per cell on a text line of the map. */
+    protected int getCellWidth() { return 2; }
+
+    /** Text lines per cell. */
+    protected int getCellHeight() { return 1; }
+
+    /** Blank characters before the first cell of each line. */
+    protected int getFrameIndent() { return 2; }
+
+    /**
+     * Draw one cell of the map; the canvas starts out blank.
+     */
+    protected void paintCell(int row, int col, WorldRenderer.Canvas canvas) {
+        canvas.put(0, 0, getTile(row, col).getSymbol());
     }
 }
\ No newline at end of file
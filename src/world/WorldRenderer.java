@@ -0,0 +1,224 @@
+package world;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Text renderer for a World.
+ * A whole frame is painted cell by cell into a reusable char buffer and
+ * written to the terminal in one call instead of one print per symbol.
+ *
+ * In ANSI_DIFF mode the first frame is pinned to the top of the screen, with
+ * the lines below it as a scrolling region for game text; later frames only
+ * send the cells that changed, each run addressed with a cursor move.
+ */
+public final class WorldRenderer {
+
+    /**
+     * How frames reach the terminal.
+     */
+    public enum Mode {
+        /** Print every frame in full; works on any output, including files and pipes. */
+        FULL,
+        /** Pin the map and redraw only changed cells with ANSI cursor addressing. */
+        ANSI_DIFF,
+        /** Draw nothing, e.g. while replaying a recorded match at full speed. */
+        OFF
+    }
+
+    private static final String ESC = "\u001b[";
+
+    private static volatile Mode defaultMode = Mode.FULL;
+
+    private final World world;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int indent;
+    // Characters per text line, including the trailing newline
+    private final int lineLength;
+    private final int frameLines;
+    // Buffers are allocated with the first painted frame, so OFF renderers cost nothing
+    private char[] frame;
+    private StringBuilder out;
+    private final Canvas canvas;
+    private Mode mode;
+    // What the terminal shows in ANSI_DIFF mode; null until a frame is pinned
+    private char[] shown;
+
+    WorldRenderer(World world, Mode mode) {
+        this.world = world;
+        this.cellWidth = world.getCellWidth();
+        this.cellHeight = world.getCellHeight();
+        this.indent = world.getFrameIndent();
+        this.lineLength = indent + world.getCols() * cellWidth + 1;
+        this.frameLines = world.getRows() * cellHeight;
+        this.canvas = new Canvas();
+        this.mode = mode;
+    }
+
+    /**
+     * Mode for worlds created from now on, e.g. set once from the command line.
+     */
+    public static void setDefaultMode(Mode mode) {
+        defaultMode = mode;
+    }
+
+    public static Mode getDefaultMode() {
+        return defaultMode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Switch modes; leaving ANSI_DIFF releases the pinned area first.
+     */
+    public void setMode(Mode mode, PrintStream stream) {
+        if (this.mode == Mode.ANSI_DIFF && mode != Mode.ANSI_DIFF) {
+            close(stream);
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Paint the current state of the world and write it with a single call.
+     */
+    public void render(PrintStream stream) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        paintFrame();
+        if (mode == Mode.FULL) {
+            stream.print(frame);
+        } else {
+            out.setLength(0);
+            if (shown == null) {
+                appendPinnedFrame();
+            } else {
+                appendChanges();
+            }
+            stream.append(out);
+        }
+        stream.flush();
+    }
+
+    /**
+     * Give the whole screen back to scrolling text if a frame is pinned.
+     */
+    public void close(PrintStream stream) {
+        if (shown != null) {
+            stream.print(ESC + "r" + ESC + (frameLines + 1) + ";1H");
+            stream.flush();
+            shown = null;
+        }
+    }
+
+    private void paintFrame() {
+        if (frame == null) {
+            frame = new char[frameLines * lineLength];
+            out = new StringBuilder();
+        }
+        Arrays.fill(frame, ' ');
+        for (int line = 1; line <= frameLines; line++) {
+            frame[line * lineLength - 1] = '\n';
+        }
+        for (int r = 0; r < world.getRows(); r++) {
+            for (int c = 0; c < world.getCols(); c++) {
+                canvas.base = r * cellHeight * lineLength + indent + c * cellWidth;
+                world.paintCell(r, c, canvas);
+            }
+        }
+    }
+
+    /**
+     * Clear the screen, draw the full frame at the top and make the lines below it
+     * the scrolling region, leaving the cursor at the start of that region.
+     */
+    private void appendPinnedFrame() {
+        out.append(ESC).append("2J").append(ESC).append('H');
+        out.append(frame);
+        out.append(ESC).append(frameLines + 1).append('r');
+        out.append(ESC).append(frameLines + 1).append(";1H");
+        shown = frame.clone();
+    }
+
+    /**
+     * Append cursor-addressed runs of changed cells, saving and restoring the
+     * cursor so text in the scrolling region continues where it left off.
+     */
+    private void appendChanges() {
+        int start = out.length();
+        out.append("\u001b7");
+        int cols = world.getCols();
+        for (int line = 0; line < frameLines; line++) {
+            int lineStart = line * lineLength + indent;
+            int c = 0;
+            while (c < cols) {
+                if (!cellChanged(lineStart + c * cellWidth)) {
+                    c++;
+                    continue;
+                }
+                int runStart = c;
+                while (c < cols && cellChanged(lineStart + c * cellWidth)) {
+                    c++;
+                }
+                int from = lineStart + runStart * cellWidth;
+                int to = lineStart + c * cellWidth;
+                out.append(ESC).append(line + 1).append(';').append(indent + runStart * cellWidth + 1).append('H');
+                out.append(frame, from, to - from);
+                System.arraycopy(frame, from, shown, from, to - from);
+            }
+        }
+        if (out.length() - start == 2) {
+            // Nothing changed
+            out.setLength(start);
+        } else {
+            out.append("\u001b8");
+        }
+    }
+
+    private boolean cellChanged(int offset) {
+        for (int i = offset; i < offset + cellWidth; i++) {
+            if (frame[i] != shown[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drawing surface for one cell. Positions are relative to the cell's top-left
+     * corner; characters outside the cell are dropped. Cells start out blank.
+     */
+    public final class Canvas {
+        private int base;
+
+        public void put(int line, int x, char ch) {
+            if (line >= 0 && line < cellHeight && x >= 0 && x < cellWidth) {
+                frame[base + line * lineLength + x] = ch;
+            }
+        }
+
+        public void put(int line, int x, String text) {
+            for (int i = 0; i < text.length(); i++) {
+                put(line, x + i, text.charAt(i));
+            }
+        }
+
+        /**
+         * Write a non-negative number in decimal and return the position after it.
+         */
+        public int putNumber(int line, int x, int value) {
+            int digits = 1;
+            for (int rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = digits - 1; i >= 0; i--) {
+                put(line, x + i, (char) ('0' + value % 10));
+                value /= 10;
+            }
+            return x + digits;
+        }
+    }
+}